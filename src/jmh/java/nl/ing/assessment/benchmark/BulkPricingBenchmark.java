@@ -0,0 +1,61 @@
+package nl.ing.assessment.benchmark;
+
+import nl.ing.assessment.exception.MortgageAndInterestRatesException;
+import nl.ing.assessment.mortgage.request.BulkPricingRequest;
+import nl.ing.assessment.mortgage.request.MortgageRequest;
+import nl.ing.assessment.mortgage.response.BulkPricingResponse;
+import nl.ing.assessment.service.BulkPricingService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repricing a portfolio with the columnar bulk pricing, compared to a mortgage check per loan
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkPricingBenchmark {
+
+    @Param({"100000"})
+    private int portfolioSize;
+
+    private BulkPricingRequest portfolio;
+
+    private MortgageRequest[] mortgageRequests;
+
+    @Setup
+    public void createPortfolio() {
+        double[] incomes = new double[portfolioSize];
+        int[] maturityPeriods = new int[portfolioSize];
+        double[] loanValues = new double[portfolioSize];
+        double[] homeValues = new double[portfolioSize];
+        mortgageRequests = new MortgageRequest[portfolioSize];
+        for (int i = 0; i < portfolioSize; i++) {
+            incomes[i] = 40000 + (i % 101) * 1000;
+            maturityPeriods[i] = 10 * (1 + i % 3);
+            loanValues[i] = 150000 + (i % 61) * 10000;
+            homeValues[i] = 200000 + (i % 41) * 15000;
+            mortgageRequests[i] = new MortgageRequest(BigDecimal.valueOf(incomes[i]), maturityPeriods[i],
+                    BigDecimal.valueOf(loanValues[i]), BigDecimal.valueOf(homeValues[i]));
+        }
+        portfolio = new BulkPricingRequest(incomes, maturityPeriods, loanValues, homeValues);
+    }
+
+    @Benchmark
+    public BulkPricingResponse bulkPricing(MortgageApplicationState application) throws MortgageAndInterestRatesException {
+        return application.context.getBean(BulkPricingService.class).price(portfolio, 0);
+    }
+
+    @Benchmark
+    public void checkMortgagePerLoan(MortgageApplicationState application, Blackhole blackhole) {
+        for (MortgageRequest mortgageRequest : mortgageRequests) {
+            blackhole.consume(application.mortgageAndInterestRatesService.checkMortgage(mortgageRequest));
+        }
+    }
+}
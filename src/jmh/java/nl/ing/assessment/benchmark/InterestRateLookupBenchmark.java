@@ -0,0 +1,44 @@
+package nl.ing.assessment.benchmark;
+
+import nl.ing.assessment.exception.MortgageAndInterestRatesException;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interest rate lookups for configured maturity periods and a maturity period without a rate
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InterestRateLookupBenchmark {
+
+    @Param({"10", "20", "30"})
+    private int maturityPeriod;
+
+    // Beyond the longest configured maturity period, shorter ones are interpolated
+    private int missingMaturityPeriod = 40;
+
+    @Benchmark
+    public BigDecimal findInterestRate(MortgageApplicationState application) {
+        return application.mortgageAndInterestRatesUtil.getInterestRateSnapshot().findInterestRate(maturityPeriod);
+    }
+
+    @Benchmark
+    public BigDecimal findMissingInterestRate(MortgageApplicationState application) {
+        return application.mortgageAndInterestRatesUtil.getInterestRateSnapshot().findInterestRate(missingMaturityPeriod);
+    }
+
+    @Benchmark
+    public Object getMissingInterestRateForMaturityPeriod(MortgageApplicationState application) {
+        try {
+            return application.mortgageAndInterestRatesUtil.getInterestRateForMaturityPeriod(missingMaturityPeriod);
+        } catch (MortgageAndInterestRatesException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package nl.ing.assessment.benchmark;
+
+import nl.ing.assessment.util.AnnuityFactorCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The monthly cost calculation with the precomputed annuity factor, and the full annuity formula it replaces
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MonthlyCostBenchmark {
+
+    @Param({"10", "20", "30"})
+    private int maturityPeriod;
+
+    @Param({"150000", "350000", "750000"})
+    private String loanValue;
+
+    private BigDecimal loan;
+
+    private BigDecimal interestRate;
+
+    @Setup
+    public void lookupInterestRate(MortgageApplicationState application) {
+        loan = new BigDecimal(loanValue);
+        interestRate = application.mortgageAndInterestRatesUtil.getInterestRateSnapshot().findInterestRate(maturityPeriod);
+    }
+
+    @Benchmark
+    public BigDecimal calculateMonthlyCost(MortgageApplicationState application) {
+        return application.mortgageAndInterestRatesService.calculateMonthlyCost(loan, maturityPeriod, interestRate);
+    }
+
+    @Benchmark
+    public BigDecimal calculateMonthlyCostWithoutAnnuityFactorCache() {
+        return loan.multiply(AnnuityFactorCache.calculateAnnuityFactor(interestRate, maturityPeriod)).setScale(2, RoundingMode.HALF_UP);
+    }
+}
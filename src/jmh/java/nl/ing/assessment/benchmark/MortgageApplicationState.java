@@ -0,0 +1,70 @@
+package nl.ing.assessment.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl.ing.assessment.MortgageAndInterestRatesApplication;
+import nl.ing.assessment.mortgage.request.MortgageRequest;
+import nl.ing.assessment.service.MortgageAndInterestRatesService;
+import nl.ing.assessment.util.MortgageAndInterestRatesUtil;
+import nl.ing.assessment.validate.MortgageAndInterestRatesValidator;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * The application context shared by all benchmark threads of a trial. Logging of the application is limited to
+ * warnings, so the benchmarks measure the calculations rather than console output.
+ */
+@State(Scope.Benchmark)
+public class MortgageApplicationState {
+
+    ConfigurableApplicationContext context;
+
+    MortgageAndInterestRatesService mortgageAndInterestRatesService;
+
+    MortgageAndInterestRatesValidator mortgageAndInterestRatesValidator;
+
+    MortgageAndInterestRatesUtil mortgageAndInterestRatesUtil;
+
+    ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(MortgageAndInterestRatesApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.nl.ing.assessment=warn")
+                .run();
+        mortgageAndInterestRatesService = context.getBean(MortgageAndInterestRatesService.class);
+        mortgageAndInterestRatesValidator = context.getBean(MortgageAndInterestRatesValidator.class);
+        mortgageAndInterestRatesUtil = context.getBean(MortgageAndInterestRatesUtil.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    /**
+     * A mortgage request within the income and home value limits
+     */
+    static MortgageRequest feasibleRequest(BigDecimal loanValue, int maturityPeriod) {
+        return new MortgageRequest(loanValue.divide(BigDecimal.valueOf(3), 0, RoundingMode.UP), maturityPeriod,
+                loanValue, loanValue.multiply(new BigDecimal("1.25")));
+    }
+
+    /**
+     * A mortgage request rejected for exceeding 4 times the income
+     */
+    static MortgageRequest rejectedRequest(BigDecimal loanValue, int maturityPeriod) {
+        return new MortgageRequest(loanValue.divide(BigDecimal.valueOf(5)), maturityPeriod,
+                loanValue, loanValue.multiply(new BigDecimal("1.25")));
+    }
+}
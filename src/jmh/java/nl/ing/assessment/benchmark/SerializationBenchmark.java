@@ -0,0 +1,59 @@
+package nl.ing.assessment.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import nl.ing.assessment.interest.model.InterestRate;
+import nl.ing.assessment.mortgage.request.MortgageRequest;
+import nl.ing.assessment.mortgage.response.MortgageResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson reading of mortgage requests and writing of mortgage responses and the interest rate table
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"10", "20", "30"})
+    private int maturityPeriod;
+
+    @Param({"150000", "350000", "750000"})
+    private String loanValue;
+
+    private byte[] mortgageRequest;
+
+    private MortgageResponse mortgageResponse;
+
+    private List<InterestRate> interestRates;
+
+    @Setup
+    public void createPayloads(MortgageApplicationState application) throws JsonProcessingException {
+        MortgageRequest request = MortgageApplicationState.feasibleRequest(new BigDecimal(loanValue), maturityPeriod);
+        mortgageRequest = application.objectMapper.writeValueAsBytes(request);
+        mortgageResponse = application.mortgageAndInterestRatesService.checkMortgage(request);
+        interestRates = application.mortgageAndInterestRatesUtil.getInterestRates();
+    }
+
+    @Benchmark
+    public MortgageRequest readMortgageRequest(MortgageApplicationState application) throws IOException {
+        return application.objectMapper.readValue(mortgageRequest, MortgageRequest.class);
+    }
+
+    @Benchmark
+    public byte[] writeMortgageResponse(MortgageApplicationState application) throws JsonProcessingException {
+        return application.objectMapper.writeValueAsBytes(mortgageResponse);
+    }
+
+    @Benchmark
+    public byte[] writeInterestRates(MortgageApplicationState application) throws JsonProcessingException {
+        return application.objectMapper.writeValueAsBytes(interestRates);
+    }
+}
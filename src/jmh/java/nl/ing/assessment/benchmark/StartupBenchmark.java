@@ -0,0 +1,164 @@
+package nl.ing.assessment.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup benchmark measuring the time from launching the application until its first successful
+ * POST /api/mortgage-check response, in a new JVM for every run. The modes are the plain jar (default), the unpacked
+ * jar in the fast profile (trimmed), with Spring AOT (aot) and with Spring AOT and the AppCDS archive (fast).
+ * <p>
+ * Build the fast-startup jar and run with
+ * {@code mvn -Pfast-startup,benchmark package exec:exec@startup -DskipTests [-Dstartup.args="..."]}, where the
+ * arguments are {@code key=value} pairs: modes (default,trimmed,aot,fast), runs per mode (5) and timeout seconds (60).
+ */
+public class StartupBenchmark {
+
+    private static final String REQUEST_JSON = "{\"loanValue\":150000,\"maturityPeriod\":20,\"income\":50000,\"homeValue\":200000}";
+
+    private static final String JAR = "mortgage-0.0.1-SNAPSHOT.jar";
+
+    private static final Path TARGET = Path.of("target");
+
+    private static final Path FAST_STARTUP = TARGET.resolve("fast-startup");
+
+    public static void main(String[] args) throws Exception {
+        String modes = argument(args, "modes", "default,trimmed,aot,fast");
+        int runs = intArgument(args, "runs", 5);
+        int timeout = intArgument(args, "timeout", 60);
+
+        System.out.printf("modes=%s runs=%d cpus=%d%n", modes, runs, Runtime.getRuntime().availableProcessors());
+        List<Result> results = new ArrayList<>();
+        try (HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build()) {
+            for (String mode : modes.split(",")) {
+                long[] millis = new long[runs];
+                for (int run = 0; run < runs; run++) {
+                    millis[run] = startup(httpClient, mode.trim(), run, timeout);
+                    System.out.printf("%s run %d: first response after %d ms%n", mode.trim(), run + 1, millis[run]);
+                }
+                Arrays.sort(millis);
+                results.add(new Result(mode.trim(), millis));
+            }
+        }
+
+        System.out.printf("%n%-9s %5s %9s %9s %9s%n", "mode", "runs", "min ms", "median ms", "max ms");
+        for (Result result : results) {
+            long[] millis = result.millis();
+            System.out.printf("%-9s %5d %9d %9d %9d%n", result.mode(), millis.length, millis[0], millis[millis.length / 2], millis[millis.length - 1]);
+        }
+    }
+
+    private static long startup(HttpClient httpClient, String mode, int run, int timeout) throws Exception {
+        int port = freePort();
+        Path log = TARGET.resolve("startup").resolve(mode + "-" + (run + 1) + ".log");
+        Files.createDirectories(log.getParent());
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/mortgage-check"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .timeout(Duration.ofSeconds(5))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(REQUEST_JSON))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command(mode, port))
+                .directory("default".equals(mode) ? null : FAST_STARTUP.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            long deadline = start + TimeUnit.SECONDS.toNanos(timeout);
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode + " exited with " + process.exitValue() + ", see " + log);
+                }
+                try {
+                    if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(5);
+            }
+            throw new IllegalStateException(mode + " did not answer within " + timeout + " seconds, see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static List<String> command(String mode, int port) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        switch (mode) {
+            case "default" -> {
+                command.add("-jar");
+                command.add(requireFile(TARGET.resolve(JAR)));
+                // Keep the runs off the history database of a local application
+                command.add("--spring.datasource.url=jdbc:h2:mem:startup");
+            }
+            case "trimmed", "aot", "fast" -> {
+                if (!"trimmed".equals(mode)) {
+                    command.add("-Dspring.aot.enabled=true");
+                }
+                if ("fast".equals(mode)) {
+                    requireFile(FAST_STARTUP.resolve("application.jsa"));
+                    command.add("-XX:SharedArchiveFile=application.jsa");
+                }
+                command.add("-Dspring.profiles.active=fast");
+                // Started in the unpacked directory, the archive only matches the relative class path it was created with
+                requireFile(FAST_STARTUP.resolve(JAR));
+                command.add("-jar");
+                command.add(JAR);
+            }
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
+        command.add("--server.port=" + port);
+        command.add("--mortgage.audit.directory=" + TARGET.resolve("startup").resolve("audit").toAbsolutePath());
+        return command;
+    }
+
+    private static String requireFile(Path path) {
+        File file = path.toFile();
+        if (!file.isFile()) {
+            throw new IllegalStateException(path + " not found, build it with mvn -Pfast-startup package");
+        }
+        return file.getAbsolutePath();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static int intArgument(String[] args, String name, int defaultValue) {
+        return Integer.parseInt(argument(args, name, Integer.toString(defaultValue)));
+    }
+
+    private static String argument(String[] args, String name, String defaultValue) {
+        for (String arg : args) {
+            if (arg.startsWith(name + "=")) {
+                return arg.substring(name.length() + 1);
+            }
+        }
+        return defaultValue;
+    }
+
+    private record Result(String mode, long[] millis) {
+    }
+}
@@ -0,0 +1,46 @@
+package nl.ing.assessment.benchmark;
+
+import nl.ing.assessment.mortgage.request.MortgageRequest;
+import nl.ing.assessment.validate.MortgageViolations;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation of the mortgage details of feasible and rejected requests
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    @Param({"10", "20", "30"})
+    private int maturityPeriod;
+
+    @Param({"150000", "350000", "750000"})
+    private String loanValue;
+
+    private MortgageRequest feasibleRequest;
+
+    private MortgageRequest rejectedRequest;
+
+    @Setup
+    public void createRequests() {
+        feasibleRequest = MortgageApplicationState.feasibleRequest(new BigDecimal(loanValue), maturityPeriod);
+        rejectedRequest = MortgageApplicationState.rejectedRequest(new BigDecimal(loanValue), maturityPeriod);
+    }
+
+    @Benchmark
+    public MortgageViolations validateFeasible(MortgageApplicationState application) {
+        return application.mortgageAndInterestRatesValidator.validate(feasibleRequest);
+    }
+
+    @Benchmark
+    public MortgageViolations validateRejected(MortgageApplicationState application) {
+        return application.mortgageAndInterestRatesValidator.validate(rejectedRequest);
+    }
+}
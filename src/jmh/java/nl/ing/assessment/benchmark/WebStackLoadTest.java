@@ -0,0 +1,162 @@
+package nl.ing.assessment.benchmark;
+
+import nl.ing.assessment.MortgageAndInterestRatesApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop load test of POST /api/mortgage-check comparing the web stacks the application can run on: Tomcat on
+ * its platform thread pool (platform), Tomcat on virtual threads (virtual) and WebFlux on Netty (reactive). For each
+ * mode the application is started on a random port, warmed up and then loaded by a fixed number of concurrent
+ * clients, each sending its next request as soon as the previous one is answered.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec@load-test [-Dload.args="..."]}, where the arguments are
+ * {@code key=value} pairs: modes (platform,virtual,reactive), concurrency (512), warmup seconds (5), duration
+ * seconds (20) and tomcatThreads (200).
+ */
+public class WebStackLoadTest {
+
+    private static final String REQUEST_JSON = "{\"loanValue\":150000,\"maturityPeriod\":20,\"income\":50000,\"homeValue\":200000}";
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = intArgument(args, "concurrency", 512);
+        int warmup = intArgument(args, "warmup", 5);
+        int duration = intArgument(args, "duration", 20);
+        int tomcatThreads = intArgument(args, "tomcatThreads", 200);
+        String modes = argument(args, "modes", "platform,virtual,reactive");
+
+        System.out.printf("modes=%s concurrency=%d warmup=%ds duration=%ds tomcatThreads=%d cpus=%d%n",
+                modes, concurrency, warmup, duration, tomcatThreads, Runtime.getRuntime().availableProcessors());
+        List<Result> results = new ArrayList<>();
+        for (String mode : modes.split(",")) {
+            results.add(run(mode.trim(), concurrency, warmup, duration, tomcatThreads));
+        }
+
+        System.out.printf("%n%-9s %10s %12s %9s %9s %9s %7s%n", "mode", "requests", "requests/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (Result result : results) {
+            System.out.printf("%-9s %10d %12.0f %9.2f %9.2f %9.2f %7d%n", result.mode(), result.latencies().length,
+                    result.latencies().length / (double) duration, millis(result.percentile(0.50)),
+                    millis(result.percentile(0.99)), millis(result.percentile(1.0)), result.errors());
+        }
+    }
+
+    private static Result run(String mode, int concurrency, int warmup, int duration, int tomcatThreads) throws Exception {
+        if (!List.of("platform", "virtual", "reactive").contains(mode)) {
+            throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
+        System.out.printf("Running %s%n", mode);
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MortgageAndInterestRatesApplication.class)
+                .properties("server.port=0",
+                        "logging.level.nl.ing.assessment=warn",
+                        "spring.main.web-application-type=" + ("reactive".equals(mode) ? "reactive" : "servlet"),
+                        "spring.threads.virtual.enabled=" + "virtual".equals(mode),
+                        "server.tomcat.threads.max=" + tomcatThreads,
+                        "server.tomcat.max-connections=" + Math.max(8192, 2 * concurrency))
+                .run();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder().executor(clients).connectTimeout(Duration.ofSeconds(10)).build()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/mortgage-check"))
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(REQUEST_JSON))
+                    .build();
+
+            long measureFrom = System.nanoTime() + Duration.ofSeconds(warmup).toNanos();
+            long measureUntil = measureFrom + Duration.ofSeconds(duration).toNanos();
+            List<Future<Client>> futures = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(clients.submit(() -> load(httpClient, request, measureFrom, measureUntil)));
+            }
+
+            long[][] latencies = new long[concurrency][];
+            int count = 0;
+            int errors = 0;
+            for (int i = 0; i < concurrency; i++) {
+                Client client = futures.get(i).get();
+                latencies[i] = Arrays.copyOf(client.latencies(), client.count());
+                count += client.count();
+                errors += client.errors();
+            }
+            long[] merged = new long[count];
+            int offset = 0;
+            for (long[] clientLatencies : latencies) {
+                System.arraycopy(clientLatencies, 0, merged, offset, clientLatencies.length);
+                offset += clientLatencies.length;
+            }
+            Arrays.sort(merged);
+            return new Result(mode, merged, errors);
+        }
+    }
+
+    private static Client load(HttpClient httpClient, HttpRequest request, long measureFrom, long measureUntil) {
+        long[] latencies = new long[1024];
+        int count = 0;
+        int errors = 0;
+        long start;
+        while ((start = System.nanoTime()) < measureUntil) {
+            boolean ok;
+            try {
+                ok = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+            } catch (Exception e) {
+                ok = false;
+            }
+            long end = System.nanoTime();
+            if (start < measureFrom) {
+                continue;
+            }
+            if (!ok) {
+                errors++;
+            } else {
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, 2 * count);
+                }
+                latencies[count++] = end - start;
+            }
+        }
+        return new Client(latencies, count, errors);
+    }
+
+    private static int intArgument(String[] args, String name, int defaultValue) {
+        return Integer.parseInt(argument(args, name, Integer.toString(defaultValue)));
+    }
+
+    private static String argument(String[] args, String name, String defaultValue) {
+        for (String arg : args) {
+            if (arg.startsWith(name + "=")) {
+                return arg.substring(name.length() + 1);
+            }
+        }
+        return defaultValue;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private record Client(long[] latencies, int count, int errors) {
+    }
+
+    private record Result(String mode, long[] latencies, int errors) {
+
+        long percentile(double percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            return latencies[Math.min(latencies.length - 1, (int) Math.ceil(percentile * latencies.length) - 1)];
+        }
+    }
+}
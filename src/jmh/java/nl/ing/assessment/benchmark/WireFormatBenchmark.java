@@ -0,0 +1,67 @@
+package nl.ing.assessment.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl.ing.assessment.mortgage.request.MortgageRequest;
+import nl.ing.assessment.mortgage.response.MortgageResponse;
+import nl.ing.assessment.util.CompactWireFormat;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding of mortgage requests and responses as JSON and in the CBOR compact wire format. The payload
+ * size of each format is printed when a trial starts.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    private ObjectMapper mapper;
+
+    private MortgageRequest mortgageRequest;
+
+    private MortgageResponse mortgageResponse;
+
+    private byte[] mortgageRequestBytes;
+
+    private byte[] mortgageResponseBytes;
+
+    @Setup
+    public void createPayloads(MortgageApplicationState application) throws IOException {
+        mapper = "cbor".equals(format) ? CompactWireFormat.getObjectMapper() : application.objectMapper;
+        mortgageRequest = MortgageApplicationState.feasibleRequest(new BigDecimal("312345.67"), 30);
+        mortgageResponse = application.mortgageAndInterestRatesService.checkMortgage(mortgageRequest);
+        mortgageRequestBytes = mapper.writeValueAsBytes(mortgageRequest);
+        mortgageResponseBytes = mapper.writeValueAsBytes(mortgageResponse);
+        System.out.printf("%n%s payload: request %d bytes, response %d bytes%n", format, mortgageRequestBytes.length, mortgageResponseBytes.length);
+    }
+
+    @Benchmark
+    public MortgageRequest readMortgageRequest() throws IOException {
+        return mapper.readValue(mortgageRequestBytes, MortgageRequest.class);
+    }
+
+    @Benchmark
+    public byte[] writeMortgageResponse() throws IOException {
+        return mapper.writeValueAsBytes(mortgageResponse);
+    }
+
+    @Benchmark
+    public byte[] writeMortgageRequest() throws IOException {
+        return mapper.writeValueAsBytes(mortgageRequest);
+    }
+
+    @Benchmark
+    public MortgageResponse readMortgageResponse() throws IOException {
+        return mapper.readValue(mortgageResponseBytes, MortgageResponse.class);
+    }
+}
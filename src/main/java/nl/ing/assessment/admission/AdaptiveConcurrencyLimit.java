@@ -0,0 +1,108 @@
+package nl.ing.assessment.admission;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Global limit on the number of requests in progress, adapted to the observed latency with additive increase and
+ * multiplicative decrease. Every request answered within the latency threshold while the limit is in use raises the
+ * limit by 1/limit, about one per round of requests; a slower request lowers it by the backoff ratio, at most once per
+ * threshold so a burst of slow requests counts once. All state is updated with compare-and-set.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final long latencyThresholdNanos;
+
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicLong limitBits;
+
+    private final AtomicLong lastDecrease;
+
+    /**
+     * @param initialLimit      Limit to start with
+     * @param minLimit          Lowest limit
+     * @param maxLimit          Highest limit
+     * @param latencyThreshold  Latency above which the limit is lowered
+     * @param backoffRatio      Factor the limit is multiplied by when it is lowered
+     */
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold, double backoffRatio) {
+        if (minLimit < 1 || maxLimit < minLimit || backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Invalid concurrency limit: 1 <= min <= max and 0 < backoff ratio < 1 are required");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(Math.clamp(initialLimit, minLimit, maxLimit)));
+        this.lastDecrease = new AtomicLong(System.nanoTime() - latencyThresholdNanos);
+    }
+
+    /**
+     * Start a request when fewer requests than the limit are in progress
+     *
+     * @return Whether the request may start, in which case {@link #release} must be called when it completes
+     */
+    public boolean tryAcquire() {
+        int limit = getLimit();
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Complete a request and adapt the limit to its latency
+     *
+     * @param latencyNanos  Time the request took
+     * @param now           Current {@link System#nanoTime()}
+     */
+    public void release(long latencyNanos, long now) {
+        int current = inFlight.getAndDecrement();
+        if (latencyNanos > latencyThresholdNanos) {
+            long last = lastDecrease.get();
+            if (now - last >= latencyThresholdNanos && lastDecrease.compareAndSet(last, now)) {
+                limitBits.getAndUpdate(bits -> Double.doubleToLongBits(Math.max(minLimit, Double.longBitsToDouble(bits) * backoffRatio)));
+            }
+        } else if (2 * current >= getLimit()) {
+            // Only a limit that is actually in use grows, so an idle service does not build up an unsafe limit
+            limitBits.getAndUpdate(bits -> {
+                double limit = Double.longBitsToDouble(bits);
+                return Double.doubleToLongBits(Math.min(maxLimit, limit + 1 / limit));
+            });
+        }
+    }
+
+    /**
+     * Give back the slot of a request that did not run after all, without adapting the limit
+     */
+    public void cancel() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * @return Current limit
+     */
+    public int getLimit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    /**
+     * @return Number of requests in progress
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
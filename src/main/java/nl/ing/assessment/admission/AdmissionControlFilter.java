@@ -0,0 +1,179 @@
+package nl.ing.assessment.admission;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import nl.ing.assessment.mortgage.response.MortgageResponse;
+import nl.ing.assessment.util.CompactWireFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control in front of the mortgage check: a request is only let through when its client has a token left
+ * and, for a single check, the global concurrency limit allows another request in progress. Other requests are shed
+ * with 429 Too Many Requests and a Retry-After header before their body is read, in the {@link CompactWireFormat} when
+ * the request is CBOR. The concurrency limit is checked first, so a request it sheds does not use up a token of its
+ * client.
+ * <p>
+ * Clients are identified by their authenticated principal, otherwise by the client header when it is trusted, and
+ * otherwise by their remote address. The header is only trusted when a gateway in front of the service sets it, since
+ * any caller could otherwise pick a fresh identity, and a fresh token bucket, for every request.
+ * <p>
+ * Batches, grids and other long requests only pass the client rate limit: their latency says nothing about a single
+ * check, so they would lower the limit and hold a slot for as long as they stream.
+ */
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final int MAX_CLIENT_ID_LENGTH = 128;
+
+    private static final String RATE_LIMITED = "Too many requests from this client";
+
+    private static final String OVERLOADED = "Too many requests in progress";
+
+    private static final byte[] RATE_LIMITED_BODY = rejectedBody(RATE_LIMITED);
+
+    private static final byte[] OVERLOADED_BODY = rejectedBody(OVERLOADED);
+
+    private static final byte[] RATE_LIMITED_COMPACT_BODY = compactRejectedBody(RATE_LIMITED);
+
+    private static final byte[] OVERLOADED_COMPACT_BODY = compactRejectedBody(OVERLOADED);
+
+    private final ClientRateLimiter clientRateLimiter;
+
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+
+    private final Set<String> concurrencyLimitedPaths;
+
+    private final String clientHeader;
+
+    private final Counter rateLimitedCounter;
+
+    private final Counter overloadedCounter;
+
+    /**
+     * @param clientRateLimiter        Per-client token buckets
+     * @param concurrencyLimit         Global concurrency limit
+     * @param concurrencyLimitedPaths  Paths, without context path, of which POST requests count against the limit
+     * @param clientHeader             Trusted header identifying the client, null to only use the principal and the
+     *                                 remote address
+     * @param meterRegistry            Registry of the admission meters
+     */
+    public AdmissionControlFilter(ClientRateLimiter clientRateLimiter, AdaptiveConcurrencyLimit concurrencyLimit,
+                                  Set<String> concurrencyLimitedPaths, String clientHeader, MeterRegistry meterRegistry) {
+        this.clientRateLimiter = clientRateLimiter;
+        this.concurrencyLimit = concurrencyLimit;
+        this.concurrencyLimitedPaths = concurrencyLimitedPaths;
+        this.clientHeader = clientHeader;
+        this.rateLimitedCounter = rejectionCounter(meterRegistry, "rate_limit");
+        this.overloadedCounter = rejectionCounter(meterRegistry, "concurrency");
+        Gauge.builder("mortgage.admission.limit", concurrencyLimit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("mortgage.admission.in.flight", concurrencyLimit, AdaptiveConcurrencyLimit::getInFlight)
+                .description("Admitted requests in progress")
+                .register(meterRegistry);
+        Gauge.builder("mortgage.admission.clients", clientRateLimiter, ClientRateLimiter::getClientCount)
+                .description("Clients with a token bucket")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean compact = isCompact(request);
+        boolean concurrencyLimited = isConcurrencyLimited(request);
+        if (concurrencyLimited && !concurrencyLimit.tryAcquire()) {
+            overloadedCounter.increment();
+            reject(response, TimeUnit.SECONDS.toNanos(1), compact ? OVERLOADED_COMPACT_BODY : OVERLOADED_BODY, compact);
+            return;
+        }
+        long wait = clientRateLimiter.tryAcquire(clientId(request), start);
+        if (wait > 0) {
+            if (concurrencyLimited) {
+                concurrencyLimit.cancel();
+            }
+            rateLimitedCounter.increment();
+            reject(response, wait, compact ? RATE_LIMITED_COMPACT_BODY : RATE_LIMITED_BODY, compact);
+            return;
+        }
+        if (!concurrencyLimited) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long end = System.nanoTime();
+            concurrencyLimit.release(end - start, end);
+        }
+    }
+
+    private boolean isConcurrencyLimited(HttpServletRequest request) {
+        return HttpMethod.POST.matches(request.getMethod())
+                && concurrencyLimitedPaths.contains(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    private static boolean isCompact(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.regionMatches(true, 0, MediaType.APPLICATION_CBOR_VALUE, 0,
+                MediaType.APPLICATION_CBOR_VALUE.length());
+    }
+
+    private String clientId(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return "principal:" + principal.getName();
+        }
+        String clientId = clientHeader == null ? null : request.getHeader(clientHeader);
+        if (clientId == null || clientId.isEmpty() || clientId.length() > MAX_CLIENT_ID_LENGTH) {
+            return request.getRemoteAddr();
+        }
+        return "client:" + clientId;
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos, byte[] body, boolean compact) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, (waitNanos + 999_999_999) / 1_000_000_000)));
+        response.setContentType(compact ? MediaType.APPLICATION_CBOR_VALUE : MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static byte[] rejectedBody(String error) {
+        return ("{\"feasible\":false,\"monthlyCost\":0,\"error\":\"" + error + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] compactRejectedBody(String error) {
+        try {
+            return CompactWireFormat.getObjectMapper().writeValueAsBytes(new MortgageResponse(false, BigDecimal.ZERO, error));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("mortgage.admission.rejections")
+                .description("Requests shed by admission control")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
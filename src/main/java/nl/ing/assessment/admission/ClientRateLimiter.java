@@ -0,0 +1,70 @@
+package nl.ing.assessment.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-client token buckets, implemented as the generic cell rate algorithm: every client has a single theoretical
+ * arrival time that admitted requests push forward by the emission interval, updated with compare-and-set so clients
+ * never wait on a lock. A client may run ahead of its rate by up to the burst size. Idle clients are evicted from a
+ * bounded Caffeine map.
+ */
+public class ClientRateLimiter {
+
+    private final long emissionIntervalNanos;
+
+    private final long burstToleranceNanos;
+
+    private final Cache<String, AtomicLong> theoreticalArrivalTimes;
+
+    /**
+     * @param ratePerSecond  Sustained number of requests per second of a client
+     * @param burst          Number of requests a client may send at once
+     * @param maxClients     Maximum number of clients tracked
+     * @param clientExpiry   Time after which an idle client is forgotten
+     */
+    public ClientRateLimiter(double ratePerSecond, int burst, long maxClients, Duration clientExpiry) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("The rate must be positive and the burst at least 1");
+        }
+        this.emissionIntervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.theoreticalArrivalTimes = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(clientExpiry)
+                .build();
+    }
+
+    /**
+     * Take a token of a client
+     *
+     * @param clientId  Client
+     * @param now       Current {@link System#nanoTime()}
+     * @return 0 when the request is admitted, otherwise the nanoseconds until the client has a token again
+     */
+    public long tryAcquire(String clientId, long now) {
+        AtomicLong theoreticalArrivalTime = theoreticalArrivalTimes.get(clientId, key -> new AtomicLong(now));
+        while (true) {
+            long current = theoreticalArrivalTime.get();
+            long start = Math.max(current, now);
+            long wait = start - burstToleranceNanos - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrivalTime.compareAndSet(current, start + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * @return Approximate number of tracked clients
+     */
+    public long getClientCount() {
+        return theoreticalArrivalTimes.estimatedSize();
+    }
+}
@@ -0,0 +1,142 @@
+package nl.ing.assessment.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import nl.ing.assessment.config.AuditProperties;
+import nl.ing.assessment.mortgage.request.MortgageRequest;
+import nl.ing.assessment.validate.MortgageViolations;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Audit log of mortgage check decisions. Records are handed to a lock-free ring buffer on the calling thread and
+ * written to the memory-mapped segment files by a single background thread, so a mortgage check never waits on I/O.
+ */
+@Component
+@NoArgsConstructor
+@Slf4j
+public class AuditLog {
+
+    private static final long IDLE_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    @Autowired
+    private AuditProperties auditProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private AuditRingBuffer ringBuffer;
+
+    private Counter droppedCounter;
+
+    private Thread writer;
+
+    private volatile boolean running;
+
+    /**
+     * Open a new audit log segment and start the writer thread
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        if (!auditProperties.isEnabled()) {
+            log.info("Audit log disabled");
+            return;
+        }
+        long segmentSize = auditProperties.getSegmentSize().toBytes();
+        if (segmentSize < AuditRecord.SIZE || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalStateException("An audit log segment size must be between " + AuditRecord.SIZE + " bytes and 2GB: " + auditProperties.getSegmentSize());
+        }
+        AuditLogFile file = new AuditLogFile(Path.of(auditProperties.getDirectory()), (int) segmentSize, auditProperties.getMaxSegments());
+        ringBuffer = new AuditRingBuffer(auditProperties.getBufferSize());
+        droppedCounter = Counter.builder("mortgage.audit.dropped")
+                .description("Audit records dropped because the audit buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("mortgage.audit.backlog", ringBuffer, AuditRingBuffer::size)
+                .description("Audit records waiting to be written")
+                .register(meterRegistry);
+
+        running = true;
+        writer = new Thread(() -> write(file), "audit-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Record a mortgage check decision
+     *
+     * @param request          Mortgage request
+     * @param rateVersion      Version of the interest rate table used, 0 when no rate was looked up
+     * @param monthlyCost      Monthly cost
+     * @param violations       Violated rules, none when the mortgage is feasible
+     */
+    public void record(MortgageRequest request, long rateVersion, BigDecimal monthlyCost, MortgageViolations violations) {
+        AuditRingBuffer buffer = ringBuffer;
+        if (buffer == null) {
+            return;
+        }
+        boolean added = buffer.offer(System.currentTimeMillis(), rateVersion,
+                request.maturityPeriod() == null ? Integer.MIN_VALUE : request.maturityPeriod(),
+                AuditRecord.toCents(request.income()), AuditRecord.toCents(request.loanValue()),
+                AuditRecord.toCents(request.homeValue()), AuditRecord.toCents(monthlyCost),
+                violations.isEmpty() ? 0 : violations.first().getCode(), violations.getMask());
+        if (!added) {
+            droppedCounter.increment();
+        }
+    }
+
+    /**
+     * Wait until every record offered so far has been written to the audit log
+     *
+     * @param timeoutMillis  Maximum time to wait
+     * @return false when records are still waiting after the timeout
+     */
+    public boolean flush(long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (ringBuffer != null && ringBuffer.size() > 0) {
+            if (!running || System.nanoTime() > deadline) {
+                return false;
+            }
+            LockSupport.parkNanos(IDLE_NANOS);
+        }
+        return true;
+    }
+
+    /**
+     * Write the remaining records and close the audit log
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer != null) {
+            running = false;
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    private void write(AuditLogFile file) {
+        try (file) {
+            while (running || ringBuffer.size() > 0) {
+                MappedByteBuffer buffer = file.buffer();
+                if (buffer.remaining() < AuditRecord.SIZE) {
+                    file.rotate();
+                } else if (ringBuffer.drainTo(buffer) == 0) {
+                    LockSupport.parkNanos(IDLE_NANOS);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Audit log writer stopped, further audit records are dropped", e);
+            running = false;
+        }
+    }
+}
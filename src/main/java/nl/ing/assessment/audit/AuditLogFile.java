@@ -0,0 +1,127 @@
+package nl.ing.assessment.audit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Append-only audit log stored as a sequence of memory-mapped segment files of a fixed size. Each run of the
+ * application starts a new segment after the existing ones, and the oldest segments are deleted once there are more
+ * than the configured number. The unwritten tail of a segment is zero, which marks the end of its records.
+ */
+@Slf4j
+class AuditLogFile implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "audit-";
+
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+
+    private final int segmentSize;
+
+    private final int maxSegments;
+
+    private long segmentIndex;
+
+    private FileChannel channel;
+
+    private MappedByteBuffer buffer;
+
+    AuditLogFile(Path directory, int segmentSize, int maxSegments) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = Math.max(1, maxSegments);
+        Files.createDirectories(directory);
+        List<Path> segments = segments(directory);
+        segmentIndex = segments.isEmpty() ? 0 : segmentIndex(segments.get(segments.size() - 1));
+        openNextSegment();
+    }
+
+    /**
+     * @return Buffer of the current segment, positioned after its last record
+     */
+    MappedByteBuffer buffer() {
+        return buffer;
+    }
+
+    /**
+     * Flush the current segment and continue in a new one
+     */
+    void rotate() throws IOException {
+        closeSegment();
+        openNextSegment();
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeSegment();
+    }
+
+    /**
+     * @param directory  Audit log directory
+     * @return The segment files of the directory, oldest first
+     */
+    static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(AuditLogFile::isSegment).sorted().toList();
+        }
+    }
+
+    private void openNextSegment() throws IOException {
+        while (true) {
+            Path segment = directory.resolve(String.format("%s%012d%s", SEGMENT_PREFIX, ++segmentIndex, SEGMENT_SUFFIX));
+            try {
+                channel = FileChannel.open(segment, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+                log.info("Writing audit log segment {}", segment);
+                break;
+            } catch (FileAlreadyExistsException e) {
+                // Another writer started a segment with this index, take the next one
+            }
+        }
+        deleteOldSegments();
+    }
+
+    private void closeSegment() throws IOException {
+        if (channel != null) {
+            buffer.force();
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void deleteOldSegments() throws IOException {
+        List<Path> segments = segments(directory);
+        for (Path segment : segments.subList(0, Math.max(0, segments.size() - maxSegments))) {
+            log.info("Deleting audit log segment {}", segment);
+            Files.deleteIfExists(segment);
+        }
+    }
+
+    private static boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long segmentIndex(Path segment) {
+        String name = segment.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package nl.ing.assessment.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl.ing.assessment.validate.MortgageRejectionReason;
+import nl.ing.assessment.validate.MortgageViolations;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Reads the audit log, oldest record first. From the command line it prints the records matching the given filters as
+ * newline delimited JSON:
+ * <pre>
+ * AuditLogReader &lt;directory&gt; [from=&lt;instant&gt;] [to=&lt;instant&gt;] [outcome=feasible|&lt;rejection reason&gt;]
+ *                [maturityPeriod=&lt;years&gt;] [rateVersion=&lt;version&gt;] [limit=&lt;records&gt;]
+ * </pre>
+ */
+public final class AuditLogReader {
+
+    private AuditLogReader() {
+    }
+
+    /**
+     * Read the records of an audit log directory
+     *
+     * @param directory  Audit log directory
+     * @param filter     Records to pass on
+     * @param action     Action run for every matching record, oldest first
+     * @return Number of matching records
+     * @throws IOException when a segment cannot be read
+     */
+    public static long read(Path directory, Predicate<AuditRecord> filter, Consumer<AuditRecord> action) throws IOException {
+        long count = 0;
+        for (Path segment : AuditLogFile.segments(directory)) {
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                AuditRecord record;
+                while ((record = AuditRecord.read(buffer)) != null) {
+                    if (filter.test(record)) {
+                        action.accept(record);
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: AuditLogReader <directory> [from=<instant>] [to=<instant>] [outcome=feasible|<rejection reason>] "
+                    + "[maturityPeriod=<years>] [rateVersion=<version>] [limit=<records>]");
+            System.exit(2);
+        }
+        Predicate<AuditRecord> filter = record -> true;
+        long limit = Long.MAX_VALUE;
+        for (int i = 1; i < args.length; i++) {
+            String[] argument = args[i].split("=", 2);
+            String value = argument.length > 1 ? argument[1] : "";
+            switch (argument[0]) {
+                case "from" -> {
+                    long from = Instant.parse(value).toEpochMilli();
+                    filter = filter.and(record -> record.timestamp() >= from);
+                }
+                case "to" -> {
+                    long to = Instant.parse(value).toEpochMilli();
+                    filter = filter.and(record -> record.timestamp() < to);
+                }
+                case "outcome" -> {
+                    if ("feasible".equalsIgnoreCase(value)) {
+                        filter = filter.and(AuditRecord::feasible);
+                    } else {
+                        MortgageRejectionReason reason = MortgageRejectionReason.valueOf(value.toUpperCase());
+                        filter = filter.and(record -> MortgageViolations.fromMask(record.violations()).contains(reason));
+                    }
+                }
+                case "maturityPeriod" -> {
+                    int maturityPeriod = Integer.parseInt(value);
+                    filter = filter.and(record -> record.maturityPeriod() == maturityPeriod);
+                }
+                case "rateVersion" -> {
+                    long rateVersion = Long.parseLong(value);
+                    filter = filter.and(record -> record.rateVersion() == rateVersion);
+                }
+                case "limit" -> limit = Long.parseLong(value);
+                default -> throw new IllegalArgumentException("Unknown filter: " + args[i]);
+            }
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        PrintStream out = System.out;
+        long maxRecords = limit;
+        long[] printed = {0};
+        read(Path.of(args[0]), filter.and(record -> printed[0] < maxRecords), record -> {
+            try {
+                out.println(objectMapper.writeValueAsString(toMap(record)));
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            printed[0]++;
+        });
+        out.flush();
+    }
+
+    private static Map<String, Object> toMap(AuditRecord record) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("timestamp", Instant.ofEpochMilli(record.timestamp()).toString());
+        fields.put("rateVersion", record.rateVersion());
+        fields.put("income", AuditRecord.fromCents(record.income()));
+        fields.put("maturityPeriod", record.maturityPeriod() == Integer.MIN_VALUE ? null : record.maturityPeriod());
+        fields.put("loanValue", AuditRecord.fromCents(record.loanValue()));
+        fields.put("homeValue", AuditRecord.fromCents(record.homeValue()));
+        fields.put("feasible", record.feasible());
+        fields.put("monthlyCost", AuditRecord.fromCents(record.monthlyCost()));
+        fields.put("outcome", record.feasible() ? "FEASIBLE" : MortgageRejectionReason.fromCode(record.reasonCode()).name());
+        fields.put("violations", MortgageViolations.fromMask(record.violations()).getReasons().stream().map(Enum::name).toList());
+        return fields;
+    }
+}
@@ -0,0 +1,94 @@
+package nl.ing.assessment.audit;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+
+/**
+ * A mortgage check decision as stored in the audit log. Amounts are stored in cents and the outcome as the code of
+ * the first {@link nl.ing.assessment.validate.MortgageRejectionReason}, or 0 when the mortgage is feasible, together
+ * with the mask of all violated rules.
+ *
+ * @param timestamp       Epoch milliseconds of the decision
+ * @param rateVersion     Version of the interest rate table used, or 0 when the request was rejected before a rate was looked up
+ * @param maturityPeriod  Maturity period in years, or {@link Integer#MIN_VALUE} when absent
+ * @param income          Income in cents, or {@link #NOT_AVAILABLE}
+ * @param loanValue       Loan value in cents, or {@link #NOT_AVAILABLE}
+ * @param homeValue       Home value in cents, or {@link #NOT_AVAILABLE}
+ * @param monthlyCost     Monthly cost in cents
+ * @param reasonCode      Code of the first rejection reason, 0 when feasible
+ * @param violations      Mask of the violated rules, see {@link nl.ing.assessment.validate.MortgageViolations#getMask()}
+ */
+public record AuditRecord(long timestamp, long rateVersion, int maturityPeriod, long income, long loanValue,
+                          long homeValue, long monthlyCost, int reasonCode, int violations) {
+
+    /**
+     * Size of an encoded record in bytes: a marker byte, the reason code byte, the violations short, the maturity
+     * period int and six longs, all big-endian
+     */
+    public static final int SIZE = 56;
+
+    /**
+     * Amount of a field that is absent or does not fit in a long number of cents
+     */
+    public static final long NOT_AVAILABLE = Long.MIN_VALUE;
+
+    private static final byte MARKER = 1;
+
+    public boolean feasible() {
+        return reasonCode == 0;
+    }
+
+    static void write(ByteBuffer buffer, long timestamp, long rateVersion, int maturityPeriod, long income, long loanValue,
+                      long homeValue, long monthlyCost, int reasonCode, int violations) {
+        buffer.put(MARKER)
+                .put((byte) reasonCode)
+                .putShort((short) violations)
+                .putInt(maturityPeriod)
+                .putLong(timestamp)
+                .putLong(rateVersion)
+                .putLong(income)
+                .putLong(loanValue)
+                .putLong(homeValue)
+                .putLong(monthlyCost);
+    }
+
+    /**
+     * Read the record at the position of a buffer
+     *
+     * @param buffer  Buffer positioned at a record
+     * @return The record, or null at the end of the written records
+     */
+    static AuditRecord read(ByteBuffer buffer) {
+        if (buffer.remaining() < SIZE || buffer.get(buffer.position()) != MARKER) {
+            return null;
+        }
+        buffer.get();
+        int reasonCode = buffer.get();
+        int violations = buffer.getShort() & 0xFFFF;
+        int maturityPeriod = buffer.getInt();
+        return new AuditRecord(buffer.getLong(), buffer.getLong(), maturityPeriod, buffer.getLong(), buffer.getLong(),
+                buffer.getLong(), buffer.getLong(), reasonCode, violations);
+    }
+
+    /**
+     * @param amount  Amount, may be null
+     * @return The amount in cents, or {@link #NOT_AVAILABLE}
+     */
+    public static long toCents(BigDecimal amount) {
+        if (amount == null) {
+            return NOT_AVAILABLE;
+        }
+        BigInteger cents = amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).unscaledValue();
+        return cents.bitLength() < 64 ? cents.longValue() : NOT_AVAILABLE;
+    }
+
+    /**
+     * @param cents  Amount in cents
+     * @return The amount, or null when not available
+     */
+    public static BigDecimal fromCents(long cents) {
+        return cents == NOT_AVAILABLE ? null : BigDecimal.valueOf(cents, 2);
+    }
+}
@@ -0,0 +1,114 @@
+package nl.ing.assessment.audit;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free ring buffer of audit records for many producers and a single consumer. Producers claim a slot
+ * with a compare-and-set on the tail and publish it through the slot's sequence number, so an offer never blocks and
+ * never allocates; the consumer encodes published records straight into the audit log buffer.
+ */
+public class AuditRingBuffer {
+
+    // timestamp, rateVersion, income, loanValue, homeValue, monthlyCost, and maturityPeriod with violations and reasonCode
+    private static final int WORDS = 7;
+
+    private final int capacity;
+
+    private final int mask;
+
+    private final long[] words;
+
+    // A slot is free for position p when its sequence is p, and holds the record of position p when it is p + 1
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong tail = new AtomicLong();
+
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * @param requestedCapacity  Number of records, rounded up to a power of two
+     */
+    public AuditRingBuffer(int requestedCapacity) {
+        this.capacity = Integer.highestOneBit(Math.max(2, requestedCapacity) * 2 - 1);
+        this.mask = capacity - 1;
+        this.words = new long[capacity * WORDS];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Add a record without waiting
+     *
+     * @return false when the buffer is full and the record was not added
+     */
+    public boolean offer(long timestamp, long rateVersion, int maturityPeriod, long income, long loanValue,
+                         long homeValue, long monthlyCost, int reasonCode, int violations) {
+        long position = tail.get();
+        while (true) {
+            int slot = (int) position & mask;
+            long sequence = sequences.get(slot);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    int offset = slot * WORDS;
+                    words[offset] = timestamp;
+                    words[offset + 1] = rateVersion;
+                    words[offset + 2] = income;
+                    words[offset + 3] = loanValue;
+                    words[offset + 4] = homeValue;
+                    words[offset + 5] = monthlyCost;
+                    words[offset + 6] = ((long) maturityPeriod << 32) | ((violations & 0xFFFFL) << 8) | (reasonCode & 0xFFL);
+                    sequences.set(slot, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (sequence < position) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Encode the published records into a buffer, oldest first, for as long as they fit. Must only be called by
+     * the single consumer.
+     *
+     * @param target  Buffer the records are written to
+     * @return Number of records written
+     */
+    public int drainTo(ByteBuffer target) {
+        long position = head.get();
+        int count = 0;
+        while (target.remaining() >= AuditRecord.SIZE) {
+            int slot = (int) position & mask;
+            if (sequences.get(slot) != position + 1) {
+                break;
+            }
+            int offset = slot * WORDS;
+            long periodAndOutcome = words[offset + 6];
+            AuditRecord.write(target, words[offset], words[offset + 1], (int) (periodAndOutcome >> 32), words[offset + 2],
+                    words[offset + 3], words[offset + 4], words[offset + 5], (int) (periodAndOutcome & 0xFF),
+                    (int) ((periodAndOutcome >> 8) & 0xFFFF));
+            sequences.set(slot, position + capacity);
+            position++;
+            head.set(position);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * @return Number of records waiting for the consumer
+     */
+    public int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
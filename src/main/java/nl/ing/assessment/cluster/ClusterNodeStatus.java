@@ -0,0 +1,9 @@
+package nl.ing.assessment.cluster;
+
+import java.time.Instant;
+
+/**
+ * Heartbeat of a node, with the version of the rate table it serves and the moment it applied it
+ */
+public record ClusterNodeStatus(String nodeId, ClusterRole role, long rateVersion, Instant appliedAt, Instant heartbeatAt) {
+}
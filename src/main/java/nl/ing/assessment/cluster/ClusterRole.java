@@ -0,0 +1,9 @@
+package nl.ing.assessment.cluster;
+
+/**
+ * Role of a node in the distribution of interest rates: the leader publishes its rate tables, followers apply them
+ */
+public enum ClusterRole {
+    LEADER,
+    FOLLOWER
+}
@@ -0,0 +1,225 @@
+package nl.ing.assessment.cluster;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import nl.ing.assessment.config.ClusterProperties;
+import nl.ing.assessment.config.InterestRatesProperties.InterestRateValue;
+import nl.ing.assessment.exception.MortgageAndInterestRatesException;
+import nl.ing.assessment.interest.model.InterestRate;
+import nl.ing.assessment.interest.model.InterestRateSnapshot;
+import nl.ing.assessment.interest.response.ClusterConvergenceResponse;
+import nl.ing.assessment.interest.response.ClusterConvergenceResponse.NodeConvergence;
+import nl.ing.assessment.util.MortgageAndInterestRatesUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Distribution of the interest rates over a cluster. The leader publishes every new rate table through the
+ * {@link RateDistributionTransport}, followers poll the latest published rate table and apply it as a whole with the
+ * version of the leader, so every node answers with the same rates for the same version. Until then a follower serves
+ * its own rate table as version 0, which the leader never publishes. Every node records a
+ * heartbeat with the version it serves, from which the convergence of the cluster is reported.
+ */
+@Component
+@NoArgsConstructor
+@Slf4j
+public class RateDistributionService {
+
+    @Autowired
+    private ClusterProperties clusterProperties;
+
+    @Autowired
+    private MortgageAndInterestRatesUtil mortgageAndInterestRatesUtil;
+
+    @Autowired(required = false)
+    private RateDistributionTransport rateDistributionTransport;
+
+    private String nodeId;
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Version of the leader's rate table this node serves, 0 until a follower applied the first one
+     */
+    private volatile long distributedVersion;
+
+    private volatile Instant appliedAt;
+
+    private long rejectedVersion;
+
+    /**
+     * Publish or apply the rate table before this node serves requests, and keep distributing it when the cluster
+     * is enabled
+     */
+    @PostConstruct
+    public void startDistribution() {
+        if (!clusterProperties.isEnabled()) {
+            return;
+        }
+        if (rateDistributionTransport == null) {
+            throw new IllegalStateException("No rate distribution transport: " + clusterProperties.getTransport());
+        }
+        nodeId = StringUtils.hasText(clusterProperties.getNodeId()) ? clusterProperties.getNodeId() : defaultNodeId();
+        if (clusterProperties.getRole() == ClusterRole.FOLLOWER) {
+            mortgageAndInterestRatesUtil.distributeByLeader();
+        }
+        log.info("Distributing interest rates as {} {}", clusterProperties.getRole(), nodeId);
+        distribute();
+
+        long interval = clusterProperties.getPollInterval().toMillis();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "interest-rates-distribution");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::distribute, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stopDistribution() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Publish the rate table of the leader or apply the latest published rate table on a follower, and record the
+     * heartbeat of this node
+     */
+    public void distribute() {
+        try {
+            if (clusterProperties.getRole() == ClusterRole.LEADER) {
+                publishInterestRates();
+            } else {
+                applyInterestRates();
+            }
+            rateDistributionTransport.heartbeat(new ClusterNodeStatus(nodeId, clusterProperties.getRole(), distributedVersion,
+                    appliedAt, Instant.now()));
+        } catch (IOException | RuntimeException e) {
+            // The next interval retries, the node keeps serving the rate table it has
+            log.warn("Interest rates not distributed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Get the convergence of the cluster on the latest published rate table
+     *
+     * @return Cluster convergence, with the nodes whose heartbeat expired reported as not live
+     * @throws IOException when the published rate table or the heartbeats cannot be read
+     */
+    public ClusterConvergenceResponse getConvergence() throws IOException {
+        RateSnapshotMessage latest = rateDistributionTransport.readLatest();
+        if (latest == null) {
+            return new ClusterConvergenceResponse(0, null, null, false, 0, List.of(), "No interest rates published");
+        }
+        Instant now = Instant.now();
+        boolean converged = true;
+        long lagMillis = 0;
+        List<NodeConvergence> nodes = new ArrayList<>();
+        for (ClusterNodeStatus status : rateDistributionTransport.readNodes()) {
+            boolean live = !status.heartbeatAt().plus(clusterProperties.getNodeExpiry()).isBefore(now);
+            long versionsBehind = Math.max(0, latest.version() - status.rateVersion());
+            Instant convergedAt = versionsBehind == 0 && status.appliedAt() != null ? status.appliedAt() : now;
+            long nodeLagMillis = Math.max(0, Duration.between(latest.publishedAt(), convergedAt).toMillis());
+            nodes.add(new NodeConvergence(status.nodeId(), status.role(), status.rateVersion(), versionsBehind, nodeLagMillis,
+                    status.heartbeatAt(), live));
+            if (live) {
+                converged &= versionsBehind == 0;
+                lagMillis = Math.max(lagMillis, nodeLagMillis);
+            }
+        }
+        nodes.sort(Comparator.comparing(NodeConvergence::nodeId));
+        return new ClusterConvergenceResponse(latest.version(), latest.publishedAt(), latest.leaderId(), converged, lagMillis,
+                nodes, "");
+    }
+
+    /**
+     * @return Whether the cluster is enabled on this node
+     */
+    public boolean isEnabled() {
+        return nodeId != null;
+    }
+
+    private void publishInterestRates() throws IOException {
+        InterestRateSnapshot snapshot = mortgageAndInterestRatesUtil.getInterestRateSnapshot();
+        if (snapshot.getVersion() <= distributedVersion) {
+            return;
+        }
+        if (distributedVersion == 0) {
+            // A restarted leader continues the versions of the cluster, so followers never skip its rate table
+            RateSnapshotMessage latest = rateDistributionTransport.readLatest();
+            if (latest != null && latest.version() >= snapshot.getVersion()) {
+                snapshot = republish(snapshot, latest.version() + 1);
+            }
+        }
+        rateDistributionTransport.publish(new RateSnapshotMessage(snapshot.getVersion(), snapshot.getLastUpdate().toInstant(), nodeId,
+                snapshot.getYieldCurve().getInterpolation(), toInterestRateValues(snapshot.getInterestRates())));
+        distributedVersion = snapshot.getVersion();
+        appliedAt = snapshot.getLastUpdate().toInstant();
+        log.info("Published interest rates version {} to the cluster", snapshot.getVersion());
+    }
+
+    private InterestRateSnapshot republish(InterestRateSnapshot snapshot, long version) {
+        try {
+            return mortgageAndInterestRatesUtil.applyInterestRates(version, new Timestamp(System.currentTimeMillis()),
+                    toInterestRateValues(snapshot.getInterestRates()), snapshot.getYieldCurve().getInterpolation());
+        } catch (MortgageAndInterestRatesException e) {
+            throw new IllegalStateException("Interest rates version " + snapshot.getVersion() + " cannot be republished", e);
+        }
+    }
+
+    private void applyInterestRates() throws IOException {
+        RateSnapshotMessage latest = rateDistributionTransport.readLatest();
+        if (latest == null || latest.version() <= distributedVersion || latest.version() == rejectedVersion) {
+            return;
+        }
+        try {
+            mortgageAndInterestRatesUtil.applyInterestRates(latest.version(), Timestamp.from(latest.publishedAt()), latest.rates(),
+                    latest.interpolation());
+            distributedVersion = latest.version();
+            appliedAt = Instant.now();
+            log.info("Applied interest rates version {} of leader {}", latest.version(), latest.leaderId());
+        } catch (MortgageAndInterestRatesException e) {
+            rejectedVersion = latest.version();
+            log.warn("Keeping interest rates version {}, version {} of leader {} is invalid: {}", distributedVersion,
+                    latest.version(), latest.leaderId(), e.getMessage());
+        }
+    }
+
+    private static List<InterestRateValue> toInterestRateValues(List<InterestRate> interestRates) {
+        List<InterestRateValue> rates = new ArrayList<>(interestRates.size());
+        for (InterestRate interestRate : interestRates) {
+            InterestRateValue rate = new InterestRateValue();
+            rate.setMaturityPeriod(interestRate.maturityPeriod());
+            rate.setRate(interestRate.interestRate());
+            rates.add(rate);
+        }
+        return rates;
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "localhost";
+        }
+        return host + "-" + ProcessHandle.current().pid();
+    }
+}
@@ -0,0 +1,39 @@
+package nl.ing.assessment.cluster;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Transport of published rate tables and node heartbeats between the nodes of a cluster. The latest published rate
+ * table replaces the previous one, so a follower that missed versions only applies the latest.
+ */
+public interface RateDistributionTransport {
+
+    /**
+     * Publish a rate table, replacing the previously published one
+     *
+     * @param message  Rate table
+     * @throws IOException when the rate table cannot be published
+     */
+    void publish(RateSnapshotMessage message) throws IOException;
+
+    /**
+     * @return The latest published rate table, or null when none was published
+     * @throws IOException when the published rate table cannot be read
+     */
+    RateSnapshotMessage readLatest() throws IOException;
+
+    /**
+     * Record the heartbeat of a node, replacing its previous heartbeat
+     *
+     * @param status  Node status
+     * @throws IOException when the heartbeat cannot be recorded
+     */
+    void heartbeat(ClusterNodeStatus status) throws IOException;
+
+    /**
+     * @return The latest heartbeat of every node
+     * @throws IOException when the heartbeats cannot be read
+     */
+    List<ClusterNodeStatus> readNodes() throws IOException;
+}
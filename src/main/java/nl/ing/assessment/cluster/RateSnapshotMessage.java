@@ -0,0 +1,14 @@
+package nl.ing.assessment.cluster;
+
+import nl.ing.assessment.config.InterestRatesProperties.InterestRateValue;
+import nl.ing.assessment.interest.model.YieldCurve;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Rate table published by the cluster leader, applied by every follower with the same version
+ */
+public record RateSnapshotMessage(long version, Instant publishedAt, String leaderId, YieldCurve.Interpolation interpolation,
+                                  List<InterestRateValue> rates) {
+}
@@ -0,0 +1,86 @@
+package nl.ing.assessment.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rate distribution through a directory shared by all nodes, such as a network file system or, for nodes on one
+ * machine, a local directory. Files are written to a temporary file and moved in place, so readers never see a
+ * partially written rate table or heartbeat.
+ */
+@Slf4j
+public class SharedDirectoryRateTransport implements RateDistributionTransport {
+
+    private static final String RATES_FILE = "rates.json";
+
+    private static final String NODES_DIRECTORY = "nodes";
+
+    private final Path directory;
+
+    private final Path nodesDirectory;
+
+    private final ObjectMapper objectMapper;
+
+    public SharedDirectoryRateTransport(Path directory, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.nodesDirectory = directory.resolve(NODES_DIRECTORY);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void publish(RateSnapshotMessage message) throws IOException {
+        write(directory, RATES_FILE, message);
+    }
+
+    @Override
+    public RateSnapshotMessage readLatest() throws IOException {
+        try {
+            return objectMapper.readValue(Files.readAllBytes(directory.resolve(RATES_FILE)), RateSnapshotMessage.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void heartbeat(ClusterNodeStatus status) throws IOException {
+        write(nodesDirectory, status.nodeId().replaceAll("[^A-Za-z0-9._-]", "_") + ".json", status);
+    }
+
+    @Override
+    public List<ClusterNodeStatus> readNodes() throws IOException {
+        List<ClusterNodeStatus> nodes = new ArrayList<>();
+        if (!Files.isDirectory(nodesDirectory)) {
+            return nodes;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(nodesDirectory, "*.json")) {
+            for (Path file : files) {
+                try {
+                    nodes.add(objectMapper.readValue(Files.readAllBytes(file), ClusterNodeStatus.class));
+                } catch (NoSuchFileException e) {
+                    log.debug("Heartbeat {} removed while reading it", file);
+                }
+            }
+        }
+        return nodes;
+    }
+
+    private void write(Path target, String fileName, Object value) throws IOException {
+        Files.createDirectories(target);
+        Path temporary = Files.createTempFile(target, fileName, ".tmp");
+        try {
+            Files.write(temporary, objectMapper.writeValueAsBytes(value));
+            Files.move(temporary, target.resolve(fileName), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+}
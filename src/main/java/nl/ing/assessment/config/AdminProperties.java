@@ -0,0 +1,19 @@
+package nl.ing.assessment.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "mortgage.admin")
+@Getter
+@Setter
+public class AdminProperties {
+
+    /**
+     * Whether the /api/admin/interest-rates endpoints are served; they are not authenticated, so only enable them when
+     * the application port cannot be reached by clients, for example behind a gateway that blocks /api/admin
+     */
+    private boolean enabled = false;
+}
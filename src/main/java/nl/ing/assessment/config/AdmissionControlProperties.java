@@ -0,0 +1,118 @@
+package nl.ing.assessment.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.Setter;
+import nl.ing.assessment.admission.AdaptiveConcurrencyLimit;
+import nl.ing.assessment.admission.AdmissionControlFilter;
+import nl.ing.assessment.admission.ClientRateLimiter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+@Configuration
+@ConfigurationProperties(prefix = "mortgage.admission")
+@Getter
+@Setter
+public class AdmissionControlProperties {
+
+    /**
+     * Whether requests to the admission paths pass admission control
+     */
+    private boolean enabled = false;
+
+    /**
+     * URL patterns of the requests under admission control
+     */
+    private List<String> paths = List.of("/api/mortgage-check", "/api/mortgage-check/*");
+
+    /**
+     * Paths of which POST requests count against the concurrency limit, the single checks; the other admission paths
+     * only pass the client rate limit
+     */
+    private Set<String> concurrencyLimitedPaths = Set.of("/api/mortgage-check");
+
+    /**
+     * Header identifying the client, only used when it is trusted
+     */
+    private String clientHeader = "X-Client-Id";
+
+    /**
+     * Whether the client header identifies clients, only to be enabled behind a gateway that sets it; otherwise clients
+     * are identified by their authenticated principal or remote address
+     */
+    private boolean trustClientHeader = false;
+
+    /**
+     * Sustained number of requests per second of a client
+     */
+    private double clientRate = 50;
+
+    /**
+     * Number of requests a client may send at once
+     */
+    private int clientBurst = 100;
+
+    /**
+     * Maximum number of clients tracked, the least recently seen are forgotten first
+     */
+    private long maxClients = 100_000;
+
+    /**
+     * Time after which an idle client is forgotten
+     */
+    private Duration clientExpiry = Duration.ofMinutes(10);
+
+    /**
+     * Concurrency limit to start with
+     */
+    private int initialLimit = 64;
+
+    /**
+     * Lowest concurrency limit
+     */
+    private int minLimit = 4;
+
+    /**
+     * Highest concurrency limit
+     */
+    private int maxLimit = 1024;
+
+    /**
+     * Latency above which the concurrency limit is lowered
+     */
+    private Duration latencyThreshold = Duration.ofMillis(100);
+
+    /**
+     * Factor the concurrency limit is multiplied by when a request exceeds the latency threshold
+     */
+    private double backoffRatio = 0.9;
+
+    /**
+     * Admission control filter, registered ahead of the other filters so shed requests cost no parsing. The filter is
+     * always registered and only enabled by the enabled property, which Spring AOT would otherwise fix at build time
+     *
+     * @param meterRegistry  Registry of the admission meters
+     * @return Filter registration
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(MeterRegistry meterRegistry) {
+        AdmissionControlFilter filter = new AdmissionControlFilter(
+                new ClientRateLimiter(clientRate, clientBurst, maxClients, clientExpiry),
+                new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, latencyThreshold, backoffRatio),
+                concurrencyLimitedPaths, trustClientHeader ? clientHeader : null, meterRegistry);
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setUrlPatterns(paths);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        registration.setEnabled(enabled);
+        return registration;
+    }
+}
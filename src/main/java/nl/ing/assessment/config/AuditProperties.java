@@ -0,0 +1,40 @@
+package nl.ing.assessment.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+@Configuration
+@ConfigurationProperties(prefix = "mortgage.audit")
+@Getter
+@Setter
+public class AuditProperties {
+
+    /**
+     * Whether a record of every mortgage check decision is written to the audit log
+     */
+    private boolean enabled = true;
+
+    /**
+     * Directory of the audit log segment files
+     */
+    private String directory = "audit";
+
+    /**
+     * Size of a segment file; a new segment is started when the current one is full
+     */
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Number of segment files kept; the oldest segments are deleted beyond this number
+     */
+    private int maxSegments = 16;
+
+    /**
+     * Number of records buffered between the mortgage checks and the audit log writer, rounded up to a power of two.
+     * Records are dropped and counted as mortgage.audit.dropped while the buffer is full.
+     */
+    private int bufferSize = 65536;
+}
@@ -0,0 +1,28 @@
+package nl.ing.assessment.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "mortgage.bulk-pricing")
+@Getter
+@Setter
+public class BulkPricingProperties {
+
+    /**
+     * Number of mortgages cross-checked against the exact calculation, spread evenly over a request. 0 disables verification.
+     */
+    private int verificationSampleSize = 0;
+
+    /**
+     * Maximum absolute difference in monthly cost between the bulk and the exact calculation
+     */
+    private double verificationTolerance = 0.01;
+
+    /**
+     * Maximum number of mismatching indices reported by a verification
+     */
+    private int maxReportedMismatches = 100;
+}
@@ -0,0 +1,69 @@
+package nl.ing.assessment.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.Setter;
+import nl.ing.assessment.cluster.ClusterRole;
+import nl.ing.assessment.cluster.RateDistributionTransport;
+import nl.ing.assessment.cluster.SharedDirectoryRateTransport;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "mortgage.cluster")
+@Getter
+@Setter
+public class ClusterProperties {
+
+    /**
+     * Whether the interest rates are distributed by a cluster leader
+     */
+    private boolean enabled = false;
+
+    /**
+     * Role of this node: the leader publishes its rate tables, followers apply them
+     */
+    private ClusterRole role = ClusterRole.FOLLOWER;
+
+    /**
+     * Identifier of this node, the host name and process id when empty
+     */
+    private String nodeId;
+
+    /**
+     * Transport of the rate tables: directory, or any other value to provide a RateDistributionTransport bean
+     */
+    private String transport = "directory";
+
+    /**
+     * Directory shared by the nodes of the directory transport
+     */
+    private String directory = "data/cluster";
+
+    /**
+     * Interval between publishing or polling the rate table and recording the heartbeat of this node
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /**
+     * Time since its last heartbeat after which a node is no longer counted in the cluster convergence
+     */
+    private Duration nodeExpiry = Duration.ofSeconds(30);
+
+    /**
+     * Rate distribution through a directory shared by the nodes
+     *
+     * @param objectMapper  Mapper of the rate tables and heartbeats
+     * @return Rate distribution transport
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "mortgage.cluster", name = "transport", havingValue = "directory", matchIfMissing = true)
+    public RateDistributionTransport sharedDirectoryRateTransport(ObjectMapper objectMapper) {
+        return new SharedDirectoryRateTransport(Path.of(directory).toAbsolutePath(), objectMapper);
+    }
+}
@@ -3,11 +3,14 @@ package nl.ing.assessment.config;
 import lombok.Getter;
 import lombok.Setter;
 import nl.ing.assessment.interest.model.InterestRate;
+import nl.ing.assessment.interest.model.YieldCurve;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
 
 import java.math.BigDecimal;
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -18,6 +21,26 @@ import java.util.stream.Collectors;
 public class InterestRatesProperties {
     private List<InterestRateValue> rates;
 
+    /**
+     * Optional JSON file with interest rates, watched for changes and loaded instead of the configured rates
+     */
+    private String ratesFile;
+
+    /**
+     * Interpolation of the rates of maturity periods between the configured ones: none, linear or monotone-spline
+     */
+    private YieldCurve.Interpolation interpolation = YieldCurve.Interpolation.LINEAR;
+
+    /**
+     * How long clients may use GET /api/interest-rates without revalidating it, zero to always revalidate
+     */
+    private Duration cacheMaxAge = Duration.ZERO;
+
+    /**
+     * Whether published rate tables are recorded in the interest rate history database
+     */
+    private boolean historyEnabled = true;
+
     @Getter
     @Setter
     public static class InterestRateValue {
@@ -25,9 +48,20 @@ public class InterestRatesProperties {
         private BigDecimal rate;
     }
 
+    /**
+     * @return Cache-Control of GET /api/interest-rates, which is revalidated by its entity tag
+     */
+    public CacheControl interestRatesCacheControl() {
+        return cacheMaxAge.isZero() ? CacheControl.noCache() : CacheControl.maxAge(cacheMaxAge).mustRevalidate();
+    }
+
     public List<InterestRate> populateInterestRates() {
+        return populateInterestRates(rates, new Timestamp(System.currentTimeMillis()));
+    }
+
+    public static List<InterestRate> populateInterestRates(List<InterestRateValue> rates, Timestamp lastUpdate) {
         return rates.stream()
-                .map(interestRateValue -> new InterestRate(interestRateValue.getMaturityPeriod(), interestRateValue.getRate(), new Timestamp(System.currentTimeMillis())))
+                .map(interestRateValue -> new InterestRate(interestRateValue.getMaturityPeriod(), interestRateValue.getRate(), lastUpdate))
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,52 @@
+package nl.ing.assessment.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.env.Environment;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+@ConfigurationProperties(prefix = "mortgage.batch")
+@Getter
+@Setter
+public class MortgageBatchProperties {
+
+    /**
+     * Number of worker threads checking batch items in parallel, when virtual threads are disabled
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Maximum number of batch items read ahead of the item currently being written
+     */
+    private int maxInFlight = 256;
+
+    /**
+     * Executor running the mortgage checks of a batch. With spring.threads.virtual.enabled every check runs on its
+     * own virtual thread and the number of concurrent checks is bounded by {@link #maxInFlight} instead of a pool.
+     *
+     * @param environment  Environment telling whether virtual threads are enabled
+     * @return Executor service
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService mortgageBatchExecutor(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("mortgage-batch-", 1).factory());
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "mortgage-batch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(Math.max(1, parallelism), threadFactory);
+    }
+}
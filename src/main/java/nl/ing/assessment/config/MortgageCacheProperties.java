@@ -0,0 +1,23 @@
+package nl.ing.assessment.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "mortgage.cache")
+@Getter
+@Setter
+public class MortgageCacheProperties {
+
+    /**
+     * Whether mortgage check responses are cached
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of cached mortgage check responses
+     */
+    private long maximumSize = 100_000;
+}
@@ -0,0 +1,25 @@
+package nl.ing.assessment.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "mortgage.coalescing")
+@Getter
+@Setter
+public class MortgageCoalescingProperties {
+
+    /**
+     * Whether identical mortgage checks that are in flight at the same time share one computation
+     */
+    private boolean enabled = false;
+
+    /**
+     * How long a caller waits on the computation of an identical check before checking the mortgage itself
+     */
+    private Duration timeout = Duration.ofSeconds(1);
+}
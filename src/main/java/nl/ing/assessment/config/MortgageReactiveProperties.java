@@ -0,0 +1,52 @@
+package nl.ing.assessment.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+@ConfigurationProperties(prefix = "mortgage.reactive")
+@Getter
+@Setter
+public class MortgageReactiveProperties {
+
+    /**
+     * Number of threads of the scheduler running mortgage checks off the event loop
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Maximum number of streamed batch items requested from the client ahead of the item currently being written
+     */
+    private int maxInFlight = 256;
+
+    /**
+     * Netty server of the reactive API. Both Tomcat and Netty are on the class path and Spring Boot would pick Tomcat
+     * for a reactive application as well, so the event loop server is chosen explicitly.
+     *
+     * @return Reactive web server factory
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Bounded scheduler running the CPU-bound mortgage checks of the reactive API, so the event loop threads only
+     * do I/O
+     *
+     * @return Scheduler
+     */
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public Scheduler mortgageCheckScheduler() {
+        return Schedulers.newParallel("mortgage-check", Math.max(1, parallelism), true);
+    }
+}
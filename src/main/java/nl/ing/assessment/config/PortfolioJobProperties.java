@@ -0,0 +1,62 @@
+package nl.ing.assessment.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import nl.ing.assessment.portfolio.PortfolioJob;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+@Configuration
+@ConfigurationProperties(prefix = "mortgage.portfolio-job")
+@Getter
+@Setter
+public class PortfolioJobProperties {
+
+    /**
+     * CSV file of mortgages (income,maturityPeriod,loanValue,homeValue) re-evaluated at startup when set
+     */
+    private String input;
+
+    /**
+     * CSV file the evaluated mortgages are written to, the input file with a .result.csv suffix when not set
+     */
+    private String output;
+
+    /**
+     * Size of the parts the input file is split into; every part is parsed, evaluated and checkpointed on its own
+     */
+    private DataSize chunkSize = DataSize.ofMegabytes(16);
+
+    /**
+     * Number of chunks evaluated in parallel
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Interval in seconds between progress reports
+     */
+    private int progressInterval = 10;
+
+    /**
+     * Re-evaluate the portfolio in mortgage.portfolio-job.input at startup. Start the application with
+     * spring.main.web-application-type=none to exit once the job is done.
+     *
+     * @param portfolioJob  Portfolio job
+     * @return Application runner
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "mortgage.portfolio-job", name = "input")
+    public ApplicationRunner portfolioJobRunner(PortfolioJob portfolioJob) {
+        return args -> {
+            Path inputFile = Path.of(input);
+            Path outputFile = output == null ? inputFile.resolveSibling(inputFile.getFileName() + ".result.csv") : Path.of(output);
+            portfolioJob.run(inputFile, outputFile);
+        };
+    }
+}
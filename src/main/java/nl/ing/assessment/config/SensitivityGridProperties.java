@@ -0,0 +1,51 @@
+package nl.ing.assessment.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+
+@Configuration
+@ConfigurationProperties(prefix = "mortgage.sensitivity-grid")
+@Getter
+@Setter
+public class SensitivityGridProperties {
+
+    /**
+     * Smallest rate shock in basis points, when a request does not specify it
+     */
+    private int fromBasisPoints = -200;
+
+    /**
+     * Largest rate shock in basis points, when a request does not specify it
+     */
+    private int toBasisPoints = 300;
+
+    /**
+     * Step between rate shocks in basis points, when a request does not specify it
+     */
+    private int stepBasisPoints = 25;
+
+    /**
+     * Maximum number of monthly costs in a grid
+     */
+    private int maxCells = 1_000_000;
+
+    /**
+     * Number of threads computing grid cells in parallel
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Fork-join pool computing the cells of sensitivity grids, separate from the common pool
+     *
+     * @return Fork-join pool
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool sensitivityGridPool() {
+        return new ForkJoinPool(Math.max(1, parallelism));
+    }
+}
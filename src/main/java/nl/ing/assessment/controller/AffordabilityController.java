@@ -0,0 +1,33 @@
+package nl.ing.assessment.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.ing.assessment.exception.MortgageAndInterestRatesException;
+import nl.ing.assessment.mortgage.request.AffordabilityRequest;
+import nl.ing.assessment.mortgage.response.AffordabilityResponse;
+import nl.ing.assessment.service.AffordabilityService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api")
+public class AffordabilityController {
+
+    @Autowired
+    private AffordabilityService affordabilityService;
+
+    @PostMapping("/mortgage-check/affordability")
+    public ResponseEntity<AffordabilityResponse> calculateAffordability(@RequestBody AffordabilityRequest request) {
+        try {
+            return ResponseEntity.ok(affordabilityService.calculateAffordability(request));
+        } catch (MortgageAndInterestRatesException e) {
+            log.info("Affordability request rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new AffordabilityResponse(0, List.of(), null, e.getMessage()));
+        }
+    }
+}
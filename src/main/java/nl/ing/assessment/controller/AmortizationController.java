@@ -0,0 +1,55 @@
+package nl.ing.assessment.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import nl.ing.assessment.exception.MortgageAndInterestRatesException;
+import nl.ing.assessment.mortgage.response.AmortizationRow;
+import nl.ing.assessment.mortgage.response.MortgageResponse;
+import nl.ing.assessment.service.AmortizationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+
+@Slf4j
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api")
+public class AmortizationController {
+
+    @Autowired
+    private AmortizationService amortizationService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @GetMapping(value = "/mortgage-check/amortization", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> getAmortizationSchedule(@RequestParam BigDecimal loanValue,
+                                                     @RequestParam int maturityPeriod,
+                                                     @RequestParam(defaultValue = "1") int fromMonth,
+                                                     @RequestParam(required = false) Integer toMonth,
+                                                     @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Iterator<AmortizationRow> schedule;
+        try {
+            schedule = amortizationService.createSchedule(loanValue, maturityPeriod, fromMonth, toMonth);
+        } catch (MortgageAndInterestRatesException e) {
+            log.debug("Amortization schedule rejected: {}", e.getMessage());
+            MortgageResponse response = new MortgageResponse(false, BigDecimal.ZERO, e.getMessage());
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON)
+                    .body(output -> objectMapper.writeValue(output, response));
+        }
+
+        boolean ndJson = accept != null && MediaType.parseMediaTypes(accept).stream()
+                .anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype);
+        StreamingResponseBody body = output -> amortizationService.writeSchedule(schedule, output, ndJson);
+        return ResponseEntity.ok()
+                .contentType(ndJson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+}
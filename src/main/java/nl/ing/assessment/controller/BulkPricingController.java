@@ -0,0 +1,34 @@
+package nl.ing.assessment.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.ing.assessment.exception.MortgageAndInterestRatesException;
+import nl.ing.assessment.mortgage.request.BulkPricingRequest;
+import nl.ing.assessment.mortgage.response.BulkPricingResponse;
+import nl.ing.assessment.service.BulkPricingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api")
+public class BulkPricingController {
+
+    @Autowired
+    private BulkPricingService bulkPricingService;
+
+    @PostMapping("/mortgage-check/bulk-pricing")
+    public ResponseEntity<BulkPricingResponse> price(@RequestBody BulkPricingRequest request,
+                                                     @RequestParam(required = false) Integer verificationSampleSize) {
+        try {
+            return ResponseEntity.ok(verificationSampleSize == null
+                    ? bulkPricingService.price(request)
+                    : bulkPricingService.price(request, verificationSampleSize));
+        } catch (MortgageAndInterestRatesException e) {
+            log.info("Bulk pricing request rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new BulkPricingResponse(0, null, null, null, e.getMessage()));
+        }
+    }
+}
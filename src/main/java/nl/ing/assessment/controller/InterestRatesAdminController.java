@@ -0,0 +1,125 @@
+package nl.ing.assessment.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.ing.assessment.cluster.RateDistributionService;
+import nl.ing.assessment.config.AdminProperties;
+import nl.ing.assessment.config.InterestRatesProperties.InterestRateValue;
+import nl.ing.assessment.exception.MortgageAndInterestRatesException;
+import nl.ing.assessment.interest.model.InterestRateSnapshot;
+import nl.ing.assessment.interest.response.ClusterConvergenceResponse;
+import nl.ing.assessment.interest.response.InterestRatesResponse;
+import nl.ing.assessment.util.InterestRatesFileReloader;
+import nl.ing.assessment.util.MortgageAndInterestRatesUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/interest-rates")
+public class InterestRatesAdminController {
+
+    private static final String NOT_ENABLED = "Interest rate administration is not enabled";
+
+    @Autowired
+    private MortgageAndInterestRatesUtil mortgageAndInterestRatesUtil;
+
+    @Autowired
+    private InterestRatesFileReloader interestRatesFileReloader;
+
+    @Autowired
+    private RateDistributionService rateDistributionService;
+
+    @Autowired
+    private AdminProperties adminProperties;
+
+    @GetMapping
+    public ResponseEntity<InterestRatesResponse> getInterestRates() {
+        if (!adminProperties.isEnabled()) {
+            return notEnabled();
+        }
+        return ResponseEntity.ok(toResponse(mortgageAndInterestRatesUtil.getInterestRateSnapshot()));
+    }
+
+    @GetMapping(params = "asOf")
+    public ResponseEntity<InterestRatesResponse> getInterestRates(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant asOf) {
+        if (!adminProperties.isEnabled()) {
+            return notEnabled();
+        }
+        InterestRateSnapshot snapshot = mortgageAndInterestRatesUtil.getInterestRateSnapshot(Timestamp.from(asOf));
+        if (snapshot.getInterestRates().isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new InterestRatesResponse(snapshot.getVersion(), null, List.of(), "No interest rates effective at: " + asOf));
+        }
+        return ResponseEntity.ok(toResponse(snapshot));
+    }
+
+    @PutMapping
+    public ResponseEntity<InterestRatesResponse> replaceInterestRates(@RequestBody List<InterestRateValue> rates) {
+        if (!adminProperties.isEnabled()) {
+            return notEnabled();
+        }
+        try {
+            return ResponseEntity.ok(toResponse(mortgageAndInterestRatesUtil.publishInterestRates(rates)));
+        } catch (MortgageAndInterestRatesException e) {
+            return rejected(e);
+        }
+    }
+
+    @PostMapping("/reload")
+    public ResponseEntity<InterestRatesResponse> reloadInterestRates() {
+        if (!adminProperties.isEnabled()) {
+            return notEnabled();
+        }
+        try {
+            return ResponseEntity.ok(toResponse(interestRatesFileReloader.reloadInterestRates()));
+        } catch (MortgageAndInterestRatesException e) {
+            return rejected(e);
+        }
+    }
+
+    @GetMapping("/cluster")
+    public ResponseEntity<ClusterConvergenceResponse> getClusterConvergence() {
+        if (!adminProperties.isEnabled()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ClusterConvergenceResponse(0, null, null, false, 0, List.of(), NOT_ENABLED));
+        }
+        if (!rateDistributionService.isEnabled()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ClusterConvergenceResponse(0, null, null, false, 0, List.of(), "Interest rates are not distributed by a cluster"));
+        }
+        try {
+            return ResponseEntity.ok(rateDistributionService.getConvergence());
+        } catch (IOException e) {
+            log.warn("Cluster convergence not available: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ClusterConvergenceResponse(0, null, null, false, 0, List.of(), "Cluster convergence not available: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * The admin endpoints are not authenticated, so unless mortgage.admin.enabled is set they answer as if absent
+     */
+    private static ResponseEntity<InterestRatesResponse> notEnabled() {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new InterestRatesResponse(0, null, List.of(), NOT_ENABLED));
+    }
+
+    private ResponseEntity<InterestRatesResponse> rejected(MortgageAndInterestRatesException e) {
+        log.info("Interest rates not replaced: {}", e.getMessage());
+        InterestRateSnapshot current = mortgageAndInterestRatesUtil.getInterestRateSnapshot();
+        return ResponseEntity.badRequest()
+                .body(new InterestRatesResponse(current.getVersion(), current.getLastUpdate(), current.getInterestRates(), e.getMessage()));
+    }
+
+    private static InterestRatesResponse toResponse(InterestRateSnapshot snapshot) {
+        return new InterestRatesResponse(snapshot.getVersion(), snapshot.getLastUpdate(), snapshot.getInterestRates(), "");
+    }
+}
@@ -1,30 +1,82 @@
 package nl.ing.assessment.controller;
 
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
-import nl.ing.assessment.interest.model.InterestRate;
+import nl.ing.assessment.config.InterestRatesProperties;
+import nl.ing.assessment.interest.response.InterestRatesPayload;
 import nl.ing.assessment.mortgage.request.MortgageRequest;
 import nl.ing.assessment.mortgage.response.MortgageResponse;
 import nl.ing.assessment.service.MortgageAndInterestRatesService;
+import nl.ing.assessment.util.CompactWireFormat;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.IOException;
+import java.math.BigDecimal;
 
 @Slf4j
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api")
 public class MortgageAndInterestRatesController {
 
     @Autowired
     private MortgageAndInterestRatesService mortgageAndInterestRatesService;
 
+    @Autowired
+    private InterestRatesProperties interestRatesProperties;
+
     @GetMapping("/interest-rates")
-    public List<InterestRate> getInterestRates() {
-        return mortgageAndInterestRatesService.getAllInterestRates();
+    public ResponseEntity<byte[]> getInterestRates(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                   @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        InterestRatesPayload payload = mortgageAndInterestRatesService.getInterestRatesPayload();
+        boolean gzipped = InterestRatesPayload.acceptsGzip(acceptEncoding);
+        if (payload.isNotModified(ifNoneMatch, gzipped)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(payload.getETag(gzipped))
+                    .cacheControl(interestRatesProperties.interestRatesCacheControl())
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(payload.getETag(gzipped))
+                .cacheControl(interestRatesProperties.interestRatesCacheControl())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzipped) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(payload.getBody(gzipped));
     }
 
     @PostMapping("/mortgage-check")
     public MortgageResponse checkMortgage(@RequestBody MortgageRequest request) {
         return mortgageAndInterestRatesService.checkMortgage(request);
     }
+
+    /**
+     * Mortgage check in the {@link CompactWireFormat}, chosen by a Content-Type of application/cbor
+     */
+    @PostMapping(value = "/mortgage-check", consumes = MediaType.APPLICATION_CBOR_VALUE, produces = MediaType.APPLICATION_CBOR_VALUE)
+    public ResponseEntity<byte[]> checkMortgageCompact(@RequestBody byte[] request) throws IOException {
+        ObjectMapper compactMapper = CompactWireFormat.getObjectMapper();
+        MortgageResponse response;
+        try {
+            response = mortgageAndInterestRatesService.checkMortgage(compactMapper.readValue(request, MortgageRequest.class));
+        } catch (JacksonException e) {
+            log.info("Unreadable compact mortgage request: {}", e.getOriginalMessage());
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_CBOR)
+                    .body(compactMapper.writeValueAsBytes(new MortgageResponse(false, BigDecimal.ZERO, "Invalid mortgage request: " + e.getOriginalMessage())));
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_CBOR)
+                .body(compactMapper.writeValueAsBytes(response));
+    }
 }
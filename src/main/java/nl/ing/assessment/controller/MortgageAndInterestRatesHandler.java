@@ -0,0 +1,107 @@
+package nl.ing.assessment.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.ing.assessment.config.InterestRatesProperties;
+import nl.ing.assessment.config.MortgageReactiveProperties;
+import nl.ing.assessment.interest.response.InterestRatesPayload;
+import nl.ing.assessment.mortgage.request.MortgageRequest;
+import nl.ing.assessment.mortgage.response.MortgageResponse;
+import nl.ing.assessment.service.MortgageAndInterestRatesService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.codec.CodecException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.math.BigDecimal;
+
+/**
+ * Reactive handlers of the interest rates and mortgage check API. Request bodies are decoded on the event loop and
+ * every mortgage check runs on the bounded mortgage check scheduler.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class MortgageAndInterestRatesHandler {
+
+    @Autowired
+    private MortgageAndInterestRatesService mortgageAndInterestRatesService;
+
+    @Autowired
+    private MortgageReactiveProperties mortgageReactiveProperties;
+
+    @Autowired
+    private InterestRatesProperties interestRatesProperties;
+
+    @Autowired
+    @Qualifier("mortgageCheckScheduler")
+    private Scheduler mortgageCheckScheduler;
+
+    public Mono<ServerResponse> getInterestRates(ServerRequest request) {
+        InterestRatesPayload payload = mortgageAndInterestRatesService.getInterestRatesPayload();
+        boolean gzipped = InterestRatesPayload.acceptsGzip(request.headers().firstHeader(HttpHeaders.ACCEPT_ENCODING));
+        if (payload.isNotModified(request.headers().firstHeader(HttpHeaders.IF_NONE_MATCH), gzipped)) {
+            return ServerResponse.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(payload.getETag(gzipped))
+                    .cacheControl(interestRatesProperties.interestRatesCacheControl())
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ServerResponse.BodyBuilder response = ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(payload.getETag(gzipped))
+                .cacheControl(interestRatesProperties.interestRatesCacheControl())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzipped) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.bodyValue(payload.getBody(gzipped));
+    }
+
+    public Mono<ServerResponse> checkMortgage(ServerRequest request) {
+        Mono<MortgageResponse> response = request.bodyToMono(MortgageRequest.class)
+                .switchIfEmpty(Mono.error(() -> new ServerWebInputException("A mortgage request is required")))
+                .publishOn(mortgageCheckScheduler)
+                .map(mortgageAndInterestRatesService::checkMortgage);
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(response, MortgageResponse.class);
+    }
+
+    /**
+     * Check a stream of mortgages posted as a JSON array or newline delimited JSON. The responses are streamed as
+     * newline delimited JSON in request order. At most mortgage.reactive.max-in-flight requests are demanded from
+     * the request body ahead of the oldest unwritten response, so a fast client is slowed down to the pace of the
+     * checks instead of being buffered.
+     */
+    public Mono<ServerResponse> checkMortgages(ServerRequest request) {
+        int maxInFlight = Math.max(1, mortgageReactiveProperties.getMaxInFlight());
+        Flux<MortgageResponse> responses = request.bodyToFlux(MortgageRequest.class)
+                .flatMapSequential(mortgageRequest -> Mono.fromCallable(() -> mortgageAndInterestRatesService.checkMortgage(mortgageRequest))
+                        .subscribeOn(mortgageCheckScheduler)
+                        .onErrorResume(e -> Mono.just(failedResponse("Mortgage check failed: " + e.getMessage()))),
+                        maxInFlight, maxInFlight)
+                .onErrorResume(e -> e instanceof CodecException || e instanceof ServerWebInputException, e -> {
+                    String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                    log.info("Unreadable mortgage batch input: {}", message);
+                    return Mono.just(failedResponse("Unreadable mortgage request: " + message));
+                });
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(responses, MortgageResponse.class);
+    }
+
+    private static MortgageResponse failedResponse(String error) {
+        return new MortgageResponse(false, BigDecimal.ZERO, error);
+    }
+}
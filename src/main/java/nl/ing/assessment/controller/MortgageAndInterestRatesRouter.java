@@ -0,0 +1,30 @@
+package nl.ing.assessment.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * Routes of the reactive API, active when the application runs with spring.main.web-application-type=reactive
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class MortgageAndInterestRatesRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> mortgageAndInterestRatesRoutes(MortgageAndInterestRatesHandler handler) {
+        return RouterFunctions.route()
+                .path("/api", api -> api
+                        .GET("/interest-rates", handler::getInterestRates)
+                        .POST("/mortgage-check/batch",
+                                RequestPredicates.contentType(MediaType.APPLICATION_JSON, MediaType.APPLICATION_NDJSON),
+                                handler::checkMortgages)
+                        .POST("/mortgage-check", handler::checkMortgage))
+                .build();
+    }
+}
@@ -0,0 +1,40 @@
+package nl.ing.assessment.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import nl.ing.assessment.service.MortgageBatchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Slf4j
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api")
+public class MortgageBatchController {
+
+    @Autowired
+    private MortgageBatchService mortgageBatchService;
+
+    @PostMapping(value = "/mortgage-check/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void checkMortgages(InputStream requestBody, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        mortgageBatchService.checkMortgages(requestBody, response.getOutputStream());
+    }
+
+    @PostMapping(value = "/mortgage-check/batch",
+            consumes = MediaType.APPLICATION_CBOR_VALUE,
+            produces = MediaType.APPLICATION_CBOR_VALUE)
+    public void checkMortgagesCompact(InputStream requestBody, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_CBOR_VALUE);
+        mortgageBatchService.checkMortgagesCompact(requestBody, response.getOutputStream());
+    }
+}
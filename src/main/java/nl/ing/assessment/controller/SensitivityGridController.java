@@ -0,0 +1,31 @@
+package nl.ing.assessment.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.ing.assessment.exception.MortgageAndInterestRatesException;
+import nl.ing.assessment.mortgage.request.SensitivityGridRequest;
+import nl.ing.assessment.mortgage.response.SensitivityGridResponse;
+import nl.ing.assessment.service.SensitivityGridService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api")
+public class SensitivityGridController {
+
+    @Autowired
+    private SensitivityGridService sensitivityGridService;
+
+    @PostMapping("/mortgage-check/sensitivity-grid")
+    public ResponseEntity<SensitivityGridResponse> calculateGrid(@RequestBody SensitivityGridRequest request) {
+        try {
+            return ResponseEntity.ok(sensitivityGridService.calculateGrid(request));
+        } catch (MortgageAndInterestRatesException e) {
+            log.info("Sensitivity grid request rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new SensitivityGridResponse(0, null, null, null, null, null, e.getMessage()));
+        }
+    }
+}
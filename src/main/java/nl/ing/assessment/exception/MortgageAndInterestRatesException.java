@@ -1,7 +1,25 @@
 package nl.ing.assessment.exception;
 
+import nl.ing.assessment.validate.MortgageRejectionReason;
+
 public class MortgageAndInterestRatesException extends Exception {
+
+    private final MortgageRejectionReason rejectionReason;
+
     public MortgageAndInterestRatesException(String message) {
         super(message);
+        this.rejectionReason = null;
+    }
+
+    public MortgageAndInterestRatesException(MortgageRejectionReason rejectionReason) {
+        super(rejectionReason.getMessage());
+        this.rejectionReason = rejectionReason;
+    }
+
+    /**
+     * @return The reason a mortgage is not feasible, or null when the exception is not a mortgage rejection
+     */
+    public MortgageRejectionReason getRejectionReason() {
+        return rejectionReason;
     }
 }
@@ -0,0 +1,49 @@
+package nl.ing.assessment.interest.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+
+/**
+ * Change of the interest rate of a maturity period, effective from a moment until the next change of the period.
+ * A change without a rate withdraws the maturity period from the rate table.
+ */
+@Entity
+@Table(name = "interest_rate_history", indexes = {
+        @Index(name = "idx_interest_rate_history_period", columnList = "maturity_period, effective_from, rate"),
+        @Index(name = "idx_interest_rate_history_effective_from", columnList = "effective_from")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class InterestRateHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "maturity_period", nullable = false)
+    private int maturityPeriod;
+
+    @Column(name = "rate", precision = 9, scale = 4)
+    private BigDecimal rate;
+
+    @Column(name = "effective_from", nullable = false)
+    private Timestamp effectiveFrom;
+
+    public InterestRateHistory(int maturityPeriod, BigDecimal rate, Timestamp effectiveFrom) {
+        this.maturityPeriod = maturityPeriod;
+        this.rate = rate;
+        this.effectiveFrom = effectiveFrom;
+    }
+}
@@ -0,0 +1,188 @@
+package nl.ing.assessment.interest.model;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.math.RoundingMode;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Immutable, versioned view of the interest rate table, indexed by maturity period for constant time lookups.
+ * A new snapshot is built for every change of the rate table and replaces the previous one as a whole. The rates of
+ * maturity periods between the configured ones are taken from the yield curve of the snapshot.
+ */
+public final class InterestRateSnapshot {
+
+    /**
+     * Scale of interpolated interest rates
+     */
+    public static final int INTERPOLATED_RATE_SCALE = 4;
+
+    private final long version;
+
+    private final Timestamp lastUpdate;
+
+    private final List<InterestRate> interestRates;
+
+    private final YieldCurve yieldCurve;
+
+    private final BigDecimal[] interestRatesByMaturityPeriod;
+
+    private InterestRateSnapshot(long version, Timestamp lastUpdate, List<InterestRate> interestRates, YieldCurve yieldCurve,
+                                 BigDecimal[] interestRatesByMaturityPeriod) {
+        this.version = version;
+        this.lastUpdate = lastUpdate;
+        this.interestRates = interestRates;
+        this.yieldCurve = yieldCurve;
+        this.interestRatesByMaturityPeriod = interestRatesByMaturityPeriod;
+    }
+
+    /**
+     * Create an unversioned snapshot of a list of interest rates
+     *
+     * @param interestRates  Interest rates
+     * @return Interest rate snapshot
+     */
+    public static InterestRateSnapshot of(List<InterestRate> interestRates) {
+        return of(0, new Timestamp(System.currentTimeMillis()), interestRates);
+    }
+
+    /**
+     * Create a snapshot of a list of interest rates without interpolation
+     *
+     * @param version        Version of the rate table
+     * @param lastUpdate     Moment the rate table was loaded
+     * @param interestRates  Interest rates
+     * @return Interest rate snapshot
+     */
+    public static InterestRateSnapshot of(long version, Timestamp lastUpdate, List<InterestRate> interestRates) {
+        return of(version, lastUpdate, interestRates, YieldCurve.Interpolation.NONE);
+    }
+
+    /**
+     * Create a snapshot of a list of interest rates, precomputing the rate of every maturity period up to the longest
+     * configured one from its yield curve
+     *
+     * @param version        Version of the rate table
+     * @param lastUpdate     Moment the rate table was loaded
+     * @param interestRates  Interest rates
+     * @param interpolation  Interpolation between the configured maturity periods
+     * @return Interest rate snapshot
+     */
+    public static InterestRateSnapshot of(long version, Timestamp lastUpdate, List<InterestRate> interestRates,
+                                          YieldCurve.Interpolation interpolation) {
+        YieldCurve yieldCurve = YieldCurve.of(interestRates, interpolation);
+        BigDecimal[] interestRatesByMaturityPeriod = new BigDecimal[yieldCurve.getMaxMaturityPeriod() + 1];
+        for (InterestRate interestRate : interestRates) {
+            if (interestRate.maturityPeriod() > 0) {
+                interestRatesByMaturityPeriod[interestRate.maturityPeriod()] = interestRate.interestRate();
+            }
+        }
+        for (int maturityPeriod = 1; maturityPeriod < interestRatesByMaturityPeriod.length; maturityPeriod++) {
+            double rate = yieldCurve.rate(maturityPeriod);
+            if (interestRatesByMaturityPeriod[maturityPeriod] == null && !Double.isNaN(rate)) {
+                interestRatesByMaturityPeriod[maturityPeriod] = BigDecimal.valueOf(rate).setScale(INTERPOLATED_RATE_SCALE, RoundingMode.HALF_UP);
+            }
+        }
+        return new InterestRateSnapshot(version, lastUpdate, List.copyOf(interestRates), yieldCurve, interestRatesByMaturityPeriod);
+    }
+
+    /**
+     * Get the version of the rate table, increasing with every reload
+     *
+     * @return Version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Get the moment the rate table was loaded
+     *
+     * @return Last update
+     */
+    public Timestamp getLastUpdate() {
+        return lastUpdate;
+    }
+
+    /**
+     * Get all interest rates of the snapshot
+     *
+     * @return List of interest rates
+     */
+    public List<InterestRate> getInterestRates() {
+        return interestRates;
+    }
+
+    /**
+     * Get the yield curve the rates of maturity periods between the configured ones are taken from
+     *
+     * @return Yield curve
+     */
+    public YieldCurve getYieldCurve() {
+        return yieldCurve;
+    }
+
+    /**
+     * Get the configured and interpolated interest rates of every maturity period that has a rate
+     *
+     * @return Interest rates ordered by maturity period
+     */
+    public List<InterestRate> getCurveInterestRates() {
+        List<InterestRate> curveInterestRates = new ArrayList<>();
+        for (int maturityPeriod = 1; maturityPeriod < interestRatesByMaturityPeriod.length; maturityPeriod++) {
+            if (interestRatesByMaturityPeriod[maturityPeriod] != null) {
+                curveInterestRates.add(new InterestRate(maturityPeriod, interestRatesByMaturityPeriod[maturityPeriod], lastUpdate));
+            }
+        }
+        return curveInterestRates;
+    }
+
+    /**
+     * Get a fingerprint of the rates mortgages are checked with: the interpolation and the configured and interpolated
+     * rate of every maturity period. Unlike the version, which restarts with every start of the application, equal
+     * fingerprints mean equal rates.
+     *
+     * @return Hexadecimal SHA-256 digest of the rates
+     */
+    public String getRatesFingerprint() {
+        StringBuilder rates = new StringBuilder(yieldCurve.getInterpolation().name());
+        for (int maturityPeriod = 1; maturityPeriod < interestRatesByMaturityPeriod.length; maturityPeriod++) {
+            if (interestRatesByMaturityPeriod[maturityPeriod] != null) {
+                rates.append(';').append(maturityPeriod).append('=')
+                        .append(interestRatesByMaturityPeriod[maturityPeriod].stripTrailingZeros().toPlainString());
+            }
+        }
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(rates.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Check whether the rate of a maturity period is interpolated rather than configured
+     *
+     * @param maturityPeriod  Maturity period
+     * @return Whether the snapshot has an interpolated rate for the maturity period
+     */
+    public boolean isInterpolated(int maturityPeriod) {
+        return findInterestRate(maturityPeriod) != null && !yieldCurve.isConfigured(maturityPeriod);
+    }
+
+    /**
+     * Find the interest rate for a maturity period, configured or interpolated
+     *
+     * @param maturityPeriod  Maturity period
+     * @return Interest rate, or null when the snapshot has no rate for the maturity period
+     */
+    public BigDecimal findInterestRate(int maturityPeriod) {
+        return maturityPeriod > 0 && maturityPeriod < interestRatesByMaturityPeriod.length
+                ? interestRatesByMaturityPeriod[maturityPeriod]
+                : null;
+    }
+}
@@ -0,0 +1,149 @@
+package nl.ing.assessment.interest.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Interest rate curve over the maturity periods of a rate table, kept as sorted primitive arrays of its knots. Rates
+ * between two configured maturity periods are interpolated linearly or with a monotone cubic spline, which is smooth
+ * and never overshoots the configured rates. Maturity periods below the shortest configured one get its rate, those
+ * above the longest configured one have no rate.
+ */
+public final class YieldCurve {
+
+    /**
+     * How rates between configured maturity periods are derived
+     */
+    public enum Interpolation {
+        /**
+         * Only the configured maturity periods have a rate
+         */
+        NONE,
+        /**
+         * Straight line between neighbouring configured rates
+         */
+        LINEAR,
+        /**
+         * Monotone cubic Hermite spline (Fritsch-Butland slopes) through the configured rates
+         */
+        MONOTONE_SPLINE
+    }
+
+    private final Interpolation interpolation;
+
+    private final int[] maturityPeriods;
+
+    private final double[] rates;
+
+    private final double[] slopes;
+
+    private YieldCurve(Interpolation interpolation, int[] maturityPeriods, double[] rates, double[] slopes) {
+        this.interpolation = interpolation;
+        this.maturityPeriods = maturityPeriods;
+        this.rates = rates;
+        this.slopes = slopes;
+    }
+
+    /**
+     * Build the curve of a rate table
+     *
+     * @param interestRates  Interest rates, one per maturity period
+     * @param interpolation  Interpolation between the configured maturity periods
+     * @return Yield curve
+     */
+    public static YieldCurve of(List<InterestRate> interestRates, Interpolation interpolation) {
+        InterestRate[] sorted = interestRates.stream()
+                .filter(interestRate -> interestRate.maturityPeriod() > 0)
+                .sorted((a, b) -> Integer.compare(a.maturityPeriod(), b.maturityPeriod()))
+                .toArray(InterestRate[]::new);
+        int[] maturityPeriods = new int[sorted.length];
+        double[] rates = new double[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            maturityPeriods[i] = sorted[i].maturityPeriod();
+            rates[i] = sorted[i].interestRate().doubleValue();
+        }
+        double[] slopes = interpolation == Interpolation.MONOTONE_SPLINE ? slopes(maturityPeriods, rates) : null;
+        return new YieldCurve(interpolation, maturityPeriods, rates, slopes);
+    }
+
+    /**
+     * Slopes at the knots that keep the cubic Hermite spline monotone between them: zero at a local extreme,
+     * otherwise the weighted harmonic mean of the neighbouring secants, and the secant at both ends
+     */
+    private static double[] slopes(int[] maturityPeriods, double[] rates) {
+        int n = maturityPeriods.length;
+        double[] slopes = new double[n];
+        if (n < 2) {
+            return slopes;
+        }
+        double[] secants = new double[n - 1];
+        for (int i = 0; i < n - 1; i++) {
+            secants[i] = (rates[i + 1] - rates[i]) / (maturityPeriods[i + 1] - maturityPeriods[i]);
+        }
+        slopes[0] = secants[0];
+        slopes[n - 1] = secants[n - 2];
+        for (int i = 1; i < n - 1; i++) {
+            if (secants[i - 1] * secants[i] <= 0) {
+                slopes[i] = 0;
+            } else {
+                double h0 = maturityPeriods[i] - maturityPeriods[i - 1];
+                double h1 = maturityPeriods[i + 1] - maturityPeriods[i];
+                slopes[i] = 3 * (h0 + h1) / ((2 * h1 + h0) / secants[i - 1] + (h1 + 2 * h0) / secants[i]);
+            }
+        }
+        return slopes;
+    }
+
+    public Interpolation getInterpolation() {
+        return interpolation;
+    }
+
+    /**
+     * @return Longest configured maturity period, 0 for an empty curve
+     */
+    public int getMaxMaturityPeriod() {
+        return maturityPeriods.length == 0 ? 0 : maturityPeriods[maturityPeriods.length - 1];
+    }
+
+    /**
+     * Check whether a maturity period has a configured rate
+     *
+     * @param maturityPeriod  Maturity period
+     * @return Whether the rate of the maturity period is configured rather than interpolated
+     */
+    public boolean isConfigured(int maturityPeriod) {
+        return Arrays.binarySearch(maturityPeriods, maturityPeriod) >= 0;
+    }
+
+    /**
+     * Get the rate of a maturity period, found by binary search over the configured maturity periods
+     *
+     * @param maturityPeriod  Maturity period in years
+     * @return Annual interest rate percentage, or NaN when the curve has no rate for the maturity period
+     */
+    public double rate(int maturityPeriod) {
+        int index = Arrays.binarySearch(maturityPeriods, maturityPeriod);
+        if (index >= 0) {
+            return rates[index];
+        }
+        int upper = -index - 1;
+        if (maturityPeriod < 1 || upper == maturityPeriods.length || interpolation == Interpolation.NONE) {
+            return Double.NaN;
+        }
+        if (upper == 0) {
+            return rates[0];
+        }
+        int lower = upper - 1;
+        double h = maturityPeriods[upper] - maturityPeriods[lower];
+        double t = (maturityPeriod - maturityPeriods[lower]) / h;
+        if (interpolation == Interpolation.LINEAR) {
+            return rates[lower] + t * (rates[upper] - rates[lower]);
+        }
+        double t2 = t * t;
+        double t3 = t2 * t;
+        return (2 * t3 - 3 * t2 + 1) * rates[lower]
+                + (t3 - 2 * t2 + t) * h * slopes[lower]
+                + (-2 * t3 + 3 * t2) * rates[upper]
+                + (t3 - t2) * h * slopes[upper];
+    }
+}
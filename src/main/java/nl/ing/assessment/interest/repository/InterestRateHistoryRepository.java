@@ -0,0 +1,33 @@
+package nl.ing.assessment.interest.repository;
+
+import nl.ing.assessment.interest.entity.InterestRateHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+public interface InterestRateHistoryRepository extends JpaRepository<InterestRateHistory, Long> {
+
+    /**
+     * Find the latest change of every maturity period, including withdrawn periods
+     *
+     * @return Latest changes ordered by maturity period
+     */
+    @Query("select h from InterestRateHistory h where h.id = "
+            + "(select max(l.id) from InterestRateHistory l where l.maturityPeriod = h.maturityPeriod) "
+            + "order by h.maturityPeriod")
+    List<InterestRateHistory> findLatestChanges();
+
+    /**
+     * Find the change of every maturity period that was effective at a moment, including withdrawn periods
+     *
+     * @param asOf  Moment
+     * @return Effective changes ordered by maturity period
+     */
+    @Query("select h from InterestRateHistory h where h.id = "
+            + "(select max(l.id) from InterestRateHistory l where l.maturityPeriod = h.maturityPeriod and l.effectiveFrom <= :asOf) "
+            + "order by h.maturityPeriod")
+    List<InterestRateHistory> findChangesEffectiveAt(@Param("asOf") Timestamp asOf);
+}
@@ -0,0 +1,18 @@
+package nl.ing.assessment.interest.response;
+
+import nl.ing.assessment.cluster.ClusterRole;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Convergence of the cluster on the rate table published by its leader. The lag of a node that applied the rate table
+ * is the time it took to apply it, the lag of a node that did not is the time since it was published.
+ */
+public record ClusterConvergenceResponse(long version, Instant publishedAt, String leaderId, boolean converged, long lagMillis,
+                                         List<NodeConvergence> nodes, String error) {
+
+    public record NodeConvergence(String nodeId, ClusterRole role, long rateVersion, long versionsBehind, long lagMillis,
+                                  Instant heartbeatAt, boolean live) {
+    }
+}
@@ -0,0 +1,154 @@
+package nl.ing.assessment.interest.response;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl.ing.assessment.interest.model.InterestRate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The interest rates of a rate table serialized once to JSON and gzip compressed JSON, with strong entity tags of both
+ * representations derived from the rate table version and the JSON content.
+ */
+public final class InterestRatesPayload {
+
+    private static final String GZIP = "gzip";
+
+    private final long version;
+
+    private final byte[] json;
+
+    private final byte[] gzip;
+
+    private final String eTag;
+
+    private final String gzipETag;
+
+    private InterestRatesPayload(long version, byte[] json, byte[] gzip, String eTag, String gzipETag) {
+        this.version = version;
+        this.json = json;
+        this.gzip = gzip;
+        this.eTag = eTag;
+        this.gzipETag = gzipETag;
+    }
+
+    /**
+     * Serialize the interest rates of a rate table
+     *
+     * @param version        Version of the rate table
+     * @param interestRates  Interest rates
+     * @param objectMapper   Object mapper the interest rates are serialized with
+     * @return Interest rates payload
+     */
+    public static InterestRatesPayload of(long version, List<InterestRate> interestRates, ObjectMapper objectMapper) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(interestRates);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Interest rates cannot be serialized: " + e.getOriginalMessage(), e);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(json);
+        // The version alone repeats after a restart, the checksum keeps the tag strong for different content
+        String tag = version + "-" + Long.toHexString(crc.getValue());
+        return new InterestRatesPayload(version, json, compress(json), '"' + tag + '"', '"' + tag + '-' + GZIP + '"');
+    }
+
+    private static byte[] compress(byte[] json) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(json.length / 2 + 32);
+        try (GZIPOutputStream gzipOutput = new GZIPOutputStream(output)) {
+            gzipOutput.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * @return Version of the rate table
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Get the JSON or gzip compressed JSON representation. The returned array is shared and must not be modified.
+     *
+     * @param gzipped  Whether the gzip compressed representation is requested
+     * @return Serialized interest rates
+     */
+    public byte[] getBody(boolean gzipped) {
+        return gzipped ? gzip : json;
+    }
+
+    /**
+     * @param gzipped  Whether the gzip compressed representation is requested
+     * @return Quoted strong entity tag of the representation
+     */
+    public String getETag(boolean gzipped) {
+        return gzipped ? gzipETag : eTag;
+    }
+
+    /**
+     * Check whether an If-None-Match header matches the representation the request is answered with, using the weak
+     * comparison the header requires
+     *
+     * @param ifNoneMatch  If-None-Match header value, may be null
+     * @param gzipped      Whether the request is answered with the gzip compressed representation
+     * @return Whether the client already has the interest rates
+     */
+    public boolean isNotModified(String ifNoneMatch, boolean gzipped) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(getETag(gzipped))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check whether an Accept-Encoding header accepts gzip
+     *
+     * @param acceptEncoding  Accept-Encoding header value, may be null
+     * @return Whether the gzip compressed representation can be sent
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            String name = parameters[0].trim();
+            if (name.equalsIgnoreCase(GZIP) || name.equalsIgnoreCase("x-gzip")) {
+                for (int i = 1; i < parameters.length; i++) {
+                    String parameter = parameters[i].trim().replace(" ", "");
+                    if (parameter.startsWith("q=") && isZero(parameter.substring(2))) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isZero(String quality) {
+        try {
+            return Double.parseDouble(quality) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
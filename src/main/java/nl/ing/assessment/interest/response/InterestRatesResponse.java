@@ -0,0 +1,9 @@
+package nl.ing.assessment.interest.response;
+
+import nl.ing.assessment.interest.model.InterestRate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+public record InterestRatesResponse(long version, Timestamp lastUpdate, List<InterestRate> interestRates, String error) {
+}
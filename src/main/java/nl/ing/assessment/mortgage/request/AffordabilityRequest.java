@@ -0,0 +1,9 @@
+package nl.ing.assessment.mortgage.request;
+
+import java.math.BigDecimal;
+
+/**
+ * The question how much can be borrowed for a home with a monthly budget
+ */
+public record AffordabilityRequest(BigDecimal income, BigDecimal homeValue, BigDecimal monthlyBudget) {
+}
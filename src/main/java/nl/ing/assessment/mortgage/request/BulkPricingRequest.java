@@ -0,0 +1,7 @@
+package nl.ing.assessment.mortgage.request;
+
+/**
+ * Columnar mortgage requests: the values of mortgage i are found at index i of every array
+ */
+public record BulkPricingRequest(double[] incomes, int[] maturityPeriods, double[] loanValues, double[] homeValues) {
+}
@@ -0,0 +1,7 @@
+package nl.ing.assessment.mortgage.request;
+
+/**
+ * Loan values and a range of rate shocks in basis points; a missing shock bound or step takes the configured default
+ */
+public record SensitivityGridRequest(double[] loanValues, Integer fromBasisPoints, Integer toBasisPoints, Integer stepBasisPoints) {
+}
@@ -0,0 +1,22 @@
+package nl.ing.assessment.mortgage.response;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * The maximum loan for every maturity period of the rate table, and the best of those options: the highest loan,
+ * and of equal loans the one with the lowest total cost
+ */
+public record AffordabilityResponse(long rateVersion, List<AffordabilityOption> options, AffordabilityOption bestOption, String error) {
+
+    /**
+     * The maximum loan for a maturity period and the limit that determines it
+     */
+    public record AffordabilityOption(int maturityPeriod, BigDecimal interestRate, BigDecimal maxLoanValue,
+                                      BigDecimal monthlyCost, BigDecimal totalCost, AffordabilityLimit limitedBy) {
+    }
+
+    public enum AffordabilityLimit {
+        MONTHLY_BUDGET, INCOME, HOME_VALUE
+    }
+}
@@ -0,0 +1,12 @@
+package nl.ing.assessment.mortgage.response;
+
+/**
+ * Columnar mortgage responses in the order of the request. A rejection code of 0 means feasible, any other code
+ * is the code of the first failed rule.
+ */
+public record BulkPricingResponse(long rateVersion, double[] monthlyCosts, int[] rejectionCodes,
+                                  BulkPricingVerification verification, String error) {
+
+    public record BulkPricingVerification(int sampled, int mismatches, double maxDeviation, int[] mismatchIndices) {
+    }
+}
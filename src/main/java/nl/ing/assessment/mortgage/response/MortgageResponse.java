@@ -1,6 +1,34 @@
 package nl.ing.assessment.mortgage.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import nl.ing.assessment.validate.MortgageRejectionReason;
+
 import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Outcome of a mortgage check. A check that is not feasible lists every violated rule, and its error is the
+ * message of the first one. A monthly cost based on an interest rate interpolated from the yield curve is flagged
+ * as interpolatedRate.
+ */
+public record MortgageResponse(boolean feasible, BigDecimal monthlyCost, String error,
+                               @JsonInclude(JsonInclude.Include.NON_NULL) Long rateVersion,
+                               @JsonInclude(JsonInclude.Include.NON_EMPTY) List<MortgageRejectionReason> violations,
+                               @JsonInclude(JsonInclude.Include.NON_DEFAULT) boolean interpolatedRate) {
+
+    /**
+     * Response of a check that did not use the interest rates
+     */
+    public MortgageResponse(boolean feasible, BigDecimal monthlyCost, String error) {
+        this(feasible, monthlyCost, error, null);
+    }
+
+    public MortgageResponse(boolean feasible, BigDecimal monthlyCost, String error, Long rateVersion) {
+        this(feasible, monthlyCost, error, rateVersion, List.of());
+    }
 
-public record MortgageResponse(boolean feasible, BigDecimal monthlyCost, String error) {
+    public MortgageResponse(boolean feasible, BigDecimal monthlyCost, String error, Long rateVersion,
+                            List<MortgageRejectionReason> violations) {
+        this(feasible, monthlyCost, error, rateVersion, violations, false);
+    }
 }
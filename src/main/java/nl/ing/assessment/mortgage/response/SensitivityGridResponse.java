@@ -0,0 +1,10 @@
+package nl.ing.assessment.mortgage.response;
+
+/**
+ * Monthly costs of every (rate shock, maturity period, loan value) combination as one row-major matrix: the cost of
+ * shock d, maturity period m and loan value l is found at monthlyCosts[(d * maturityPeriods.length + m) * loanValues.length + l].
+ * The shocked rate of shock d and maturity period m is found at interestRates[d * maturityPeriods.length + m].
+ */
+public record SensitivityGridResponse(long rateVersion, int[] rateShocks, int[] maturityPeriods, double[] loanValues,
+                                      double[] interestRates, double[] monthlyCosts, String error) {
+}
@@ -0,0 +1,153 @@
+package nl.ing.assessment.portfolio;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Append-only record of the chunks of a portfolio job that are completely written, with the row counts of every
+ * chunk. The first line identifies the input file and chunk layout; a checkpoint of a different input or layout is
+ * discarded. A last line without line feed, torn by a crash while it was written, is ignored and cut off.
+ */
+@Slf4j
+final class PortfolioCheckpoint implements Closeable {
+
+    private final Path file;
+
+    private final Map<Integer, ChunkCounts> completed;
+
+    private final FileChannel channel;
+
+    private PortfolioCheckpoint(Path file, Map<Integer, ChunkCounts> completed, FileChannel channel) {
+        this.file = file;
+        this.completed = completed;
+        this.channel = channel;
+    }
+
+    /**
+     * Row counts of a completed chunk
+     */
+    record ChunkCounts(long rows, long feasible, long rejected, long unreadable) {
+    }
+
+    /**
+     * Open the checkpoint of a job, resuming it when it was written for the same input and chunk layout
+     *
+     * @param file         Checkpoint file
+     * @param fingerprint  Identification of the input file and chunk layout
+     * @return Checkpoint
+     * @throws IOException when the checkpoint cannot be read or written
+     */
+    static PortfolioCheckpoint open(Path file, String fingerprint) throws IOException {
+        Map<Integer, ChunkCounts> completed = new HashMap<>();
+        if (Files.exists(file)) {
+            byte[] content = Files.readAllBytes(file);
+            int length = completeLinesLength(content);
+            String[] lines = new String(content, 0, length, StandardCharsets.US_ASCII).split("\n");
+            if (length > 0 && lines[0].equals(fingerprint) && readChunks(lines, completed)) {
+                log.info("Resuming portfolio job with {} completed chunks", completed.size());
+                FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE);
+                // Appending after a torn line would merge it with the next one
+                channel.truncate(length);
+                channel.position(length);
+                return new PortfolioCheckpoint(file, completed, channel);
+            }
+            completed.clear();
+            log.info("Discarding checkpoint of another portfolio job: {}", file);
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        PortfolioCheckpoint checkpoint = new PortfolioCheckpoint(file, completed, channel);
+        checkpoint.append(fingerprint);
+        return checkpoint;
+    }
+
+    private static int completeLinesLength(byte[] content) {
+        int length = content.length;
+        while (length > 0 && content[length - 1] != '\n') {
+            length--;
+        }
+        return length;
+    }
+
+    /**
+     * Read the chunk,rows,feasible,rejected,unreadable lines after the fingerprint
+     *
+     * @return Whether every line could be read
+     */
+    private static boolean readChunks(String[] lines, Map<Integer, ChunkCounts> completed) {
+        for (int i = 1; i < lines.length; i++) {
+            String[] fields = lines[i].split(",");
+            if (fields.length != 5) {
+                return false;
+            }
+            try {
+                completed.put(Integer.parseInt(fields[0]), new ChunkCounts(Long.parseLong(fields[1]), Long.parseLong(fields[2]),
+                        Long.parseLong(fields[3]), Long.parseLong(fields[4])));
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param chunk  Chunk index
+     * @return Whether the chunk was completed by this or an earlier run
+     */
+    synchronized boolean isCompleted(int chunk) {
+        return completed.containsKey(chunk);
+    }
+
+    /**
+     * @param chunk  Chunk index
+     * @return Row counts of the chunk, null when it is not completed
+     */
+    synchronized ChunkCounts getCounts(int chunk) {
+        return completed.get(chunk);
+    }
+
+    /**
+     * Durably record a completed chunk
+     *
+     * @param chunk   Chunk index
+     * @param counts  Row counts of the chunk
+     * @throws IOException when the checkpoint cannot be written
+     */
+    synchronized void complete(int chunk, ChunkCounts counts) throws IOException {
+        append(chunk + "," + counts.rows() + "," + counts.feasible() + "," + counts.rejected() + "," + counts.unreadable());
+        completed.put(chunk, counts);
+    }
+
+    private void append(String line) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap((line + '\n').getBytes(StandardCharsets.US_ASCII));
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        channel.force(false);
+    }
+
+    /**
+     * Close and remove the checkpoint once the job is done
+     *
+     * @throws IOException when the checkpoint cannot be removed
+     */
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(file);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,166 @@
+package nl.ing.assessment.portfolio;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Parses and writes portfolio CSV rows directly on bytes. Amounts are parsed into an unscaled long and a scale,
+ * so no String is created for a field.
+ */
+final class PortfolioCsv {
+
+    static final int INCOME = 0;
+
+    static final int MATURITY_PERIOD = 1;
+
+    static final int LOAN_VALUE = 2;
+
+    static final int HOME_VALUE = 3;
+
+    static final int FIELDS = 4;
+
+    static final byte[] OUTPUT_HEADER = "income,maturityPeriod,loanValue,homeValue,feasible,monthlyCost,rejectionCode\n".getBytes();
+
+    /**
+     * Rejection code of a row that cannot be parsed
+     */
+    static final int UNREADABLE = -1;
+
+    private PortfolioCsv() {
+    }
+
+    /**
+     * Find the end of the line starting at a position
+     *
+     * @return Position of the line feed, or the limit when the last line has none
+     */
+    static int lineEnd(ByteBuffer buffer, int position) {
+        int limit = buffer.limit();
+        while (position < limit && buffer.get(position) != '\n') {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * Whether a line is a header rather than a mortgage, which is when it does not start like a number
+     */
+    static boolean isHeader(ByteBuffer buffer, int start, int end) {
+        if (start >= end) {
+            return false;
+        }
+        byte first = buffer.get(start);
+        return first != '-' && first != '.' && (first < '0' || first > '9');
+    }
+
+    /**
+     * Parse the four fields of a row. An empty field has a scale of -1.
+     *
+     * @param buffer    Buffer holding the row
+     * @param start     Position of the first byte of the row
+     * @param end       Position after the last byte of the row, excluding the line end
+     * @param unscaled  Receives the unscaled value of every field
+     * @param scales    Receives the scale of every field
+     * @return false when the row does not have four numeric fields
+     */
+    static boolean parseRow(ByteBuffer buffer, int start, int end, long[] unscaled, int[] scales) {
+        int position = start;
+        for (int field = 0; field < FIELDS; field++) {
+            int fieldEnd = position;
+            while (fieldEnd < end && buffer.get(fieldEnd) != ',') {
+                fieldEnd++;
+            }
+            if (!parseDecimal(buffer, position, fieldEnd, unscaled, scales, field)) {
+                return false;
+            }
+            if (field < FIELDS - 1) {
+                if (fieldEnd == end) {
+                    return false;
+                }
+                position = fieldEnd + 1;
+            } else if (fieldEnd != end) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean parseDecimal(ByteBuffer buffer, int start, int end, long[] unscaled, int[] scales, int field) {
+        while (start < end && buffer.get(start) == ' ') {
+            start++;
+        }
+        while (end > start && buffer.get(end - 1) == ' ') {
+            end--;
+        }
+        if (start == end) {
+            unscaled[field] = 0;
+            scales[field] = -1;
+            return true;
+        }
+        boolean negative = buffer.get(start) == '-';
+        if (negative || buffer.get(start) == '+') {
+            start++;
+        }
+        long value = 0;
+        int scale = 0;
+        boolean fraction = false;
+        boolean digits = false;
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b == '.' && !fraction) {
+                fraction = true;
+            } else if (b >= '0' && b <= '9') {
+                int digit = b - '0';
+                if (value > (Long.MAX_VALUE - digit) / 10) {
+                    return false;
+                }
+                value = value * 10 + digit;
+                digits = true;
+                if (fraction) {
+                    scale++;
+                }
+            } else {
+                return false;
+            }
+        }
+        unscaled[field] = negative ? -value : value;
+        scales[field] = scale;
+        return digits;
+    }
+
+    /**
+     * Write a number of cents as a decimal with two fraction digits
+     *
+     * @param cents   Amount in cents
+     * @param output  Output line
+     * @param offset  Position the amount is written at
+     * @return Position after the amount
+     */
+    static int writeCents(long cents, byte[] output, int offset) {
+        if (cents < 0) {
+            output[offset++] = '-';
+            cents = -cents;
+        }
+        offset = writeLong(cents / 100, output, offset);
+        output[offset++] = '.';
+        output[offset++] = (byte) ('0' + (cents % 100) / 10);
+        output[offset++] = (byte) ('0' + cents % 10);
+        return offset;
+    }
+
+    /**
+     * Write a non-negative number
+     *
+     * @return Position after the number
+     */
+    static int writeLong(long value, byte[] output, int offset) {
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            output[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return offset + digits;
+    }
+}
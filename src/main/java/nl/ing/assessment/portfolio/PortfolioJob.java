@@ -0,0 +1,423 @@
+package nl.ing.assessment.portfolio;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import nl.ing.assessment.config.PortfolioJobProperties;
+import nl.ing.assessment.interest.model.InterestRateSnapshot;
+import nl.ing.assessment.mortgage.request.MortgageRequest;
+import nl.ing.assessment.mortgage.response.MortgageResponse;
+import nl.ing.assessment.service.MortgageAndInterestRatesService;
+import nl.ing.assessment.util.MortgageAndInterestRatesUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Re-evaluates a portfolio CSV file against the current rate table. The input is split into chunks at line
+ * boundaries, every chunk is memory-mapped and parsed on bytes by its own worker, and its results are written to a
+ * part file. Completed chunks are checkpointed, so an interrupted job resumes with the chunks it did not finish. The
+ * parts are joined into the output file in input order once every chunk is done.
+ */
+@Component
+@NoArgsConstructor
+@Slf4j
+public class PortfolioJob {
+
+    private static final byte[] FEASIBLE = ",true,".getBytes();
+
+    private static final byte[] NOT_FEASIBLE = ",false,".getBytes();
+
+    private static final int MAX_CHUNK_SIZE = Integer.MAX_VALUE - 1024 * 1024;
+
+    private static final int PROGRESS_ROWS = 8192;
+
+    @Autowired
+    private PortfolioJobProperties portfolioJobProperties;
+
+    @Autowired
+    private MortgageAndInterestRatesService mortgageAndInterestRatesService;
+
+    @Autowired
+    private MortgageAndInterestRatesUtil mortgageAndInterestRatesUtil;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Counter feasibleCounter;
+
+    private Counter rejectedCounter;
+
+    private Counter unreadableCounter;
+
+    private final AtomicLong processedBytes = new AtomicLong();
+
+    private final AtomicLong processedRows = new AtomicLong();
+
+    private volatile long totalBytes;
+
+    private volatile long startNanos;
+
+    /**
+     * Register the progress and throughput meters of portfolio jobs
+     */
+    @PostConstruct
+    public void registerMeters() {
+        feasibleCounter = rowCounter("feasible");
+        rejectedCounter = rowCounter("rejected");
+        unreadableCounter = rowCounter("unreadable");
+        Gauge.builder("mortgage.portfolio.progress", this, PortfolioJob::getProgress)
+                .description("Fraction of the input of the current portfolio job that is evaluated")
+                .register(meterRegistry);
+        Gauge.builder("mortgage.portfolio.throughput", this, PortfolioJob::getThroughput)
+                .description("Rows per second evaluated by the current portfolio job")
+                .baseUnit("rows")
+                .register(meterRegistry);
+    }
+
+    private Counter rowCounter(String result) {
+        return Counter.builder("mortgage.portfolio.rows")
+                .description("Portfolio rows evaluated by portfolio jobs")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return Fraction of the input of the current or last job that is evaluated
+     */
+    public double getProgress() {
+        long total = totalBytes;
+        return total == 0 ? 0 : (double) processedBytes.get() / total;
+    }
+
+    /**
+     * @return Rows per second evaluated by the current or last job
+     */
+    public double getThroughput() {
+        long elapsed = System.nanoTime() - startNanos;
+        return startNanos == 0 || elapsed <= 0 ? 0 : processedRows.get() * 1e9 / elapsed;
+    }
+
+    /**
+     * Re-evaluate a portfolio
+     *
+     * @param input   CSV file with income,maturityPeriod,loanValue,homeValue rows and an optional header
+     * @param output  CSV file the rows are written to, followed by feasible,monthlyCost,rejectionCode
+     * @return Outcome of the job
+     * @throws IOException when the input cannot be read or the output cannot be written
+     * @throws InterruptedException when the job is interrupted; it resumes from its checkpoint when started again
+     */
+    public synchronized PortfolioJobResult run(Path input, Path output) throws IOException, InterruptedException {
+        long chunkSize = Math.min(Math.max(1, portfolioJobProperties.getChunkSize().toBytes()), MAX_CHUNK_SIZE);
+        Path parts = parts(output);
+        Files.createDirectories(parts);
+        InterestRateSnapshot snapshot = mortgageAndInterestRatesUtil.getInterestRateSnapshot();
+
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            long size = channel.size();
+            List<long[]> chunks = chunks(channel, size, chunkSize);
+            PortfolioCheckpoint checkpoint = PortfolioCheckpoint.open(checkpoint(output), fingerprint(input, chunkSize, snapshot));
+            log.info("Evaluating portfolio {} of {} bytes in {} chunks against interest rates version {}",
+                    input, size, chunks.size(), snapshot.getVersion());
+
+            totalBytes = size;
+            processedBytes.set(0);
+            processedRows.set(0);
+            startNanos = System.nanoTime();
+            ChunkResult total = evaluate(channel, chunks, parts, checkpoint, snapshot);
+
+            join(chunks.size(), parts, output);
+            checkpoint.delete();
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            log.info("Evaluated {} portfolio rows ({} feasible, {} rejected, {} unreadable) in {} ms, {} rows/s",
+                    total.rows, total.feasible, total.rejected, total.unreadable, elapsedMillis, Math.round(getThroughput()));
+            return new PortfolioJobResult(snapshot.getVersion(), chunks.size(), total.resumedChunks, total.rows,
+                    total.feasible, total.rejected, total.unreadable, elapsedMillis);
+        }
+    }
+
+    private ChunkResult evaluate(FileChannel channel, List<long[]> chunks, Path parts, PortfolioCheckpoint checkpoint,
+                                 InterestRateSnapshot snapshot) throws IOException, InterruptedException {
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, portfolioJobProperties.getParallelism()), runnable -> {
+            Thread thread = new Thread(runnable, "portfolio-job-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletionService<ChunkResult> completionService = new ExecutorCompletionService<>(executor);
+        ChunkResult total = new ChunkResult(-1);
+        try {
+            int submitted = 0;
+            for (int i = 0; i < chunks.size(); i++) {
+                long[] chunk = chunks.get(i);
+                if (checkpoint.isCompleted(i) && Files.exists(part(parts, i))) {
+                    processedBytes.addAndGet(chunk[1] - chunk[0]);
+                    total.add(checkpoint.getCounts(i));
+                    total.resumedChunks++;
+                    continue;
+                }
+                int index = i;
+                completionService.submit(() -> evaluateChunk(channel, index, chunk[0], chunk[1], part(parts, index), snapshot));
+                submitted++;
+            }
+
+            long interval = Math.max(1, portfolioJobProperties.getProgressInterval());
+            while (submitted > 0) {
+                Future<ChunkResult> completed = completionService.poll(interval, TimeUnit.SECONDS);
+                if (completed == null) {
+                    log.info("Portfolio job {}% done, {} rows/s", Math.round(getProgress() * 100), Math.round(getThroughput()));
+                    continue;
+                }
+                ChunkResult result = completed.get();
+                checkpoint.complete(result.chunk, result.counts());
+                total.add(result.counts());
+                submitted--;
+            }
+            return total;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException ioException
+                    ? ioException
+                    : new IOException("Portfolio chunk evaluation failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+            checkpoint.close();
+        }
+    }
+
+    /**
+     * Split the input in chunks of about the chunk size, each ending after a line feed
+     *
+     * @return Start and end position of every chunk
+     */
+    private static List<long[]> chunks(FileChannel channel, long size, long chunkSize) throws IOException {
+        List<long[]> chunks = new ArrayList<>();
+        ByteBuffer scan = ByteBuffer.allocate(8192);
+        long start = 0;
+        while (start < size) {
+            long end = Math.min(start + chunkSize, size);
+            end = end < size ? nextLineStart(channel, end - 1, size, scan) : size;
+            chunks.add(new long[]{start, end});
+            start = end;
+        }
+        return chunks;
+    }
+
+    private static long nextLineStart(FileChannel channel, long position, long size, ByteBuffer scan) throws IOException {
+        while (position < size) {
+            scan.clear();
+            int read = channel.read(scan, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (scan.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private ChunkResult evaluateChunk(FileChannel channel, int index, long start, long end, Path part,
+                                      InterestRateSnapshot snapshot) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        ChunkResult result = new ChunkResult(index);
+        long[] unscaled = new long[PortfolioCsv.FIELDS];
+        int[] scales = new int[PortfolioCsv.FIELDS];
+        byte[] line = new byte[256];
+        Path temporary = part.resolveSibling(part.getFileName() + ".tmp");
+
+        int position = 0;
+        int reportedPosition = 0;
+        long reportedRows = 0;
+        try (FileChannel partChannel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+             OutputStream output = new BufferedOutputStream(Channels.newOutputStream(partChannel), 1 << 20)) {
+            int limit = buffer.limit();
+            while (position < limit) {
+                int lineEnd = PortfolioCsv.lineEnd(buffer, position);
+                int rowEnd = lineEnd > position && buffer.get(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+                if (rowEnd > position && !(start == 0 && position == 0 && PortfolioCsv.isHeader(buffer, position, rowEnd))) {
+                    int length = rowEnd - position;
+                    if (line.length < length + 64) {
+                        line = new byte[length + 64];
+                    }
+                    buffer.get(position, line, 0, length);
+                    int offset = PortfolioCsv.parseRow(buffer, position, rowEnd, unscaled, scales)
+                            ? writeEvaluation(unscaled, scales, snapshot, line, length, result)
+                            : writeUnreadable(line, length, result);
+                    line[offset++] = '\n';
+                    output.write(line, 0, offset);
+                }
+                position = lineEnd + 1;
+                if (result.rows - reportedRows >= PROGRESS_ROWS) {
+                    int reached = Math.min(position, limit);
+                    processedBytes.addAndGet(reached - reportedPosition);
+                    processedRows.addAndGet(result.rows - reportedRows);
+                    reportedPosition = reached;
+                    reportedRows = result.rows;
+                }
+            }
+            // The checkpoint marks the chunk done once it is moved into place, so the part must be on disk before
+            output.flush();
+            partChannel.force(true);
+        }
+        Files.move(temporary, part, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        processedBytes.addAndGet(end - start - reportedPosition);
+        processedRows.addAndGet(result.rows - reportedRows);
+        feasibleCounter.increment(result.feasible);
+        rejectedCounter.increment(result.rejected);
+        unreadableCounter.increment(result.unreadable);
+        return result;
+    }
+
+    private int writeEvaluation(long[] unscaled, int[] scales, InterestRateSnapshot snapshot, byte[] line, int offset, ChunkResult result) {
+        long maturityPeriod = unscaled[PortfolioCsv.MATURITY_PERIOD];
+        int maturityPeriodScale = scales[PortfolioCsv.MATURITY_PERIOD];
+        if (maturityPeriodScale > 0 || maturityPeriod > Integer.MAX_VALUE || maturityPeriod < Integer.MIN_VALUE) {
+            return writeUnreadable(line, offset, result);
+        }
+        MortgageRequest request = new MortgageRequest(amount(unscaled, scales, PortfolioCsv.INCOME),
+                maturityPeriodScale < 0 ? null : (int) maturityPeriod,
+                amount(unscaled, scales, PortfolioCsv.LOAN_VALUE), amount(unscaled, scales, PortfolioCsv.HOME_VALUE));
+        MortgageResponse response = mortgageAndInterestRatesService.evaluateMortgage(request, snapshot);
+
+        result.rows++;
+        byte[] outcome = response.feasible() ? FEASIBLE : NOT_FEASIBLE;
+        System.arraycopy(outcome, 0, line, offset, outcome.length);
+        offset = PortfolioCsv.writeCents(response.monthlyCost().setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue(), line, offset + outcome.length);
+        line[offset++] = ',';
+        if (response.feasible()) {
+            result.feasible++;
+            line[offset++] = '0';
+        } else {
+            result.rejected++;
+            offset = PortfolioCsv.writeLong(response.violations().get(0).getCode(), line, offset);
+        }
+        return offset;
+    }
+
+    private static int writeUnreadable(byte[] line, int offset, ChunkResult result) {
+        result.rows++;
+        result.unreadable++;
+        System.arraycopy(NOT_FEASIBLE, 0, line, offset, NOT_FEASIBLE.length);
+        offset = PortfolioCsv.writeCents(0, line, offset + NOT_FEASIBLE.length);
+        line[offset++] = ',';
+        line[offset++] = '-';
+        line[offset++] = '1';
+        return offset;
+    }
+
+    private static BigDecimal amount(long[] unscaled, int[] scales, int field) {
+        return scales[field] < 0 ? null : BigDecimal.valueOf(unscaled[field], scales[field]);
+    }
+
+    private static void join(int chunks, Path parts, Path output) throws IOException {
+        Path temporary = output.resolveSibling(output.getFileName() + ".tmp");
+        try (FileChannel target = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.wrap(PortfolioCsv.OUTPUT_HEADER);
+            while (header.hasRemaining()) {
+                target.write(header);
+            }
+            for (int i = 0; i < chunks; i++) {
+                try (FileChannel source = FileChannel.open(part(parts, i), StandardOpenOption.READ)) {
+                    long position = 0;
+                    long size = source.size();
+                    while (position < size) {
+                        position += source.transferTo(position, size - position, target);
+                    }
+                }
+            }
+            target.force(true);
+        }
+        Files.move(temporary, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        for (int i = 0; i < chunks; i++) {
+            Files.deleteIfExists(part(parts, i));
+        }
+        Files.deleteIfExists(parts);
+    }
+
+    static Path parts(Path output) {
+        return output.resolveSibling(output.getFileName() + ".parts");
+    }
+
+    /**
+     * Identification of an input file, its chunk layout and the rates it is evaluated with, telling whether a checkpoint
+     * belongs to a job. A job resumed after a rate change starts over, so its output never mixes two rate tables.
+     */
+    static String fingerprint(Path input, long chunkSize, InterestRateSnapshot snapshot) throws IOException {
+        return "input=" + Files.size(input) + ":" + Files.getLastModifiedTime(input).toMillis() + ":" + chunkSize
+                + ":rates=" + snapshot.getRatesFingerprint();
+    }
+
+    static Path checkpoint(Path output) {
+        return output.resolveSibling(output.getFileName() + ".checkpoint");
+    }
+
+    static Path part(Path parts, int chunk) {
+        return parts.resolve(String.format("part-%06d", chunk));
+    }
+
+    /**
+     * Row counts of a chunk, or of a whole job including the chunks resumed from its checkpoint
+     */
+    private static final class ChunkResult {
+
+        private final int chunk;
+
+        private long rows;
+
+        private long feasible;
+
+        private long rejected;
+
+        private long unreadable;
+
+        private int resumedChunks;
+
+        private ChunkResult(int chunk) {
+            this.chunk = chunk;
+        }
+
+        private PortfolioCheckpoint.ChunkCounts counts() {
+            return new PortfolioCheckpoint.ChunkCounts(rows, feasible, rejected, unreadable);
+        }
+
+        private void add(PortfolioCheckpoint.ChunkCounts counts) {
+            rows += counts.rows();
+            feasible += counts.feasible();
+            rejected += counts.rejected();
+            unreadable += counts.unreadable();
+        }
+    }
+}
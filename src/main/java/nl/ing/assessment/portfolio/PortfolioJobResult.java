@@ -0,0 +1,9 @@
+package nl.ing.assessment.portfolio;
+
+/**
+ * Outcome of a portfolio job. The row counts cover the whole portfolio, including the chunks resumed from a
+ * checkpoint, whose counts are recorded in it.
+ */
+public record PortfolioJobResult(long rateVersion, int chunks, int resumedChunks, long rows, long feasible,
+                                 long rejected, long unreadable, long elapsedMillis) {
+}
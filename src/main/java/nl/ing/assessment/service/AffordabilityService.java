@@ -0,0 +1,112 @@
+package nl.ing.assessment.service;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.ing.assessment.exception.MortgageAndInterestRatesException;
+import nl.ing.assessment.interest.model.InterestRate;
+import nl.ing.assessment.interest.model.InterestRateSnapshot;
+import nl.ing.assessment.mortgage.request.AffordabilityRequest;
+import nl.ing.assessment.mortgage.response.AffordabilityResponse;
+import nl.ing.assessment.mortgage.response.AffordabilityResponse.AffordabilityLimit;
+import nl.ing.assessment.mortgage.response.AffordabilityResponse.AffordabilityOption;
+import nl.ing.assessment.util.AnnuityFactorCache;
+import nl.ing.assessment.util.MortgageAndInterestRatesUtil;
+import nl.ing.assessment.validate.MortgageAndInterestRatesValidator;
+import nl.ing.assessment.validate.MortgageRejectionReason;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Answers how much can be borrowed for a monthly budget. Since the monthly cost is the loan value multiplied by the
+ * annuity factor of the maturity period, the loan a budget allows is the budget divided by that factor.
+ */
+@Service
+@Slf4j
+public class AffordabilityService {
+
+    private static final Comparator<AffordabilityOption> BEST_OPTION = Comparator
+            .comparing(AffordabilityOption::maxLoanValue)
+            .thenComparing(AffordabilityOption::totalCost, Comparator.reverseOrder());
+
+    @Autowired
+    private MortgageAndInterestRatesUtil mortgageAndInterestRatesUtil;
+
+    @Autowired
+    private AnnuityFactorCache annuityFactorCache;
+
+    @Autowired
+    private MortgageAndInterestRatesValidator mortgageAndInterestRatesValidator;
+
+    @Autowired
+    private MortgageAndInterestRatesService mortgageAndInterestRatesService;
+
+    /**
+     * Calculate the maximum feasible loan for every maturity period of the current rate table
+     *
+     * @param request  Income, home value and monthly budget
+     * @return The options per maturity period and the best option, which is null when no loan is affordable
+     * @throws MortgageAndInterestRatesException when the income, home value or monthly budget is not positive
+     */
+    public AffordabilityResponse calculateAffordability(AffordabilityRequest request) throws MortgageAndInterestRatesException {
+        validate(request);
+        log.debug("Calculating affordability for request: {}", request);
+
+        InterestRateSnapshot snapshot = mortgageAndInterestRatesUtil.getInterestRateSnapshot();
+        BigDecimal incomeLimit = mortgageAndInterestRatesValidator.getMaxLoanValueForIncome(request.income());
+        List<AffordabilityOption> options = new ArrayList<>(snapshot.getInterestRates().size());
+        AffordabilityOption bestOption = null;
+        for (InterestRate interestRate : snapshot.getInterestRates()) {
+            AffordabilityOption option = option(request, incomeLimit, interestRate);
+            options.add(option);
+            if (option.maxLoanValue().signum() > 0 && (bestOption == null || BEST_OPTION.compare(option, bestOption) > 0)) {
+                bestOption = option;
+            }
+        }
+        options.sort(Comparator.comparing(AffordabilityOption::maturityPeriod));
+        return new AffordabilityResponse(snapshot.getVersion(), options, bestOption, "");
+    }
+
+    private AffordabilityOption option(AffordabilityRequest request, BigDecimal incomeLimit, InterestRate interestRate) {
+        int maturityPeriod = interestRate.maturityPeriod();
+        BigDecimal annuityFactor = annuityFactorCache.getAnnuityFactor(interestRate.interestRate(), maturityPeriod);
+
+        // The budget and the loan are rounded down to whole cents, so the monthly cost of the loan, rounded to cents,
+        // never exceeds the budget
+        BigDecimal budget = request.monthlyBudget().setScale(2, RoundingMode.FLOOR);
+        BigDecimal maxLoanValue = budget.divide(annuityFactor, 2, RoundingMode.FLOOR);
+        AffordabilityLimit limitedBy = AffordabilityLimit.MONTHLY_BUDGET;
+        if (incomeLimit.compareTo(maxLoanValue) < 0) {
+            maxLoanValue = incomeLimit;
+            limitedBy = AffordabilityLimit.INCOME;
+        }
+        if (request.homeValue().compareTo(maxLoanValue) < 0) {
+            maxLoanValue = request.homeValue();
+            limitedBy = AffordabilityLimit.HOME_VALUE;
+        }
+
+        BigDecimal monthlyCost = mortgageAndInterestRatesService.calculateMonthlyCost(maxLoanValue, maturityPeriod, interestRate.interestRate());
+        BigDecimal totalCost = monthlyCost.multiply(BigDecimal.valueOf(maturityPeriod * 12L));
+        return new AffordabilityOption(maturityPeriod, interestRate.interestRate(), maxLoanValue, monthlyCost, totalCost, limitedBy);
+    }
+
+    private static void validate(AffordabilityRequest request) throws MortgageAndInterestRatesException {
+        if (request == null || !isPositive(request.income())) {
+            throw new MortgageAndInterestRatesException(MortgageRejectionReason.INCOME_NOT_POSITIVE);
+        }
+        if (!isPositive(request.homeValue())) {
+            throw new MortgageAndInterestRatesException(MortgageRejectionReason.HOME_VALUE_NOT_POSITIVE);
+        }
+        if (!isPositive(request.monthlyBudget())) {
+            throw new MortgageAndInterestRatesException("A monthly budget must be greater than zero");
+        }
+    }
+
+    private static boolean isPositive(BigDecimal amount) {
+        return amount != null && amount.signum() > 0;
+    }
+}
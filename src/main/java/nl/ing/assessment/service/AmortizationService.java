@@ -0,0 +1,95 @@
+package nl.ing.assessment.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import nl.ing.assessment.exception.MortgageAndInterestRatesException;
+import nl.ing.assessment.interest.model.InterestRateSnapshot;
+import nl.ing.assessment.mortgage.response.AmortizationRow;
+import nl.ing.assessment.util.AmortizationSchedule;
+import nl.ing.assessment.util.MortgageAndInterestRatesUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.Iterator;
+
+@Service
+@Slf4j
+public class AmortizationService {
+
+    @Autowired
+    private MortgageAndInterestRatesUtil mortgageAndInterestRatesUtil;
+
+    @Autowired
+    private MortgageAndInterestRatesService mortgageAndInterestRatesService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Create the amortization schedule of a loan for a range of months
+     *
+     * @param loanValue       Loan value
+     * @param maturityPeriod  Maturity period in years
+     * @param fromMonth       First month of the range, starting at 1
+     * @param toMonth         Last month of the range, or null for the last payment
+     * @return Lazily generated schedule rows
+     * @throws MortgageAndInterestRatesException when the loan or the range is invalid, or there is no rate for the maturity period
+     */
+    public Iterator<AmortizationRow> createSchedule(BigDecimal loanValue, int maturityPeriod, int fromMonth, Integer toMonth) throws MortgageAndInterestRatesException {
+        log.debug("Creating amortization schedule for loan value: {} and maturity period: {}", loanValue, maturityPeriod);
+        if (loanValue == null || loanValue.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new MortgageAndInterestRatesException("A loan value must be greater than zero");
+        }
+        if (maturityPeriod <= 0) {
+            throw new MortgageAndInterestRatesException("A maturity period must be greater than zero");
+        }
+        InterestRateSnapshot interestRateSnapshot = mortgageAndInterestRatesUtil.getInterestRateSnapshot();
+        BigDecimal interestRate = interestRateSnapshot.findInterestRate(maturityPeriod);
+        if (interestRate == null) {
+            throw new MortgageAndInterestRatesException("Interest rate not found for maturity period: " + maturityPeriod);
+        }
+        int totalPayments = maturityPeriod * 12;
+        int lastMonth = toMonth == null ? totalPayments : toMonth;
+        if (fromMonth < 1 || fromMonth > lastMonth || lastMonth > totalPayments) {
+            throw new MortgageAndInterestRatesException("The months must be a range within 1 and " + totalPayments);
+        }
+
+        BigDecimal monthlyCost = mortgageAndInterestRatesService.calculateMonthlyCost(loanValue, maturityPeriod, interestRate);
+        return new AmortizationSchedule(loanValue, interestRate, maturityPeriod, monthlyCost, fromMonth, lastMonth);
+    }
+
+    /**
+     * Write schedule rows as they are generated, either as a JSON array or as newline delimited JSON
+     *
+     * @param schedule  Schedule rows
+     * @param output    Stream the rows are written to
+     * @param ndJson    Whether to write newline delimited JSON instead of a JSON array
+     * @throws IOException when the output cannot be written
+     */
+    public void writeSchedule(Iterator<AmortizationRow> schedule, OutputStream output, boolean ndJson) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(AmortizationRow.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            if (!ndJson) {
+                generator.writeStartArray();
+            }
+            while (schedule.hasNext()) {
+                writer.writeValue(generator, schedule.next());
+                if (ndJson) {
+                    generator.writeRaw('\n');
+                }
+            }
+            if (!ndJson) {
+                generator.writeEndArray();
+            }
+        }
+    }
+}
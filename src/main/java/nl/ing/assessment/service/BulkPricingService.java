@@ -0,0 +1,202 @@
+package nl.ing.assessment.service;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.ing.assessment.config.BulkPricingProperties;
+import nl.ing.assessment.exception.MortgageAndInterestRatesException;
+import nl.ing.assessment.interest.model.InterestRate;
+import nl.ing.assessment.interest.model.InterestRateSnapshot;
+import nl.ing.assessment.mortgage.request.BulkPricingRequest;
+import nl.ing.assessment.mortgage.request.MortgageRequest;
+import nl.ing.assessment.mortgage.response.BulkPricingResponse;
+import nl.ing.assessment.mortgage.response.BulkPricingResponse.BulkPricingVerification;
+import nl.ing.assessment.util.AnnuityFactorCache;
+import nl.ing.assessment.util.MortgageAndInterestRatesUtil;
+import nl.ing.assessment.validate.MortgageAndInterestRatesValidator;
+import nl.ing.assessment.validate.MortgageRejectionReason;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Prices whole portfolios in columnar form. Validation and the annuity formula run over primitive arrays with
+ * double precision, instead of through the BigDecimal path of a single mortgage check.
+ */
+@Service
+@Slf4j
+public class BulkPricingService {
+
+    private static final int FEASIBLE = 0;
+
+    @Autowired
+    private MortgageAndInterestRatesUtil mortgageAndInterestRatesUtil;
+
+    @Autowired
+    private AnnuityFactorCache annuityFactorCache;
+
+    @Autowired
+    private MortgageAndInterestRatesValidator mortgageAndInterestRatesValidator;
+
+    @Autowired
+    private MortgageAndInterestRatesService mortgageAndInterestRatesService;
+
+    @Autowired
+    private BulkPricingProperties bulkPricingProperties;
+
+    /**
+     * Price a portfolio of mortgages
+     *
+     * @param request                 Columnar mortgage requests
+     * @param verificationSampleSize  Number of mortgages to cross-check against the exact calculation, 0 to skip verification
+     * @return Columnar mortgage responses
+     * @throws MortgageAndInterestRatesException when the columns are missing or differ in length
+     */
+    public BulkPricingResponse price(BulkPricingRequest request, int verificationSampleSize) throws MortgageAndInterestRatesException {
+        int size = validateColumns(request);
+        log.info("Pricing portfolio of {} mortgages", size);
+
+        InterestRateSnapshot snapshot = mortgageAndInterestRatesUtil.getInterestRateSnapshot();
+        double[] annuityFactors = annuityFactorsByMaturityPeriod(snapshot);
+        double[] monthlyCosts = new double[size];
+        int[] rejectionCodes = new int[size];
+
+        price(request.incomes(), request.maturityPeriods(), request.loanValues(), request.homeValues(),
+                annuityFactors, monthlyCosts, rejectionCodes);
+
+        BulkPricingVerification verification = verificationSampleSize > 0
+                ? verify(request, snapshot, monthlyCosts, rejectionCodes, verificationSampleSize)
+                : null;
+        return new BulkPricingResponse(snapshot.getVersion(), monthlyCosts, rejectionCodes, verification, "");
+    }
+
+    /**
+     * Price a portfolio of mortgages, verifying the configured sample size
+     *
+     * @param request  Columnar mortgage requests
+     * @return Columnar mortgage responses
+     * @throws MortgageAndInterestRatesException when the columns are missing or differ in length
+     */
+    public BulkPricingResponse price(BulkPricingRequest request) throws MortgageAndInterestRatesException {
+        return price(request, bulkPricingProperties.getVerificationSampleSize());
+    }
+
+    /**
+     * The pricing kernel. Applies the rules of {@link MortgageAndInterestRatesValidator} in the same order and
+     * multiplies each feasible loan by the annuity factor of its maturity period.
+     */
+    static void price(double[] incomes, int[] maturityPeriods, double[] loanValues, double[] homeValues,
+                      double[] annuityFactors, double[] monthlyCosts, int[] rejectionCodes) {
+        for (int i = 0; i < monthlyCosts.length; i++) {
+            double maxLoanValue = incomes[i] * 4;
+            double homeValue = homeValues[i];
+            double loanValue = loanValues[i];
+            int maturityPeriod = maturityPeriods[i];
+            double annuityFactor = maturityPeriod > 0 && maturityPeriod < annuityFactors.length ? annuityFactors[maturityPeriod] : 0;
+
+            int rejectionCode;
+            if (maxLoanValue <= 0) {
+                rejectionCode = MortgageRejectionReason.INCOME_NOT_POSITIVE.getCode();
+            } else if (homeValue <= 0) {
+                rejectionCode = MortgageRejectionReason.HOME_VALUE_NOT_POSITIVE.getCode();
+            } else if (maturityPeriod <= 0) {
+                rejectionCode = MortgageRejectionReason.MATURITY_PERIOD_NOT_POSITIVE.getCode();
+            } else if (loanValue <= 0) {
+                rejectionCode = MortgageRejectionReason.LOAN_VALUE_NOT_POSITIVE.getCode();
+            } else if (loanValue > maxLoanValue) {
+                rejectionCode = MortgageRejectionReason.LOAN_EXCEEDS_INCOME_LIMIT.getCode();
+            } else if (loanValue > homeValue) {
+                rejectionCode = MortgageRejectionReason.LOAN_EXCEEDS_HOME_VALUE.getCode();
+            } else if (annuityFactor == 0) {
+                rejectionCode = MortgageRejectionReason.INTEREST_RATE_NOT_FOUND.getCode();
+            } else {
+                rejectionCode = FEASIBLE;
+            }
+            rejectionCodes[i] = rejectionCode;
+            monthlyCosts[i] = rejectionCode == FEASIBLE ? Math.round(loanValue * annuityFactor * 100) / 100.0 : 0;
+        }
+    }
+
+    /**
+     * Annuity factors of every configured and interpolated maturity period, the rates single mortgage checks use
+     */
+    private double[] annuityFactorsByMaturityPeriod(InterestRateSnapshot snapshot) {
+        List<InterestRate> curveInterestRates = snapshot.getCurveInterestRates();
+        int maxMaturityPeriod = 0;
+        for (InterestRate interestRate : curveInterestRates) {
+            maxMaturityPeriod = Math.max(maxMaturityPeriod, interestRate.maturityPeriod());
+        }
+        double[] annuityFactors = new double[maxMaturityPeriod + 1];
+        for (InterestRate interestRate : curveInterestRates) {
+            annuityFactors[interestRate.maturityPeriod()] =
+                    annuityFactorCache.getAnnuityFactor(interestRate.interestRate(), interestRate.maturityPeriod()).doubleValue();
+        }
+        return annuityFactors;
+    }
+
+    /**
+     * Cross-check an evenly spread sample against the exact BigDecimal validation and monthly cost calculation
+     */
+    private BulkPricingVerification verify(BulkPricingRequest request, InterestRateSnapshot snapshot,
+                                           double[] monthlyCosts, int[] rejectionCodes, int sampleSize) {
+        int size = monthlyCosts.length;
+        int step = Math.max(1, size / Math.max(1, sampleSize));
+        double tolerance = bulkPricingProperties.getVerificationTolerance();
+        int[] mismatchIndices = new int[Math.max(0, bulkPricingProperties.getMaxReportedMismatches())];
+        int sampled = 0;
+        int mismatches = 0;
+        double maxDeviation = 0;
+
+        for (int i = 0; i < size && sampled < sampleSize; i += step, sampled++) {
+            BigDecimal exactMonthlyCost = exactMonthlyCost(request, snapshot, i);
+            boolean feasible = rejectionCodes[i] == FEASIBLE;
+            boolean mismatch;
+            if (exactMonthlyCost == null || !feasible) {
+                mismatch = (exactMonthlyCost == null) == feasible;
+            } else {
+                double deviation = Math.abs(exactMonthlyCost.doubleValue() - monthlyCosts[i]);
+                maxDeviation = Math.max(maxDeviation, deviation);
+                mismatch = deviation > tolerance;
+            }
+            if (mismatch) {
+                if (mismatches < mismatchIndices.length) {
+                    mismatchIndices[mismatches] = i;
+                }
+                mismatches++;
+            }
+        }
+        if (mismatches > 0) {
+            log.warn("Bulk pricing differs from the exact calculation for {} of {} sampled mortgages", mismatches, sampled);
+        }
+        return new BulkPricingVerification(sampled, mismatches, maxDeviation,
+                Arrays.copyOf(mismatchIndices, Math.min(mismatches, mismatchIndices.length)));
+    }
+
+    /**
+     * The exact monthly cost of mortgage i, or null when it is not feasible
+     */
+    private BigDecimal exactMonthlyCost(BulkPricingRequest request, InterestRateSnapshot snapshot, int i) {
+        MortgageRequest mortgageRequest = new MortgageRequest(BigDecimal.valueOf(request.incomes()[i]), request.maturityPeriods()[i],
+                BigDecimal.valueOf(request.loanValues()[i]), BigDecimal.valueOf(request.homeValues()[i]));
+        if (!mortgageAndInterestRatesValidator.validate(mortgageRequest).isEmpty()) {
+            return null;
+        }
+        BigDecimal interestRate = snapshot.findInterestRate(mortgageRequest.maturityPeriod());
+        return interestRate == null
+                ? null
+                : mortgageAndInterestRatesService.calculateMonthlyCost(mortgageRequest.loanValue(), mortgageRequest.maturityPeriod(), interestRate);
+    }
+
+    private static int validateColumns(BulkPricingRequest request) throws MortgageAndInterestRatesException {
+        if (request == null || request.incomes() == null || request.maturityPeriods() == null
+                || request.loanValues() == null || request.homeValues() == null) {
+            throw new MortgageAndInterestRatesException("The incomes, maturityPeriods, loanValues and homeValues columns are required");
+        }
+        int size = request.incomes().length;
+        if (request.maturityPeriods().length != size || request.loanValues().length != size || request.homeValues().length != size) {
+            throw new MortgageAndInterestRatesException("The incomes, maturityPeriods, loanValues and homeValues columns must have the same length");
+        }
+        return size;
+    }
+}
@@ -0,0 +1,85 @@
+package nl.ing.assessment.service;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.ing.assessment.interest.entity.InterestRateHistory;
+import nl.ing.assessment.interest.model.InterestRate;
+import nl.ing.assessment.interest.repository.InterestRateHistoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@ConditionalOnProperty(prefix = "interest", name = "history-enabled", matchIfMissing = true)
+@Slf4j
+public class InterestRateHistoryService {
+
+    @Autowired
+    private InterestRateHistoryRepository interestRateHistoryRepository;
+
+    /**
+     * Record the changes of a published rate table. Only maturity periods whose rate changed, appeared or was withdrawn
+     * are written, so an unchanged rate keeps the moment it became effective.
+     *
+     * @param interestRates  Published interest rates
+     * @param published      Moment the rate table was published
+     * @return The interest rates, with the moment each rate became effective as its last update
+     */
+    @Transactional
+    public List<InterestRate> recordInterestRates(List<InterestRate> interestRates, Timestamp published) {
+        Map<Integer, InterestRateHistory> latestChanges = new HashMap<>();
+        Timestamp effectiveFrom = published;
+        for (InterestRateHistory change : interestRateHistoryRepository.findLatestChanges()) {
+            latestChanges.put(change.getMaturityPeriod(), change);
+            // Changes are ordered by their id, so a clock set back must not record a change before an earlier one
+            if (change.getEffectiveFrom().after(effectiveFrom)) {
+                effectiveFrom = change.getEffectiveFrom();
+            }
+        }
+
+        List<InterestRateHistory> changes = new ArrayList<>();
+        List<InterestRate> recorded = new ArrayList<>(interestRates.size());
+        for (InterestRate interestRate : interestRates) {
+            InterestRateHistory latest = latestChanges.remove(interestRate.maturityPeriod());
+            if (latest != null && latest.getRate() != null && latest.getRate().compareTo(interestRate.interestRate()) == 0) {
+                recorded.add(new InterestRate(interestRate.maturityPeriod(), interestRate.interestRate(), latest.getEffectiveFrom()));
+            } else {
+                changes.add(new InterestRateHistory(interestRate.maturityPeriod(), interestRate.interestRate(), effectiveFrom));
+                recorded.add(new InterestRate(interestRate.maturityPeriod(), interestRate.interestRate(), effectiveFrom));
+            }
+        }
+        for (InterestRateHistory withdrawn : latestChanges.values()) {
+            if (withdrawn.getRate() != null) {
+                changes.add(new InterestRateHistory(withdrawn.getMaturityPeriod(), null, effectiveFrom));
+            }
+        }
+
+        interestRateHistoryRepository.saveAll(changes);
+        log.info("Recorded {} interest rate changes effective from {}", changes.size(), effectiveFrom);
+        return recorded;
+    }
+
+    /**
+     * Get the interest rates that were effective at a moment
+     *
+     * @param asOf  Moment
+     * @return Interest rates ordered by maturity period, with the moment each rate became effective as its last update
+     */
+    @Transactional(readOnly = true)
+    public List<InterestRate> getInterestRates(Timestamp asOf) {
+        log.debug("Getting interest rates as of {}", asOf);
+        List<InterestRate> interestRates = new ArrayList<>();
+        for (InterestRateHistory change : interestRateHistoryRepository.findChangesEffectiveAt(asOf)) {
+            if (change.getRate() != null) {
+                interestRates.add(new InterestRate(change.getMaturityPeriod(), change.getRate(), change.getEffectiveFrom()));
+            }
+        }
+        return interestRates;
+    }
+}
@@ -1,15 +1,24 @@
 package nl.ing.assessment.service;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import nl.ing.assessment.exception.MortgageAndInterestRatesException;
+import nl.ing.assessment.audit.AuditLog;
 import nl.ing.assessment.interest.model.InterestRate;
+import nl.ing.assessment.interest.model.InterestRateSnapshot;
+import nl.ing.assessment.interest.response.InterestRatesPayload;
 import nl.ing.assessment.mortgage.request.MortgageRequest;
 import nl.ing.assessment.mortgage.response.MortgageResponse;
+import nl.ing.assessment.util.AnnuityFactorCache;
 import nl.ing.assessment.util.MortgageAndInterestRatesUtil;
+import nl.ing.assessment.util.MortgageCheckCache;
+import nl.ing.assessment.util.MortgageCheckCoalescer;
+import nl.ing.assessment.util.MortgageMetrics;
 import nl.ing.assessment.validate.MortgageAndInterestRatesValidator;
+import nl.ing.assessment.validate.MortgageRejectionReason;
+import nl.ing.assessment.validate.MortgageViolations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -29,6 +38,26 @@ public class MortgageAndInterestRatesService {
     @Autowired
     private MortgageAndInterestRatesValidator mortgageAndInterestRatesValidator;
 
+    @Autowired
+    private AnnuityFactorCache annuityFactorCache;
+
+    @Autowired
+    private MortgageMetrics mortgageMetrics;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    @Autowired
+    private MortgageCheckCache mortgageCheckCache;
+
+    @Autowired
+    private MortgageCheckCoalescer mortgageCheckCoalescer;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private volatile SerializedInterestRates serializedInterestRates;
+
     /**
      * Get all interest rates
      *
@@ -38,15 +67,75 @@ public class MortgageAndInterestRatesService {
         return mortgageAndInterestRatesUtil.getInterestRates();
     }
 
+    /**
+     * Get all interest rates serialized, which is done once for every snapshot of the rate table
+     *
+     * @return Serialized interest rates
+     */
+    public InterestRatesPayload getInterestRatesPayload() {
+        InterestRateSnapshot interestRateSnapshot = mortgageAndInterestRatesUtil.getInterestRateSnapshot();
+        SerializedInterestRates serialized = serializedInterestRates;
+        // Compared by identity, a version does not always identify one rate table
+        if (serialized == null || serialized.interestRateSnapshot() != interestRateSnapshot) {
+            // Concurrent requests may serialize a new snapshot more than once, any of the equal payloads is kept
+            serialized = new SerializedInterestRates(interestRateSnapshot,
+                    InterestRatesPayload.of(interestRateSnapshot.getVersion(), interestRateSnapshot.getInterestRates(), objectMapper));
+            serializedInterestRates = serialized;
+        }
+        return serialized.payload();
+    }
+
+    private record SerializedInterestRates(InterestRateSnapshot interestRateSnapshot, InterestRatesPayload payload) {
+    }
+
 
     public MortgageResponse checkMortgage(MortgageRequest request)  {
-        log.info("Checking mortgage feasibility for request: {}", request);
-        try {
-            mortgageAndInterestRatesValidator.validateMortgageDetails(request);
-            return new MortgageResponse(true, calculateMonthlyCost(request.loanValue(), request.maturityPeriod()), "");
-        } catch (MortgageAndInterestRatesException e) {
-            return new MortgageResponse(false, BigDecimal.ZERO, e.getMessage());
+        return mortgageMetrics.getMortgageCheckTimer().record(() -> checkMortgageFeasibility(request));
+    }
+
+    private MortgageResponse checkMortgageFeasibility(MortgageRequest request) {
+        log.debug("Checking mortgage feasibility for request: {}", request);
+        InterestRateSnapshot interestRateSnapshot = mortgageAndInterestRatesUtil.getInterestRateSnapshot();
+        MortgageResponse response = mortgageCheckCache.get(request, interestRateSnapshot,
+                () -> mortgageCheckCoalescer.get(request, interestRateSnapshot,
+                        () -> evaluateMortgage(request, interestRateSnapshot)));
+
+        MortgageViolations violations = MortgageViolations.of(response.violations());
+        for (MortgageRejectionReason reason : violations.getReasons()) {
+            mortgageMetrics.recordRejection(reason);
         }
+        auditLog.record(request, response.rateVersion() == null ? 0 : response.rateVersion(), response.monthlyCost(), violations);
+        return response;
+    }
+
+    /**
+     * Check a mortgage against a given rate table, without the response cache, rejection metrics and audit record
+     * of {@link #checkMortgage}. Used by batch jobs that evaluate a whole portfolio against one snapshot.
+     *
+     * @param request               Mortgage request
+     * @param interestRateSnapshot  Rate table
+     * @return Mortgage response
+     */
+    public MortgageResponse evaluateMortgage(MortgageRequest request, InterestRateSnapshot interestRateSnapshot) {
+        MortgageViolations violations = mortgageAndInterestRatesValidator.validate(request);
+
+        // The rate is looked up for any valid maturity period, so a missing rate is reported with the other violations
+        long rateVersion = interestRateSnapshot.getVersion();
+        BigDecimal interestRate = null;
+        if (!violations.contains(MortgageRejectionReason.MATURITY_PERIOD_NOT_POSITIVE)) {
+            interestRate = interestRateSnapshot.findInterestRate(request.maturityPeriod());
+            mortgageMetrics.recordRateLookup(request.maturityPeriod(), interestRate != null);
+            if (interestRate == null) {
+                log.debug("No interest rate for maturity period: {}", request.maturityPeriod());
+                violations = violations.with(MortgageRejectionReason.INTEREST_RATE_NOT_FOUND);
+            }
+        }
+
+        if (!violations.isEmpty()) {
+            return new MortgageResponse(false, BigDecimal.ZERO, errorMessage(violations.first(), request), rateVersion, violations.getReasons());
+        }
+        return new MortgageResponse(true, calculateMonthlyCost(request.loanValue(), request.maturityPeriod(), interestRate), "", rateVersion,
+                List.of(), interestRateSnapshot.isInterpolated(request.maturityPeriod()));
     }
 
     /**
@@ -54,13 +143,17 @@ public class MortgageAndInterestRatesService {
      *
      * @param loanValue      the loan value
      * @param maturityPeriod the maturity period in years
+     * @param interestRate   the annual interest rate percentage for the maturity period
      *
      * @return the monthly cost
      */
-    private BigDecimal calculateMonthlyCost(BigDecimal loanValue, int maturityPeriod) throws MortgageAndInterestRatesException {
-        log.info("Calculating monthly cost for loan value: {} and maturity period: {}", loanValue, maturityPeriod);
-        BigDecimal interestRate = mortgageAndInterestRatesUtil.getInterestRateForMaturityPeriod(maturityPeriod);
-        log.info("Interest rate for maturity period: {} is: {}", maturityPeriod, interestRate);
+    public BigDecimal calculateMonthlyCost(BigDecimal loanValue, int maturityPeriod, BigDecimal interestRate) {
+        return mortgageMetrics.getMonthlyCostTimer().record(() -> monthlyCost(loanValue, maturityPeriod, interestRate));
+    }
+
+    private BigDecimal monthlyCost(BigDecimal loanValue, int maturityPeriod, BigDecimal interestRate) {
+        log.debug("Calculating monthly cost for loan value: {} and maturity period: {}", loanValue, maturityPeriod);
+        log.debug("Interest rate for maturity period: {} is: {}", maturityPeriod, interestRate);
 
         /*
           The formula to calculate the monthly cost of a loan is:
@@ -71,21 +164,22 @@ public class MortgageAndInterestRatesService {
                       Interest rate is usually in percentage form, so we need to divide it by 100 to get the decimal form.
                       The monthly interest rate decimal is the annual interest rate decimal divided by 12.
                    n: Total number of payments (years * 12).
+          The annuity factor [r(1+r)^n]/[(1+r)^n-1] only depends on the rate table, so it is precomputed per maturity period.
          */
 
-        BigDecimal monthlyInterestRate =  interestRate.divide(BigDecimal.valueOf(12 * 100), 10,  RoundingMode.HALF_UP);
-        log.info("Monthly interest rate: {}", monthlyInterestRate);
-
-        int totalPayments = maturityPeriod * 12;
-        log.info("Total payments: {}", totalPayments);
+        BigDecimal annuityFactor = annuityFactorCache.getAnnuityFactor(interestRate, maturityPeriod);
+        log.debug("Annuity factor: {}", annuityFactor);
 
-        BigDecimal mnthlyIntrstPlusOnePowTotMnths = monthlyInterestRate.add(BigDecimal.ONE).pow(totalPayments);
-        BigDecimal numerator = monthlyInterestRate.multiply(mnthlyIntrstPlusOnePowTotMnths);
-        BigDecimal denominator = mnthlyIntrstPlusOnePowTotMnths.subtract(BigDecimal.ONE);
-
-        BigDecimal monthlyCost = loanValue.multiply(numerator.divide(denominator,  RoundingMode.HALF_UP)).setScale(2, RoundingMode.HALF_UP);
-        log.info("Monthly cost: {}", monthlyCost);
+        BigDecimal monthlyCost = loanValue.multiply(annuityFactor).setScale(2, RoundingMode.HALF_UP);
+        log.debug("Monthly cost: {}", monthlyCost);
 
         return monthlyCost;
     }
+
+    private static String errorMessage(MortgageRejectionReason reason, MortgageRequest request) {
+        if (reason == MortgageRejectionReason.INTEREST_RATE_NOT_FOUND) {
+            return reason.getMessage() + ": " + request.maturityPeriod();
+        }
+        return reason.getMessage();
+    }
 }
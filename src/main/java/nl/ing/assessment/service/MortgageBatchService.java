@@ -0,0 +1,152 @@
+package nl.ing.assessment.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import nl.ing.assessment.config.MortgageBatchProperties;
+import nl.ing.assessment.mortgage.request.MortgageRequest;
+import nl.ing.assessment.mortgage.response.MortgageResponse;
+import nl.ing.assessment.util.CompactWireFormat;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+@Service
+@Slf4j
+public class MortgageBatchService {
+
+    @Autowired
+    private MortgageAndInterestRatesService mortgageAndInterestRatesService;
+
+    @Autowired
+    private MortgageBatchProperties mortgageBatchProperties;
+
+    @Autowired
+    @Qualifier("mortgageBatchExecutor")
+    private ExecutorService mortgageBatchExecutor;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Check a batch of mortgages read from a JSON array or a newline delimited JSON stream.
+     * The responses are written as newline delimited JSON in the order of the requests, while
+     * at most {@link MortgageBatchProperties#getMaxInFlight()} requests are held in memory.
+     *
+     * @param input   Stream of mortgage requests
+     * @param output  Stream the mortgage responses are written to
+     *
+     * @return Number of processed batch items
+     * @throws IOException when the input cannot be read or the output cannot be written
+     */
+    public long checkMortgages(InputStream input, OutputStream output) throws IOException {
+        return checkMortgages(input, output, objectMapper, true);
+    }
+
+    /**
+     * Check a batch of mortgages read from a CBOR array in the {@link CompactWireFormat}. The responses are written
+     * as one indefinite-length CBOR array in the order of the requests.
+     *
+     * @param input   Stream of mortgage requests
+     * @param output  Stream the mortgage responses are written to
+     *
+     * @return Number of processed batch items
+     * @throws IOException when the input cannot be read or the output cannot be written
+     */
+    public long checkMortgagesCompact(InputStream input, OutputStream output) throws IOException {
+        return checkMortgages(input, output, CompactWireFormat.getObjectMapper(), false);
+    }
+
+    private long checkMortgages(InputStream input, OutputStream output, ObjectMapper mapper, boolean delimited) throws IOException {
+        log.info("Checking mortgage batch");
+        int maxInFlight = Math.max(1, mortgageBatchProperties.getMaxInFlight());
+        Deque<CompletableFuture<MortgageResponse>> inFlight = new ArrayDeque<>(maxInFlight);
+        ObjectWriter writer = mapper.writerFor(MortgageResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+
+        try (MappingIterator<MortgageRequest> requests = mapper.readerFor(MortgageRequest.class).readValues(input);
+             JsonGenerator generator = mapper.getFactory().createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (delimited) {
+                generator.setRootValueSeparator(null);
+            } else {
+                generator.writeStartArray();
+            }
+
+            boolean readable = true;
+            while (readable) {
+                CompletableFuture<MortgageResponse> response;
+                try {
+                    if (!requests.hasNextValue()) {
+                        break;
+                    }
+                    response = submit(requests.nextValue());
+                } catch (JsonMappingException e) {
+                    response = CompletableFuture.completedFuture(failedResponse("Invalid mortgage request: " + e.getOriginalMessage()));
+                } catch (JsonProcessingException e) {
+                    log.info("Unreadable mortgage batch input: {}", e.getOriginalMessage());
+                    response = CompletableFuture.completedFuture(failedResponse("Unreadable mortgage request: " + e.getOriginalMessage()));
+                    readable = false;
+                }
+                if (inFlight.size() >= maxInFlight) {
+                    writeResponse(writer, generator, inFlight.removeFirst(), delimited);
+                }
+                inFlight.addLast(response);
+                count++;
+                writeCompletedResponses(writer, generator, inFlight, delimited);
+            }
+            while (!inFlight.isEmpty()) {
+                writeResponse(writer, generator, inFlight.removeFirst(), delimited);
+            }
+            if (!delimited) {
+                generator.writeEndArray();
+            }
+            generator.flush();
+        }
+        log.info("Checked mortgage batch of {} requests", count);
+        return count;
+    }
+
+    private CompletableFuture<MortgageResponse> submit(MortgageRequest request) {
+        return CompletableFuture.supplyAsync(() -> mortgageAndInterestRatesService.checkMortgage(request), mortgageBatchExecutor)
+                .exceptionally(e -> failedResponse("Mortgage check failed: " + e.getCause().getMessage()));
+    }
+
+    private void writeCompletedResponses(ObjectWriter writer, JsonGenerator generator, Deque<CompletableFuture<MortgageResponse>> inFlight,
+                                         boolean delimited) throws IOException {
+        while (!inFlight.isEmpty() && inFlight.peekFirst().isDone()) {
+            writeResponse(writer, generator, inFlight.removeFirst(), delimited);
+        }
+    }
+
+    private void writeResponse(ObjectWriter writer, JsonGenerator generator, CompletableFuture<MortgageResponse> response,
+                               boolean delimited) throws IOException {
+        if (!response.isDone()) {
+            // Hand everything written so far to the client before waiting on the slowest request
+            generator.flush();
+        }
+        writer.writeValue(generator, response.join());
+        if (delimited) {
+            generator.writeRaw('\n');
+        }
+    }
+
+    private static MortgageResponse failedResponse(String error) {
+        return new MortgageResponse(false, BigDecimal.ZERO, error);
+    }
+}
@@ -0,0 +1,187 @@
+package nl.ing.assessment.service;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.ing.assessment.config.SensitivityGridProperties;
+import nl.ing.assessment.exception.MortgageAndInterestRatesException;
+import nl.ing.assessment.interest.model.InterestRate;
+import nl.ing.assessment.interest.model.InterestRateSnapshot;
+import nl.ing.assessment.mortgage.request.SensitivityGridRequest;
+import nl.ing.assessment.mortgage.response.SensitivityGridResponse;
+import nl.ing.assessment.util.AnnuityFactorCache;
+import nl.ing.assessment.util.MortgageAndInterestRatesUtil;
+import nl.ing.assessment.validate.MortgageRejectionReason;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Calculates monthly costs under rate shocks for every maturity period of the rate table and a set of loan values.
+ * The annuity factor, which holds the power term of the monthly cost formula, is calculated once per shocked rate and
+ * maturity period and shared by all loan values; those rows are computed in parallel on a fork-join pool.
+ */
+@Service
+@Slf4j
+public class SensitivityGridService {
+
+    @Autowired
+    private MortgageAndInterestRatesUtil mortgageAndInterestRatesUtil;
+
+    @Autowired
+    private AnnuityFactorCache annuityFactorCache;
+
+    @Autowired
+    private SensitivityGridProperties sensitivityGridProperties;
+
+    @Autowired
+    @Qualifier("sensitivityGridPool")
+    private ForkJoinPool sensitivityGridPool;
+
+    /**
+     * Calculate the monthly costs of a sensitivity grid. Shocked rates below zero are floored at zero.
+     *
+     * @param request  Loan values and rate shocks
+     * @return Sensitivity grid
+     * @throws MortgageAndInterestRatesException when the loan values or rate shocks are invalid, or the grid is too large
+     */
+    public SensitivityGridResponse calculateGrid(SensitivityGridRequest request) throws MortgageAndInterestRatesException {
+        int[] rateShocks = rateShocks(request);
+        double[] loanValues = loanValues(request);
+
+        InterestRateSnapshot snapshot = mortgageAndInterestRatesUtil.getInterestRateSnapshot();
+        List<InterestRate> interestRates = new ArrayList<>(snapshot.getInterestRates());
+        interestRates.sort(Comparator.comparing(InterestRate::maturityPeriod));
+
+        long cells = (long) rateShocks.length * interestRates.size() * loanValues.length;
+        if (cells > sensitivityGridProperties.getMaxCells()) {
+            throw new MortgageAndInterestRatesException("A sensitivity grid cannot have more than "
+                    + sensitivityGridProperties.getMaxCells() + " cells: " + cells);
+        }
+        log.info("Calculating sensitivity grid of {} rate shocks, {} maturity periods and {} loan values",
+                rateShocks.length, interestRates.size(), loanValues.length);
+
+        Grid grid = new Grid(rateShocks, interestRates, loanValues);
+        sensitivityGridPool.invoke(new GridTask(grid, 0, rateShocks.length * interestRates.size()));
+
+        int[] maturityPeriods = interestRates.stream().mapToInt(InterestRate::maturityPeriod).toArray();
+        return new SensitivityGridResponse(snapshot.getVersion(), rateShocks, maturityPeriods, loanValues,
+                grid.shockedRates, grid.monthlyCosts, "");
+    }
+
+    private int[] rateShocks(SensitivityGridRequest request) throws MortgageAndInterestRatesException {
+        int from = request.fromBasisPoints() == null ? sensitivityGridProperties.getFromBasisPoints() : request.fromBasisPoints();
+        int to = request.toBasisPoints() == null ? sensitivityGridProperties.getToBasisPoints() : request.toBasisPoints();
+        int step = request.stepBasisPoints() == null ? sensitivityGridProperties.getStepBasisPoints() : request.stepBasisPoints();
+        if (step <= 0) {
+            throw new MortgageAndInterestRatesException("A rate shock step must be greater than zero");
+        }
+        if (from > to) {
+            throw new MortgageAndInterestRatesException("The first rate shock cannot be larger than the last rate shock");
+        }
+        long count = ((long) to - from) / step + 1;
+        if (count > sensitivityGridProperties.getMaxCells()) {
+            throw new MortgageAndInterestRatesException("A sensitivity grid cannot have more than "
+                    + sensitivityGridProperties.getMaxCells() + " cells: " + count + " rate shocks");
+        }
+        int[] rateShocks = new int[(int) count];
+        for (int i = 0; i < rateShocks.length; i++) {
+            rateShocks[i] = from + i * step;
+        }
+        return rateShocks;
+    }
+
+    private static double[] loanValues(SensitivityGridRequest request) throws MortgageAndInterestRatesException {
+        if (request.loanValues() == null || request.loanValues().length == 0) {
+            throw new MortgageAndInterestRatesException("At least one loan value is required");
+        }
+        for (double loanValue : request.loanValues()) {
+            if (!(loanValue > 0) || Double.isInfinite(loanValue)) {
+                throw new MortgageAndInterestRatesException(MortgageRejectionReason.LOAN_VALUE_NOT_POSITIVE);
+            }
+        }
+        return request.loanValues();
+    }
+
+    /**
+     * The cells of a grid, one row of loan values for every combination of rate shock and maturity period
+     */
+    private final class Grid {
+
+        private final int[] rateShocks;
+
+        private final List<InterestRate> interestRates;
+
+        private final BigDecimal[] loanValues;
+
+        private final double[] shockedRates;
+
+        private final double[] monthlyCosts;
+
+        private Grid(int[] rateShocks, List<InterestRate> interestRates, double[] loanValues) {
+            this.rateShocks = rateShocks;
+            this.interestRates = interestRates;
+            this.loanValues = new BigDecimal[loanValues.length];
+            for (int i = 0; i < loanValues.length; i++) {
+                this.loanValues[i] = BigDecimal.valueOf(loanValues[i]);
+            }
+            this.shockedRates = new double[rateShocks.length * interestRates.size()];
+            this.monthlyCosts = new double[shockedRates.length * loanValues.length];
+        }
+
+        /**
+         * Calculate the annuity factor of a row once and the monthly cost of each loan value with it, in the same
+         * way as {@link MortgageAndInterestRatesService#calculateMonthlyCost}
+         */
+        private void computeRow(int row) {
+            InterestRate interestRate = interestRates.get(row % interestRates.size());
+            int rateShock = rateShocks[row / interestRates.size()];
+            BigDecimal shockedRate = interestRate.interestRate().add(BigDecimal.valueOf(rateShock, 2)).max(BigDecimal.ZERO);
+            BigDecimal annuityFactor = rateShock == 0
+                    ? annuityFactorCache.getAnnuityFactor(shockedRate, interestRate.maturityPeriod())
+                    : AnnuityFactorCache.calculateAnnuityFactor(shockedRate, interestRate.maturityPeriod());
+
+            shockedRates[row] = shockedRate.doubleValue();
+            int offset = row * loanValues.length;
+            for (int i = 0; i < loanValues.length; i++) {
+                monthlyCosts[offset + i] = loanValues[i].multiply(annuityFactor).setScale(2, RoundingMode.HALF_UP).doubleValue();
+            }
+        }
+    }
+
+    /**
+     * Computes a range of grid rows, split in halves down to single rows
+     */
+    private static final class GridTask extends RecursiveAction {
+
+        private final Grid grid;
+
+        private final int fromRow;
+
+        private final int toRow;
+
+        private GridTask(Grid grid, int fromRow, int toRow) {
+            this.grid = grid;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+        }
+
+        @Override
+        protected void compute() {
+            if (toRow - fromRow <= 1) {
+                if (fromRow < toRow) {
+                    grid.computeRow(fromRow);
+                }
+                return;
+            }
+            int middle = (fromRow + toRow) >>> 1;
+            invokeAll(new GridTask(grid, fromRow, middle), new GridTask(grid, middle, toRow));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package nl.ing.assessment.util;
+
+import nl.ing.assessment.mortgage.response.AmortizationRow;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazily generated month-by-month amortization schedule of an annuity loan. Each month the interest over the
+ * remaining balance is paid first and the rest of the monthly payment repays the principal; the last payment
+ * repays whatever balance is left.
+ */
+public class AmortizationSchedule implements Iterator<AmortizationRow> {
+
+    private final BigDecimal monthlyInterestRate;
+
+    private final BigDecimal monthlyPayment;
+
+    private final int totalPayments;
+
+    private final int lastMonth;
+
+    private BigDecimal balance;
+
+    private int month;
+
+    /**
+     * @param loanValue       Loan value
+     * @param interestRate    Annual interest rate percentage
+     * @param maturityPeriod  Maturity period in years
+     * @param monthlyPayment  Monthly cost of the loan
+     * @param fromMonth       First month to return, starting at 1
+     * @param toMonth         Last month to return
+     */
+    public AmortizationSchedule(BigDecimal loanValue, BigDecimal interestRate, int maturityPeriod, BigDecimal monthlyPayment,
+                                int fromMonth, int toMonth) {
+        this.monthlyInterestRate = interestRate.divide(BigDecimal.valueOf(12 * 100), 10, RoundingMode.HALF_UP);
+        this.monthlyPayment = monthlyPayment;
+        this.totalPayments = maturityPeriod * 12;
+        this.lastMonth = Math.min(toMonth, totalPayments);
+        this.balance = loanValue.setScale(2, RoundingMode.HALF_UP);
+        while (month < fromMonth - 1 && month < lastMonth) {
+            next();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return month < lastMonth;
+    }
+
+    @Override
+    public AmortizationRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        month++;
+        BigDecimal interest = balance.multiply(monthlyInterestRate).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal principal = monthlyPayment.subtract(interest);
+        if (month == totalPayments || principal.compareTo(balance) > 0) {
+            principal = balance;
+        }
+        balance = balance.subtract(principal);
+        return new AmortizationRow(month, interest.add(principal), interest, principal, balance);
+    }
+}
@@ -0,0 +1,83 @@
+package nl.ing.assessment.util;
+
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import nl.ing.assessment.interest.model.InterestRate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+@Component
+@NoArgsConstructor
+@Slf4j
+public class AnnuityFactorCache {
+
+    private volatile AnnuityFactor[] annuityFactorsByMaturityPeriod = new AnnuityFactor[0];
+
+    /**
+     * Precompute the annuity factors of a rate table and replace the current factors in a single step
+     *
+     * @param interestRates  Interest rates
+     */
+    public void rebuild(List<InterestRate> interestRates) {
+        log.info("Rebuilding annuity factors for {} interest rates", interestRates.size());
+        int maxMaturityPeriod = 0;
+        for (InterestRate interestRate : interestRates) {
+            maxMaturityPeriod = Math.max(maxMaturityPeriod, interestRate.maturityPeriod());
+        }
+        AnnuityFactor[] factors = new AnnuityFactor[maxMaturityPeriod + 1];
+        for (InterestRate interestRate : interestRates) {
+            if (interestRate.maturityPeriod() > 0) {
+                factors[interestRate.maturityPeriod()] = new AnnuityFactor(interestRate.interestRate(),
+                        calculateAnnuityFactor(interestRate.interestRate(), interestRate.maturityPeriod()));
+            }
+        }
+        annuityFactorsByMaturityPeriod = factors;
+    }
+
+    /**
+     * Get the annuity factor for an interest rate and maturity period. The factor is calculated when the
+     * rate table it was built from does not contain the given rate for the maturity period.
+     *
+     * @param interestRate    Annual interest rate percentage
+     * @param maturityPeriod  Maturity period in years
+     * @return Annuity factor
+     */
+    public BigDecimal getAnnuityFactor(BigDecimal interestRate, int maturityPeriod) {
+        AnnuityFactor[] factors = annuityFactorsByMaturityPeriod;
+        if (maturityPeriod > 0 && maturityPeriod < factors.length) {
+            AnnuityFactor annuityFactor = factors[maturityPeriod];
+            if (annuityFactor != null && annuityFactor.interestRate().compareTo(interestRate) == 0) {
+                return annuityFactor.factor();
+            }
+        }
+        return calculateAnnuityFactor(interestRate, maturityPeriod);
+    }
+
+    /**
+     * Calculate the annuity factor r(1+r)^n / ((1+r)^n - 1), so that the monthly cost of a loan is
+     * the loan value multiplied by this factor. Without interest the factor is 1/n, the limit of the formula.
+     *
+     * @param interestRate    Annual interest rate percentage
+     * @param maturityPeriod  Maturity period in years
+     * @return Annuity factor
+     */
+    public static BigDecimal calculateAnnuityFactor(BigDecimal interestRate, int maturityPeriod) {
+        BigDecimal monthlyInterestRate = interestRate.divide(BigDecimal.valueOf(12 * 100), 10, RoundingMode.HALF_UP);
+        int totalPayments = maturityPeriod * 12;
+        if (monthlyInterestRate.signum() == 0) {
+            return BigDecimal.ONE.divide(BigDecimal.valueOf(totalPayments), 20, RoundingMode.HALF_UP);
+        }
+
+        BigDecimal mnthlyIntrstPlusOnePowTotMnths = monthlyInterestRate.add(BigDecimal.ONE).pow(totalPayments);
+        BigDecimal numerator = monthlyInterestRate.multiply(mnthlyIntrstPlusOnePowTotMnths);
+        BigDecimal denominator = mnthlyIntrstPlusOnePowTotMnths.subtract(BigDecimal.ONE);
+
+        return numerator.divide(denominator, RoundingMode.HALF_UP);
+    }
+
+    private record AnnuityFactor(BigDecimal interestRate, BigDecimal factor) {
+    }
+}
@@ -0,0 +1,121 @@
+package nl.ing.assessment.util;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import nl.ing.assessment.mortgage.request.MortgageRequest;
+import nl.ing.assessment.mortgage.response.MortgageResponse;
+import nl.ing.assessment.validate.MortgageRejectionReason;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Compact binary wire format of mortgage checks for high-volume internal callers: CBOR, with requests and responses
+ * encoded as arrays of their record components in declaration order, amounts as integers in cents and rejection
+ * reasons as their codes. A request is [income, maturityPeriod, loanValue, homeValue], a response is
+ * [feasible, monthlyCost, error, rateVersion, violations, interpolatedRate].
+ */
+public final class CompactWireFormat {
+
+    /**
+     * Number of decimals of the scaled amounts, which are sent as the amount multiplied by 10^AMOUNT_SCALE
+     */
+    public static final int AMOUNT_SCALE = 2;
+
+    private static final ObjectMapper OBJECT_MAPPER = createObjectMapper();
+
+    private CompactWireFormat() {
+    }
+
+    /**
+     * @return Thread safe mapper reading mortgage requests and writing mortgage responses in the compact format
+     */
+    public static ObjectMapper getObjectMapper() {
+        return OBJECT_MAPPER;
+    }
+
+    private static ObjectMapper createObjectMapper() {
+        SimpleModule module = new SimpleModule("CompactWireFormat");
+        module.addSerializer(BigDecimal.class, new ScaledAmountSerializer());
+        module.addDeserializer(BigDecimal.class, new ScaledAmountDeserializer());
+        module.addSerializer(MortgageRejectionReason.class, new RejectionCodeSerializer());
+        module.addDeserializer(MortgageRejectionReason.class, new RejectionCodeDeserializer());
+        return CBORMapper.builder()
+                .addModule(module)
+                .addMixIn(MortgageRequest.class, ArrayShape.class)
+                .addMixIn(MortgageResponse.class, ArrayShape.class)
+                .build();
+    }
+
+    @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+    private interface ArrayShape {
+    }
+
+    private static final class ScaledAmountSerializer extends StdScalarSerializer<BigDecimal> {
+
+        private ScaledAmountSerializer() {
+            super(BigDecimal.class);
+        }
+
+        @Override
+        public void serialize(BigDecimal value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeNumber(value.setScale(AMOUNT_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+        }
+    }
+
+    private static final class ScaledAmountDeserializer extends StdScalarDeserializer<BigDecimal> {
+
+        private ScaledAmountDeserializer() {
+            super(BigDecimal.class);
+        }
+
+        @Override
+        public BigDecimal deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.currentToken() != JsonToken.VALUE_NUMBER_INT) {
+                return (BigDecimal) context.handleUnexpectedToken(BigDecimal.class, parser);
+            }
+            return BigDecimal.valueOf(parser.getLongValue(), AMOUNT_SCALE);
+        }
+    }
+
+    private static final class RejectionCodeSerializer extends StdScalarSerializer<MortgageRejectionReason> {
+
+        private RejectionCodeSerializer() {
+            super(MortgageRejectionReason.class);
+        }
+
+        @Override
+        public void serialize(MortgageRejectionReason value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeNumber(value.getCode());
+        }
+    }
+
+    private static final class RejectionCodeDeserializer extends StdScalarDeserializer<MortgageRejectionReason> {
+
+        private RejectionCodeDeserializer() {
+            super(MortgageRejectionReason.class);
+        }
+
+        @Override
+        public MortgageRejectionReason deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.currentToken() != JsonToken.VALUE_NUMBER_INT) {
+                return (MortgageRejectionReason) context.handleUnexpectedToken(MortgageRejectionReason.class, parser);
+            }
+            try {
+                return MortgageRejectionReason.fromCode(parser.getIntValue());
+            } catch (IllegalArgumentException e) {
+                return (MortgageRejectionReason) context.handleWeirdNumberValue(MortgageRejectionReason.class, parser.getIntValue(), e.getMessage());
+            }
+        }
+    }
+}
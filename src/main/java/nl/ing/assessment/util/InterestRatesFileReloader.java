@@ -0,0 +1,135 @@
+package nl.ing.assessment.util;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import nl.ing.assessment.config.InterestRatesProperties;
+import nl.ing.assessment.config.InterestRatesProperties.InterestRateValue;
+import nl.ing.assessment.exception.MortgageAndInterestRatesException;
+import nl.ing.assessment.interest.model.InterestRateSnapshot;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+
+@Component
+@NoArgsConstructor
+@Slf4j
+public class InterestRatesFileReloader {
+
+    /**
+     * Time to wait for an editor to finish writing the rates file before it is read
+     */
+    private static final long RELOAD_DELAY_MILLIS = 200;
+
+    @Autowired
+    private InterestRatesProperties interestRatesProperties;
+
+    @Autowired
+    private MortgageAndInterestRatesUtil mortgageAndInterestRatesUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private WatchService watchService;
+
+    /**
+     * Load the interest rates file, when configured, and reload it whenever it changes
+     *
+     * @throws IOException when the rates file directory cannot be watched
+     */
+    @PostConstruct
+    public void watchInterestRatesFile() throws IOException {
+        Path ratesFile = getRatesFile();
+        if (ratesFile == null) {
+            log.info("No interest rates file configured");
+            return;
+        }
+        if (Files.exists(ratesFile)) {
+            reloadQuietly();
+        }
+
+        watchService = ratesFile.getFileSystem().newWatchService();
+        ratesFile.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        Thread watcher = new Thread(() -> watch(ratesFile), "interest-rates-file-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        log.info("Watching interest rates file {}", ratesFile);
+    }
+
+    @PreDestroy
+    public void stopWatching() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    /**
+     * Reload the interest rates from the configured rates file
+     *
+     * @return The published snapshot
+     * @throws MortgageAndInterestRatesException when no rates file is configured, or it cannot be read or is invalid
+     */
+    public InterestRateSnapshot reloadInterestRates() throws MortgageAndInterestRatesException {
+        Path ratesFile = getRatesFile();
+        if (ratesFile == null) {
+            throw new MortgageAndInterestRatesException("No interest rates file configured");
+        }
+        log.info("Reloading interest rates from {}", ratesFile);
+
+        List<InterestRateValue> rates;
+        try {
+            rates = objectMapper.readValue(ratesFile.toFile(), new TypeReference<>() {
+            });
+        } catch (IOException e) {
+            throw new MortgageAndInterestRatesException("Interest rates file cannot be read: " + e.getMessage());
+        }
+        return mortgageAndInterestRatesUtil.publishInterestRates(rates);
+    }
+
+    private void watch(Path ratesFile) {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Thread.sleep(RELOAD_DELAY_MILLIS);
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    changed |= ratesFile.getFileName().equals(event.context());
+                }
+                key.reset();
+                if (changed) {
+                    reloadQuietly();
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            log.info("Stopped watching interest rates file {}", ratesFile);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void reloadQuietly() {
+        try {
+            reloadInterestRates();
+        } catch (MortgageAndInterestRatesException e) {
+            log.warn("Keeping interest rates version {}: {}", mortgageAndInterestRatesUtil.getInterestRateSnapshot().getVersion(), e.getMessage());
+        }
+    }
+
+    private Path getRatesFile() {
+        String ratesFile = interestRatesProperties.getRatesFile();
+        return StringUtils.hasText(ratesFile) ? Path.of(ratesFile).toAbsolutePath() : null;
+    }
+}
@@ -5,14 +5,20 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import nl.ing.assessment.config.InterestRatesProperties;
+import nl.ing.assessment.config.InterestRatesProperties.InterestRateValue;
 import nl.ing.assessment.exception.MortgageAndInterestRatesException;
 import nl.ing.assessment.interest.model.InterestRate;
+import nl.ing.assessment.interest.model.InterestRateSnapshot;
+import nl.ing.assessment.interest.model.YieldCurve;
+import nl.ing.assessment.service.InterestRateHistoryService;
+import nl.ing.assessment.validate.InterestRatesValidator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
 import java.util.List;
-import java.util.Objects;
 
 @Component
 @NoArgsConstructor
@@ -23,7 +29,21 @@ public class MortgageAndInterestRatesUtil {
     @Autowired
     private InterestRatesProperties interestRatesProperties;
 
-    private List<InterestRate> interestRates;
+    @Autowired
+    private InterestRatesValidator interestRatesValidator;
+
+    @Autowired
+    private AnnuityFactorCache annuityFactorCache;
+
+    @Autowired(required = false)
+    private InterestRateHistoryService interestRateHistoryService;
+
+    private volatile InterestRateSnapshot interestRateSnapshot = InterestRateSnapshot.of(List.of());
+
+    /**
+     * Whether the interest rates are distributed by a cluster leader, so they cannot be published on this node
+     */
+    private volatile boolean distributedByLeader;
 
     /**
      * Load a List of interest rates
@@ -31,7 +51,113 @@ public class MortgageAndInterestRatesUtil {
     @PostConstruct
     public void loadInterestRates() {
         log.info("Initializing interest rates");
-        interestRates = interestRatesProperties.populateInterestRates();
+        try {
+            publishInterestRates(interestRatesProperties.getRates());
+        } catch (MortgageAndInterestRatesException e) {
+            throw new IllegalStateException("Invalid interest rate configuration: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Leave the interest rates to a cluster leader. Until the leader's first rate table is applied, the rate table of
+     * this node is served as version 0, which the leader never publishes, so a version always identifies one rate table
+     * of the cluster.
+     */
+    public synchronized void distributeByLeader() {
+        distributedByLeader = true;
+        InterestRateSnapshot snapshot = interestRateSnapshot;
+        interestRateSnapshot = InterestRateSnapshot.of(0, snapshot.getLastUpdate(), snapshot.getInterestRates(),
+                snapshot.getYieldCurve().getInterpolation());
+        log.info("Serving the local interest rates as version 0 until the cluster leader's rate table is applied");
+    }
+
+    /**
+     * Validate a rate table and replace the current interest rates with a new snapshot of it. Mortgage checks
+     * in progress keep using the snapshot they started with.
+     *
+     * @param rates  Interest rates
+     * @return The published snapshot
+     * @throws MortgageAndInterestRatesException when the rate table is invalid, or distributed by a cluster leader
+     */
+    public synchronized InterestRateSnapshot publishInterestRates(List<InterestRateValue> rates) throws MortgageAndInterestRatesException {
+        if (distributedByLeader) {
+            throw new MortgageAndInterestRatesException("Interest rates are published by the cluster leader");
+        }
+        return applyInterestRates(interestRateSnapshot.getVersion() + 1, new Timestamp(System.currentTimeMillis()), rates,
+                interestRatesProperties.getInterpolation());
+    }
+
+    /**
+     * Validate a rate table and replace the current interest rates with a snapshot of it with a given version, such as
+     * a rate table distributed by the cluster leader
+     *
+     * @param version        Version of the rate table
+     * @param lastUpdate     Moment the rate table was published
+     * @param rates          Interest rates
+     * @param interpolation  Interpolation between the maturity periods of the rate table
+     * @return The published snapshot
+     * @throws MortgageAndInterestRatesException when the rate table is invalid
+     */
+    public synchronized InterestRateSnapshot applyInterestRates(long version, Timestamp lastUpdate, List<InterestRateValue> rates,
+                                                                YieldCurve.Interpolation interpolation) throws MortgageAndInterestRatesException {
+        interestRatesValidator.validateInterestRates(rates);
+
+        List<InterestRate> interestRates = recordInterestRates(InterestRatesProperties.populateInterestRates(rates, lastUpdate), lastUpdate);
+        InterestRateSnapshot snapshot = InterestRateSnapshot.of(version, lastUpdate, interestRates, interpolation);
+        annuityFactorCache.rebuild(snapshot.getCurveInterestRates());
+        interestRateSnapshot = snapshot;
+
+        log.info("Published interest rates version {} with {} rates and {} interpolation up to {} years", snapshot.getVersion(),
+                interestRates.size(), snapshot.getYieldCurve().getInterpolation(), snapshot.getYieldCurve().getMaxMaturityPeriod());
+        return snapshot;
+    }
+
+    private List<InterestRate> recordInterestRates(List<InterestRate> interestRates, Timestamp lastUpdate) {
+        if (interestRateHistoryService == null) {
+            return interestRates;
+        }
+        try {
+            return interestRateHistoryService.recordInterestRates(interestRates, lastUpdate);
+        } catch (DataAccessException e) {
+            // The live rate table does not depend on the history, it only misses this change
+            log.warn("Interest rate history not recorded: {}", e.getMessage());
+            return interestRates;
+        }
+    }
+
+    /**
+     * Get the rate table that was effective at a moment. Moments since the current rate table was published are
+     * answered from the current snapshot, earlier moments from the interest rate history as an unversioned snapshot
+     * last updated by its latest rate change. Without interest rate history only the current snapshot is known.
+     *
+     * @param asOf  Moment
+     * @return Interest rate snapshot, without interest rates when none were effective
+     */
+    public InterestRateSnapshot getInterestRateSnapshot(Timestamp asOf) {
+        InterestRateSnapshot snapshot = interestRateSnapshot;
+        if (!asOf.before(snapshot.getLastUpdate())) {
+            return snapshot;
+        }
+        if (interestRateHistoryService == null) {
+            return InterestRateSnapshot.of(0, null, List.of());
+        }
+        List<InterestRate> interestRates = interestRateHistoryService.getInterestRates(asOf);
+        Timestamp lastUpdate = null;
+        for (InterestRate interestRate : interestRates) {
+            if (lastUpdate == null || interestRate.lastUpdate().after(lastUpdate)) {
+                lastUpdate = interestRate.lastUpdate();
+            }
+        }
+        return InterestRateSnapshot.of(0, lastUpdate, interestRates);
+    }
+
+    /**
+     * Get all interest rates
+     *
+     * @return List of interest rates
+     */
+    public List<InterestRate> getInterestRates() {
+        return interestRateSnapshot.getInterestRates();
     }
 
     /**
@@ -42,11 +168,11 @@ public class MortgageAndInterestRatesUtil {
      * @throws MortgageAndInterestRatesException
      */
     public BigDecimal getInterestRateForMaturityPeriod(Integer maturityPeriod) throws MortgageAndInterestRatesException {
-       log.info("Getting interest rate for maturity period: {}", maturityPeriod);
-        return interestRates.stream()
-                .filter(interestRate -> Objects.equals(interestRate.maturityPeriod(), maturityPeriod))
-                .findFirst()
-                .map(InterestRate::interestRate)
-                .orElseThrow(() -> new MortgageAndInterestRatesException("Interest rate not found for maturity period: " + maturityPeriod));
-    }
-}
\ No newline at end of file
+        log.debug("Getting interest rate for maturity period: {}", maturityPeriod);
+        BigDecimal interestRate = interestRateSnapshot.findInterestRate(maturityPeriod);
+        if (interestRate == null) {
+            throw new MortgageAndInterestRatesException("Interest rate not found for maturity period: " + maturityPeriod);
+        }
+        return interestRate;
+    }
+}
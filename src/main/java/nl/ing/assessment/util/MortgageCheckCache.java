@@ -0,0 +1,74 @@
+package nl.ing.assessment.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import nl.ing.assessment.config.MortgageCacheProperties;
+import nl.ing.assessment.interest.model.InterestRateSnapshot;
+import nl.ing.assessment.mortgage.request.MortgageRequest;
+import nl.ing.assessment.mortgage.response.MortgageResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Size bounded cache of mortgage check responses, evicted by Caffeine's W-TinyLFU policy. Responses are keyed by the
+ * request amounts without trailing zeros and the version of the interest rate table, so a new rate table is never
+ * answered from the cache; the responses of older versions are no longer requested and are evicted.
+ */
+@Component
+@NoArgsConstructor
+@Slf4j
+public class MortgageCheckCache {
+
+    private static final String CACHE_NAME = "mortgage.check";
+
+    @Autowired
+    private MortgageCacheProperties mortgageCacheProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<MortgageCheckKey, MortgageResponse> cache;
+
+    /**
+     * Create the cache and register its metrics when caching is enabled
+     */
+    @PostConstruct
+    public void createCache() {
+        if (!mortgageCacheProperties.isEnabled()) {
+            return;
+        }
+        log.info("Caching up to {} mortgage check responses", mortgageCacheProperties.getMaximumSize());
+        cache = Caffeine.newBuilder()
+                .maximumSize(mortgageCacheProperties.getMaximumSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Ratio of cache requests answered from the cache")
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the cached response of a mortgage check, or check the mortgage and cache its response
+     *
+     * @param request               Mortgage request
+     * @param interestRateSnapshot  Interest rate snapshot the mortgage is checked with
+     * @param check                 Mortgage check
+     * @return Mortgage check response
+     */
+    public MortgageResponse get(MortgageRequest request, InterestRateSnapshot interestRateSnapshot, Supplier<MortgageResponse> check) {
+        if (cache == null) {
+            return check.get();
+        }
+        return cache.get(MortgageCheckKey.of(request, interestRateSnapshot), k -> check.get());
+    }
+}
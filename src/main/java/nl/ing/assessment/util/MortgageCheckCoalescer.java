@@ -0,0 +1,143 @@
+package nl.ing.assessment.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import nl.ing.assessment.config.MortgageCoalescingProperties;
+import nl.ing.assessment.interest.model.InterestRateSnapshot;
+import nl.ing.assessment.mortgage.request.MortgageRequest;
+import nl.ing.assessment.mortgage.response.MortgageResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight coalescing of identical mortgage checks. The first caller of a check computes it, while identical
+ * callers that arrive before it is done wait on the same response instead of computing it again. A waiter that times
+ * out, or whose shared computation failed, checks the mortgage itself, so a slow or failing check is never handed to
+ * all of its waiters.
+ */
+@Component
+@NoArgsConstructor
+@Slf4j
+public class MortgageCheckCoalescer {
+
+    private static final String REQUESTS_METRIC = "mortgage.coalescing.requests";
+
+    @Autowired
+    private MortgageCoalescingProperties mortgageCoalescingProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<MortgageCheckKey, CompletableFuture<MortgageResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private long timeoutNanos;
+
+    private Counter leaderCounter;
+
+    private Counter coalescedCounter;
+
+    private Counter timeoutCounter;
+
+    private Counter failureCounter;
+
+    /**
+     * Register the coalescing metrics when coalescing is enabled
+     */
+    @PostConstruct
+    public void registerMetrics() {
+        if (!mortgageCoalescingProperties.isEnabled()) {
+            return;
+        }
+        log.info("Coalescing identical mortgage checks, waiting at most {}", mortgageCoalescingProperties.getTimeout());
+        timeoutNanos = mortgageCoalescingProperties.getTimeout().toNanos();
+        leaderCounter = requestCounter("leader", "Mortgage checks computed for their identical callers");
+        coalescedCounter = requestCounter("coalesced", "Mortgage checks answered by an identical check in flight");
+        timeoutCounter = requestCounter("timeout", "Mortgage checks computed after waiting on an identical check timed out");
+        failureCounter = requestCounter("failure", "Mortgage checks computed after an identical check in flight failed");
+        Gauge.builder("mortgage.coalescing.ratio", this, MortgageCheckCoalescer::getCoalescingRatio)
+                .description("Ratio of mortgage checks answered by an identical check in flight")
+                .register(meterRegistry);
+        Gauge.builder("mortgage.coalescing.in.flight", inFlight, ConcurrentHashMap::size)
+                .description("Number of distinct mortgage checks in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the response of an identical mortgage check in flight, or check the mortgage and share its response with
+     * the identical callers that arrive while it is checked
+     *
+     * @param request               Mortgage request
+     * @param interestRateSnapshot  Interest rate snapshot the mortgage is checked with
+     * @param check                 Mortgage check
+     * @return Mortgage check response
+     */
+    public MortgageResponse get(MortgageRequest request, InterestRateSnapshot interestRateSnapshot, Supplier<MortgageResponse> check) {
+        if (leaderCounter == null) {
+            return check.get();
+        }
+        MortgageCheckKey key = MortgageCheckKey.of(request, interestRateSnapshot);
+        CompletableFuture<MortgageResponse> computation = new CompletableFuture<>();
+        CompletableFuture<MortgageResponse> existing = inFlight.putIfAbsent(key, computation);
+        if (existing == null) {
+            return compute(key, computation, check);
+        }
+        try {
+            MortgageResponse response = existing.get(timeoutNanos, TimeUnit.NANOSECONDS);
+            coalescedCounter.increment();
+            return response;
+        } catch (TimeoutException e) {
+            timeoutCounter.increment();
+        } catch (ExecutionException e) {
+            failureCounter.increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            timeoutCounter.increment();
+        }
+        return check.get();
+    }
+
+    /**
+     * @return Ratio of mortgage checks answered by an identical check in flight
+     */
+    public double getCoalescingRatio() {
+        if (leaderCounter == null) {
+            return 0;
+        }
+        double coalesced = coalescedCounter.count();
+        double total = leaderCounter.count() + coalesced + timeoutCounter.count() + failureCounter.count();
+        return total == 0 ? 0 : coalesced / total;
+    }
+
+    private MortgageResponse compute(MortgageCheckKey key, CompletableFuture<MortgageResponse> computation,
+                                     Supplier<MortgageResponse> check) {
+        leaderCounter.increment();
+        try {
+            MortgageResponse response = check.get();
+            computation.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            computation.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, computation);
+        }
+    }
+
+    private Counter requestCounter(String result, String description) {
+        return Counter.builder(REQUESTS_METRIC)
+                .description(description)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,25 @@
+package nl.ing.assessment.util;
+
+import nl.ing.assessment.interest.model.InterestRateSnapshot;
+import nl.ing.assessment.mortgage.request.MortgageRequest;
+
+import java.math.BigDecimal;
+
+/**
+ * Identity of a mortgage check: the request amounts without trailing zeros and the interest rate snapshot the mortgage
+ * is checked with, so requests that only differ in the scale of their amounts are the same check. The snapshot is
+ * compared by identity rather than by version, since a version does not always identify one rate table, such as the
+ * rates a cluster follower serves before it applied the leader's.
+ */
+record MortgageCheckKey(BigDecimal income, Integer maturityPeriod, BigDecimal loanValue, BigDecimal homeValue,
+                        InterestRateSnapshot interestRateSnapshot) {
+
+    static MortgageCheckKey of(MortgageRequest request, InterestRateSnapshot interestRateSnapshot) {
+        return new MortgageCheckKey(normalize(request.income()), request.maturityPeriod(),
+                normalize(request.loanValue()), normalize(request.homeValue()), interestRateSnapshot);
+    }
+
+    private static BigDecimal normalize(BigDecimal amount) {
+        return amount == null ? null : amount.stripTrailingZeros();
+    }
+}
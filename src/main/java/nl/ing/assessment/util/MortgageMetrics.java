@@ -0,0 +1,105 @@
+package nl.ing.assessment.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import nl.ing.assessment.validate.InterestRatesValidator;
+import nl.ing.assessment.validate.MortgageRejectionReason;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Micrometer meters of the mortgage check. All tags have a small, fixed set of values: rejection reasons are
+ * the {@link MortgageRejectionReason} names and maturity periods above the largest valid period share one tag.
+ */
+@Component
+@NoArgsConstructor
+@Getter
+public class MortgageMetrics {
+
+    private static final String OTHER_MATURITY_PERIOD = "other";
+
+    private static final int RATE_LOOKUP_TAGS = InterestRatesValidator.MAX_MATURITY_PERIOD + 1;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MortgageAndInterestRatesUtil mortgageAndInterestRatesUtil;
+
+    private Timer mortgageCheckTimer;
+
+    private Timer monthlyCostTimer;
+
+    private final Map<MortgageRejectionReason, Counter> rejectionCounters = new EnumMap<>(MortgageRejectionReason.class);
+
+    // Hits at [tag], misses at [RATE_LOOKUP_TAGS + tag], registered on first use so unused periods are not scraped
+    private final AtomicReferenceArray<Counter> rateLookupCounters = new AtomicReferenceArray<>(2 * RATE_LOOKUP_TAGS);
+
+    /**
+     * Register the timers, the rejection counters and the rate table version gauge
+     */
+    @PostConstruct
+    public void registerMeters() {
+        mortgageCheckTimer = latencyTimer("mortgage.check", "Time to check the feasibility of a mortgage");
+        monthlyCostTimer = latencyTimer("mortgage.monthly.cost", "Time to calculate the monthly cost of a loan");
+        for (MortgageRejectionReason reason : MortgageRejectionReason.values()) {
+            rejectionCounters.put(reason, Counter.builder("mortgage.rejections")
+                    .description("Mortgage checks that are not feasible")
+                    .tag("reason", reason.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        Gauge.builder("interest.rates.version", mortgageAndInterestRatesUtil, util -> util.getInterestRateSnapshot().getVersion())
+                .description("Version of the active interest rate table")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Count a mortgage that is not feasible
+     *
+     * @param reason  Rejection reason
+     */
+    public void recordRejection(MortgageRejectionReason reason) {
+        rejectionCounters.get(reason).increment();
+    }
+
+    /**
+     * Count an interest rate lookup
+     *
+     * @param maturityPeriod  Maturity period that was looked up
+     * @param hit             Whether the rate table has a rate for the maturity period
+     */
+    public void recordRateLookup(int maturityPeriod, boolean hit) {
+        int tag = maturityPeriod > 0 && maturityPeriod < RATE_LOOKUP_TAGS ? maturityPeriod : 0;
+        int index = hit ? tag : RATE_LOOKUP_TAGS + tag;
+        Counter counter = rateLookupCounters.get(index);
+        if (counter == null) {
+            counter = Counter.builder("interest.rate.lookups")
+                    .description("Interest rate lookups by maturity period")
+                    .tag("maturity.period", tag == 0 ? OTHER_MATURITY_PERIOD : Integer.toString(tag))
+                    .tag("result", hit ? "hit" : "miss")
+                    .register(meterRegistry);
+            rateLookupCounters.set(index, counter);
+        }
+        counter.increment();
+    }
+
+    private Timer latencyTimer(String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(1_000))
+                .maximumExpectedValue(Duration.ofSeconds(1))
+                .register(meterRegistry);
+    }
+}
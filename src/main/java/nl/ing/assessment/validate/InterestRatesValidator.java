@@ -0,0 +1,55 @@
+package nl.ing.assessment.validate;
+
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import nl.ing.assessment.config.InterestRatesProperties.InterestRateValue;
+import nl.ing.assessment.exception.MortgageAndInterestRatesException;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Slf4j
+@Component
+@NoArgsConstructor
+public class InterestRatesValidator {
+
+    /**
+     * Longest maturity period a rate table may contain
+     */
+    public static final int MAX_MATURITY_PERIOD = 100;
+
+    private static final BigDecimal MAX_INTEREST_RATE = BigDecimal.valueOf(100);
+
+    /**
+     * Validate a rate table before it replaces the current interest rates
+     *
+     * @param rates  Interest rates
+     *
+     * @throws MortgageAndInterestRatesException
+     */
+    public void validateInterestRates(List<InterestRateValue> rates) throws MortgageAndInterestRatesException {
+        log.info("Validating {} interest rates", rates == null ? 0 : rates.size());
+
+        if (rates == null || rates.isEmpty()) {
+            throw new MortgageAndInterestRatesException("At least one interest rate is required");
+        }
+        Set<Integer> maturityPeriods = new HashSet<>();
+        for (InterestRateValue rate : rates) {
+            if (rate == null) {
+                throw new MortgageAndInterestRatesException("An interest rate must not be empty");
+            }
+            if (rate.getMaturityPeriod() <= 0 || rate.getMaturityPeriod() > MAX_MATURITY_PERIOD) {
+                throw new MortgageAndInterestRatesException("A maturity period must be between 1 and " + MAX_MATURITY_PERIOD + ": " + rate.getMaturityPeriod());
+            }
+            if (rate.getRate() == null || rate.getRate().compareTo(BigDecimal.ZERO) <= 0 || rate.getRate().compareTo(MAX_INTEREST_RATE) >= 0) {
+                throw new MortgageAndInterestRatesException("An interest rate must be greater than zero and less than 100 for maturity period: " + rate.getMaturityPeriod());
+            }
+            if (!maturityPeriods.add(rate.getMaturityPeriod())) {
+                throw new MortgageAndInterestRatesException("Duplicate interest rate for maturity period: " + rate.getMaturityPeriod());
+            }
+        }
+    }
+}
@@ -13,42 +13,70 @@ import java.math.BigDecimal;
 @NoArgsConstructor
 public class MortgageAndInterestRatesValidator {
 
+    private static final BigDecimal MAX_LOAN_INCOME_MULTIPLIER = BigDecimal.valueOf(4);
+
     /**
-     * Validate mortgage details
+     * Validate mortgage details, evaluating every rule. A rule comparing the loan value with the income or the home
+     * value is only evaluated when both values are valid themselves.
      *
      * @param request      Mortgage request
-     *
-     * @throws MortgageAndInterestRatesException
+     * @return The violated rules, {@link MortgageViolations#NONE} when the request is valid
      */
-    public void validateMortgageDetails(MortgageRequest request) throws MortgageAndInterestRatesException {
-        log.info("Validating mortgage details for request: {} ", request);
+    public MortgageViolations validate(MortgageRequest request) {
+        log.debug("Validating mortgage details for request: {} ", request);
 
-        BigDecimal maxLoanValue = request.income().multiply(BigDecimal.valueOf(4));
-        log.info("Max loan value: {}", maxLoanValue);
-
-        if (maxLoanValue.compareTo(BigDecimal.ZERO) <= 0) {
-            log.info("Income is less than or equal to zero");
-            throw new MortgageAndInterestRatesException("An income must be greater than zero");
+        MortgageViolations violations = MortgageViolations.NONE;
+        boolean validIncome = isPositive(request.income());
+        boolean validHomeValue = isPositive(request.homeValue());
+        boolean validLoanValue = isPositive(request.loanValue());
+        if (!validIncome) {
+            violations = violations.with(MortgageRejectionReason.INCOME_NOT_POSITIVE);
         }
-        if (request.homeValue().compareTo(BigDecimal.ZERO) <= 0) {
-            log.info("Home value is less than or equal to zero");
-            throw new MortgageAndInterestRatesException("A home value must be greater than zero");
+        if (!validHomeValue) {
+            violations = violations.with(MortgageRejectionReason.HOME_VALUE_NOT_POSITIVE);
         }
-        if (request.maturityPeriod() <= 0) {
-            log.info("Maturity period is less than or equal to zero");
-            throw new MortgageAndInterestRatesException("A maturity period must be greater than zero");
+        if (request.maturityPeriod() == null || request.maturityPeriod() <= 0) {
+            violations = violations.with(MortgageRejectionReason.MATURITY_PERIOD_NOT_POSITIVE);
         }
-
-        if (request.loanValue().compareTo(BigDecimal.ZERO) <= 0) {
-            log.info("Loan value is less than or equal to zero");
-            throw new MortgageAndInterestRatesException("A loan value must be greater than zero");
+        if (!validLoanValue) {
+            violations = violations.with(MortgageRejectionReason.LOAN_VALUE_NOT_POSITIVE);
+        }
+        if (validIncome && validLoanValue && request.loanValue().compareTo(request.income().multiply(MAX_LOAN_INCOME_MULTIPLIER)) > 0) {
+            violations = violations.with(MortgageRejectionReason.LOAN_EXCEEDS_INCOME_LIMIT);
         }
-        else if (request.loanValue().compareTo(maxLoanValue) > 0 ) {
-            log.info("Loan value is more than 4 times the income");
-            throw new MortgageAndInterestRatesException("A Mortgage cannot be more than 4 times the income");
-        } else if (request.loanValue().compareTo(request.homeValue()) > 0) {
-            log.info("Loan value is more than the home value");
-            throw new MortgageAndInterestRatesException("A Mortgage cannot be more than the home value");
+        if (validHomeValue && validLoanValue && request.loanValue().compareTo(request.homeValue()) > 0) {
+            violations = violations.with(MortgageRejectionReason.LOAN_EXCEEDS_HOME_VALUE);
         }
+
+        log.debug("Mortgage rule violations: {}", violations);
+        return violations;
+    }
+
+    /**
+     * Validate mortgage details
+     *
+     * @param request      Mortgage request
+     *
+     * @throws MortgageAndInterestRatesException with the first violated rule
+     */
+    public void validateMortgageDetails(MortgageRequest request) throws MortgageAndInterestRatesException {
+        MortgageViolations violations = validate(request);
+        if (!violations.isEmpty()) {
+            throw new MortgageAndInterestRatesException(violations.first());
+        }
+    }
+
+    /**
+     * Get the largest loan value the income allows, the inverse of the income limit of {@link #validate}
+     *
+     * @param income  Income, greater than zero
+     * @return Maximum loan value
+     */
+    public BigDecimal getMaxLoanValueForIncome(BigDecimal income) {
+        return income.multiply(MAX_LOAN_INCOME_MULTIPLIER);
+    }
+
+    private static boolean isPositive(BigDecimal amount) {
+        return amount != null && amount.signum() > 0;
     }
 }
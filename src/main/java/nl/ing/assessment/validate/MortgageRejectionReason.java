@@ -0,0 +1,51 @@
+package nl.ing.assessment.validate;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Reasons a mortgage is not feasible, with a stable numeric code for compact and columnar responses
+ */
+@JsonFormat(shape = JsonFormat.Shape.OBJECT)
+public enum MortgageRejectionReason {
+    INCOME_NOT_POSITIVE(1, "An income must be greater than zero"),
+    HOME_VALUE_NOT_POSITIVE(2, "A home value must be greater than zero"),
+    MATURITY_PERIOD_NOT_POSITIVE(3, "A maturity period must be greater than zero"),
+    LOAN_VALUE_NOT_POSITIVE(4, "A loan value must be greater than zero"),
+    LOAN_EXCEEDS_INCOME_LIMIT(5, "A Mortgage cannot be more than 4 times the income"),
+    LOAN_EXCEEDS_HOME_VALUE(6, "A Mortgage cannot be more than the home value"),
+    INTEREST_RATE_NOT_FOUND(7, "Interest rate not found for maturity period");
+
+    private final int code;
+
+    private final String message;
+
+    MortgageRejectionReason(int code, String message) {
+        this.code = code;
+        this.message = message;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * @param code  Rejection code
+     * @return The rejection reason with the code
+     * @throws IllegalArgumentException when no reason has the code
+     */
+    @JsonCreator(mode = JsonCreator.Mode.PROPERTIES)
+    public static MortgageRejectionReason fromCode(@JsonProperty("code") int code) {
+        for (MortgageRejectionReason reason : values()) {
+            if (reason.code == code) {
+                return reason;
+            }
+        }
+        throw new IllegalArgumentException("Unknown rejection code: " + code);
+    }
+}
@@ -0,0 +1,105 @@
+package nl.ing.assessment.validate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The rules a mortgage request violates. An instance exists for every combination of rejection reasons and is
+ * created once, so validating a request never allocates.
+ */
+public final class MortgageViolations {
+
+    private static final MortgageRejectionReason[] REASONS = MortgageRejectionReason.values();
+
+    private static final MortgageViolations[] BY_MASK = new MortgageViolations[1 << REASONS.length];
+
+    static {
+        for (int mask = 0; mask < BY_MASK.length; mask++) {
+            BY_MASK[mask] = new MortgageViolations(mask);
+        }
+    }
+
+    /**
+     * No violated rules
+     */
+    public static final MortgageViolations NONE = BY_MASK[0];
+
+    private final int mask;
+
+    private final List<MortgageRejectionReason> reasons;
+
+    private MortgageViolations(int mask) {
+        this.mask = mask;
+        List<MortgageRejectionReason> violated = new ArrayList<>();
+        for (MortgageRejectionReason reason : REASONS) {
+            if ((mask & bit(reason)) != 0) {
+                violated.add(reason);
+            }
+        }
+        this.reasons = List.copyOf(violated);
+    }
+
+    /**
+     * @param mask  Bit mask with bit {@link Enum#ordinal()} set for every violated rule
+     * @return The violations of the mask
+     */
+    public static MortgageViolations fromMask(int mask) {
+        return BY_MASK[mask & (BY_MASK.length - 1)];
+    }
+
+    /**
+     * @param reasons  Violated rules
+     * @return The violations of the rules
+     */
+    public static MortgageViolations of(Collection<MortgageRejectionReason> reasons) {
+        int mask = 0;
+        for (MortgageRejectionReason reason : reasons) {
+            mask |= bit(reason);
+        }
+        return BY_MASK[mask];
+    }
+
+    /**
+     * @param reason  A violated rule
+     * @return These violations together with the given rule
+     */
+    public MortgageViolations with(MortgageRejectionReason reason) {
+        return BY_MASK[mask | bit(reason)];
+    }
+
+    public boolean contains(MortgageRejectionReason reason) {
+        return (mask & bit(reason)) != 0;
+    }
+
+    public boolean isEmpty() {
+        return mask == 0;
+    }
+
+    /**
+     * @return The violated rules in the order the rules are checked
+     */
+    public List<MortgageRejectionReason> getReasons() {
+        return reasons;
+    }
+
+    /**
+     * @return The first violated rule, or null when there are no violations
+     */
+    public MortgageRejectionReason first() {
+        return reasons.isEmpty() ? null : reasons.get(0);
+    }
+
+    public int getMask() {
+        return mask;
+    }
+
+    @Override
+    public String toString() {
+        return reasons.toString();
+    }
+
+    private static int bit(MortgageRejectionReason reason) {
+        return 1 << reason.ordinal();
+    }
+}
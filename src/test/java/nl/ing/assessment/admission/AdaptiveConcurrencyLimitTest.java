@@ -0,0 +1,74 @@
+package nl.ing.assessment.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    @Test
+    public void testRejectsAboveLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, Duration.ofMillis(100), 0.5);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        assertEquals(2, limit.getInFlight());
+
+        limit.release(FAST, System.nanoTime());
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    public void testIncreasesAdditivelyWhileInUse() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 1, 10, Duration.ofMillis(100), 0.5);
+
+        // A full round of fast requests at the limit raises it by about one
+        for (int round = 0; round < 4; round++) {
+            for (int i = 0; i < limit.getLimit(); i++) {
+                assertTrue(limit.tryAcquire());
+            }
+            while (limit.getInFlight() > 0) {
+                limit.release(FAST, System.nanoTime());
+            }
+        }
+        assertTrue(limit.getLimit() >= 6, "Limit " + limit.getLimit());
+
+        // A single request at a time does not use the limit, so it does not grow it
+        int before = limit.getLimit();
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(FAST, System.nanoTime());
+        }
+        assertEquals(before, limit.getLimit());
+    }
+
+    @Test
+    public void testDecreasesMultiplicativelyOncePerThreshold() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(8, 2, 10, Duration.ofMillis(100), 0.5);
+        long now = System.nanoTime();
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limit.tryAcquire());
+        }
+        limit.release(SLOW, now);
+        limit.release(SLOW, now + 1);
+        assertEquals(4, limit.getLimit());
+
+        limit.release(SLOW, now + TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(2, limit.getLimit());
+
+        assertTrue(limit.tryAcquire());
+        limit.release(SLOW, now + TimeUnit.SECONDS.toNanos(1));
+        assertEquals(2, limit.getLimit());
+    }
+}
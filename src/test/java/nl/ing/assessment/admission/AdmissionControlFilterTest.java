@@ -0,0 +1,166 @@
+package nl.ing.assessment.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import nl.ing.assessment.mortgage.response.MortgageResponse;
+import nl.ing.assessment.util.CompactWireFormat;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdmissionControlFilterTest {
+
+    private static final Set<String> LIMITED_PATHS = Set.of("/api/mortgage-check");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    public void testShedsClientAboveRate() throws Exception {
+        AdmissionControlFilter filter = new AdmissionControlFilter(new ClientRateLimiter(0.1, 2, 100, Duration.ofMinutes(1)),
+                new AdaptiveConcurrencyLimit(10, 1, 10, Duration.ofSeconds(1), 0.9), LIMITED_PATHS, "X-Client-Id", meterRegistry);
+
+        assertEquals(200, filter(filter, "partner").getStatus());
+        assertEquals(200, filter(filter, "partner").getStatus());
+        MockHttpServletResponse rejected = filter(filter, "partner");
+        assertEquals(429, rejected.getStatus());
+        assertEquals("10", rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().contains("Too many requests from this client"));
+
+        assertEquals(200, filter(filter, "other").getStatus());
+        // Without the header the remote address identifies the client
+        assertEquals(200, filter(filter, null).getStatus());
+        assertEquals(1.0, meterRegistry.get("mortgage.admission.rejections").tag("reason", "rate_limit").counter().count());
+    }
+
+    @Test
+    public void testShedsAboveConcurrencyLimit() throws Exception {
+        AdaptiveConcurrencyLimit concurrencyLimit = new AdaptiveConcurrencyLimit(1, 1, 1, Duration.ofSeconds(1), 0.9);
+        AdmissionControlFilter filter = new AdmissionControlFilter(new ClientRateLimiter(1000, 1000, 100, Duration.ofMinutes(1)),
+                concurrencyLimit, LIMITED_PATHS, "X-Client-Id", meterRegistry);
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[1];
+
+        // The request in progress takes the only slot, so a request arriving meanwhile is shed
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (request, ignored) -> nested[0] = filter(filter, "other");
+        filter.doFilter(request("partner"), response, chain);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(429, nested[0].getStatus());
+        assertEquals("1", nested[0].getHeader("Retry-After"));
+        assertEquals(0, concurrencyLimit.getInFlight());
+        assertEquals(1.0, meterRegistry.get("mortgage.admission.rejections").tag("reason", "concurrency").counter().count());
+        assertEquals(1.0, meterRegistry.get("mortgage.admission.limit").gauge().value());
+    }
+
+    @Test
+    public void testLongRequestsAreNotConcurrencyLimited() throws Exception {
+        AdaptiveConcurrencyLimit concurrencyLimit = new AdaptiveConcurrencyLimit(2, 1, 2, Duration.ofMillis(50), 0.5);
+        AdmissionControlFilter filter = new AdmissionControlFilter(new ClientRateLimiter(1000, 1000, 100, Duration.ofMinutes(1)),
+                concurrencyLimit, LIMITED_PATHS, "X-Client-Id", meterRegistry);
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[1];
+
+        // A batch slower than the latency threshold neither holds a slot nor lowers the limit for the single checks,
+        // the single check inside it is well within the threshold
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (request, ignored) -> {
+            LockSupport.parkNanos(Duration.ofMillis(200).toNanos());
+            nested[0] = filter(filter, "other");
+            assertEquals(0, concurrencyLimit.getInFlight());
+        };
+        MockHttpServletRequest batch = new MockHttpServletRequest("POST", "/api/mortgage-check/batch");
+        filter.doFilter(batch, response, chain);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(200, nested[0].getStatus());
+        assertEquals(2, concurrencyLimit.getLimit());
+        assertEquals(0.0, meterRegistry.get("mortgage.admission.rejections").tag("reason", "concurrency").counter().count());
+    }
+
+    @Test
+    public void testUntrustedClientHeaderIsIgnored() throws Exception {
+        AdmissionControlFilter filter = new AdmissionControlFilter(new ClientRateLimiter(0.1, 1, 100, Duration.ofMinutes(1)),
+                new AdaptiveConcurrencyLimit(10, 1, 10, Duration.ofSeconds(1), 0.9), LIMITED_PATHS, null, meterRegistry);
+
+        // Without a trusted header a caller cannot pick a fresh client id, and token bucket, for every request
+        assertEquals(200, filter(filter, "partner").getStatus());
+        assertEquals(429, filter(filter, "other").getStatus());
+
+        // An authenticated principal is a client of its own
+        MockHttpServletRequest request = request("other");
+        request.setUserPrincipal(() -> "partner");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    public void testConcurrencySheddingKeepsClientTokens() throws Exception {
+        AdaptiveConcurrencyLimit concurrencyLimit = new AdaptiveConcurrencyLimit(1, 1, 1, Duration.ofSeconds(1), 0.9);
+        AdmissionControlFilter filter = new AdmissionControlFilter(new ClientRateLimiter(0.1, 1, 100, Duration.ofMinutes(1)),
+                concurrencyLimit, LIMITED_PATHS, "X-Client-Id", meterRegistry);
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[1];
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (request, ignored) -> nested[0] = filter(filter, "partner");
+        filter.doFilter(request("other"), response, chain);
+        assertEquals(429, nested[0].getStatus());
+
+        // The shed request did not take the only token of its client, and a rate limited request gives its slot back
+        assertEquals(200, filter(filter, "partner").getStatus());
+        assertEquals(429, filter(filter, "partner").getStatus());
+        assertEquals(0, concurrencyLimit.getInFlight());
+        assertEquals(1, concurrencyLimit.getLimit());
+    }
+
+    @Test
+    public void testCompactRequestIsShedWithCompactBody() throws Exception {
+        AdmissionControlFilter filter = new AdmissionControlFilter(new ClientRateLimiter(0.1, 1, 100, Duration.ofMinutes(1)),
+                new AdaptiveConcurrencyLimit(10, 1, 10, Duration.ofSeconds(1), 0.9), LIMITED_PATHS, "X-Client-Id", meterRegistry);
+        assertEquals(200, filter(filter, "partner").getStatus());
+
+        MockHttpServletRequest request = request("partner");
+        request.setContentType(MediaType.APPLICATION_CBOR_VALUE);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertEquals(429, response.getStatus());
+        assertEquals(MediaType.APPLICATION_CBOR_VALUE, response.getContentType());
+        MortgageResponse rejected = CompactWireFormat.getObjectMapper().readValue(response.getContentAsByteArray(), MortgageResponse.class);
+        assertFalse(rejected.feasible());
+        assertEquals("Too many requests from this client", rejected.error());
+    }
+
+    private static MockHttpServletResponse filter(AdmissionControlFilter filter, String clientId) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request(clientId), response, chain);
+        if (response.getStatus() == 200) {
+            assertNotNull(chain.getRequest());
+        } else {
+            assertNull(chain.getRequest());
+        }
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String clientId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/mortgage-check");
+        if (clientId != null) {
+            request.addHeader("X-Client-Id", clientId);
+        }
+        return request;
+    }
+}
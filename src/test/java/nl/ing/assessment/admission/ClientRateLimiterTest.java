@@ -0,0 +1,74 @@
+package nl.ing.assessment.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ClientRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void testBurstThenSustainedRate() {
+        ClientRateLimiter limiter = new ClientRateLimiter(10, 3, 100, Duration.ofMinutes(1));
+        long now = 1_000 * SECOND;
+
+        assertEquals(0, limiter.tryAcquire("partner", now));
+        assertEquals(0, limiter.tryAcquire("partner", now));
+        assertEquals(0, limiter.tryAcquire("partner", now));
+        long wait = limiter.tryAcquire("partner", now);
+        assertEquals(SECOND / 10, wait);
+
+        // A token is back after one emission interval, and other clients have their own bucket
+        assertEquals(0, limiter.tryAcquire("partner", now + wait));
+        assertTrue(limiter.tryAcquire("partner", now + wait) > 0);
+        assertEquals(0, limiter.tryAcquire("other", now));
+        assertEquals(2, limiter.getClientCount());
+    }
+
+    @Test
+    public void testIdleClientRefillsUpToBurst() {
+        ClientRateLimiter limiter = new ClientRateLimiter(1, 2, 100, Duration.ofMinutes(1));
+        long now = 1_000 * SECOND;
+
+        assertEquals(0, limiter.tryAcquire("partner", now));
+        assertEquals(0, limiter.tryAcquire("partner", now));
+        long later = now + 60 * SECOND;
+        assertEquals(0, limiter.tryAcquire("partner", later));
+        assertEquals(0, limiter.tryAcquire("partner", later));
+        assertTrue(limiter.tryAcquire("partner", later) > 0);
+    }
+
+    @Test
+    public void testConcurrentClientsGetExactlyTheBurst() throws Exception {
+        ClientRateLimiter limiter = new ClientRateLimiter(0.001, 1000, 100, Duration.ofMinutes(1));
+        long now = System.nanoTime();
+        AtomicInteger admitted = new AtomicInteger();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        if (limiter.tryAcquire("partner", now) == 0) {
+                            admitted.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        assertEquals(1000, admitted.get());
+    }
+}
@@ -0,0 +1,101 @@
+package nl.ing.assessment.audit;
+
+import nl.ing.assessment.mortgage.request.MortgageRequest;
+import nl.ing.assessment.service.MortgageAndInterestRatesService;
+import nl.ing.assessment.validate.MortgageRejectionReason;
+import nl.ing.assessment.validate.MortgageViolations;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DirtiesContext
+public class AuditLogTest {
+
+    private static Path auditDirectory;
+
+    @Autowired
+    private MortgageAndInterestRatesService mortgageAndInterestRatesService;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    @DynamicPropertySource
+    static void auditProperties(DynamicPropertyRegistry registry) throws IOException {
+        auditDirectory = Files.createTempDirectory("audit");
+        registry.add("mortgage.audit.directory", auditDirectory::toString);
+        registry.add("mortgage.audit.segment-size", () -> (4 * AuditRecord.SIZE) + "B");
+        registry.add("mortgage.audit.max-segments", () -> "1000");
+    }
+
+    @Test
+    public void testCheckMortgage_RecordsDecisions() throws Exception {
+        long before = System.currentTimeMillis();
+        mortgageAndInterestRatesService.checkMortgage(new MortgageRequest(new BigDecimal("30000"), 10, new BigDecimal("10000"), new BigDecimal("50000")));
+        mortgageAndInterestRatesService.checkMortgage(new MortgageRequest(new BigDecimal("30000"), 10, new BigDecimal("10000"), new BigDecimal("5000")));
+        mortgageAndInterestRatesService.checkMortgage(new MortgageRequest(new BigDecimal("30000"), 40, new BigDecimal("10000"), new BigDecimal("50000")));
+        assertTrue(auditLog.flush(5000));
+
+        List<AuditRecord> records = new ArrayList<>();
+        AuditLogReader.read(auditDirectory, record -> record.timestamp() >= before, records::add);
+
+        assertEquals(3, records.size());
+        AuditRecord feasible = records.get(0);
+        assertTrue(feasible.feasible());
+        assertEquals(1, feasible.rateVersion());
+        assertEquals(10, feasible.maturityPeriod());
+        assertEquals(3000000, feasible.income());
+        assertEquals(1000000, feasible.loanValue());
+        assertEquals(5000000, feasible.homeValue());
+        assertEquals(10125, feasible.monthlyCost());
+        assertEquals(MortgageRejectionReason.LOAN_EXCEEDS_HOME_VALUE.getCode(), records.get(1).reasonCode());
+        assertEquals(MortgageViolations.NONE.with(MortgageRejectionReason.LOAN_EXCEEDS_HOME_VALUE).getMask(), records.get(1).violations());
+        assertEquals(1, records.get(1).rateVersion());
+        assertEquals(MortgageRejectionReason.INTEREST_RATE_NOT_FOUND.getCode(), records.get(2).reasonCode());
+        assertEquals(1, records.get(2).rateVersion());
+    }
+
+    @Test
+    public void testCheckMortgage_RotatesSegments() throws Exception {
+        long before = System.currentTimeMillis();
+        for (int i = 1; i <= 10; i++) {
+            mortgageAndInterestRatesService.checkMortgage(new MortgageRequest(new BigDecimal("30000"), 10, BigDecimal.valueOf(i * 1000), new BigDecimal("50000")));
+        }
+        assertTrue(auditLog.flush(5000));
+
+        List<AuditRecord> records = new ArrayList<>();
+        long count = AuditLogReader.read(auditDirectory, record -> record.timestamp() >= before && record.loanValue() <= 1000000, records::add);
+
+        assertEquals(10, count);
+        for (int i = 0; i < 10; i++) {
+            assertEquals((i + 1) * 100000L, records.get(i).loanValue());
+        }
+        assertTrue(AuditLogFile.segments(auditDirectory).size() >= 3);
+    }
+
+    @Test
+    public void testAuditLogFile_DeletesOldestSegments(@TempDir Path directory) throws Exception {
+        try (AuditLogFile file = new AuditLogFile(directory, AuditRecord.SIZE, 2)) {
+            file.rotate();
+            file.rotate();
+            file.rotate();
+        }
+
+        List<Path> segments = AuditLogFile.segments(directory);
+        assertEquals(List.of("audit-000000000003.log", "audit-000000000004.log"),
+                segments.stream().map(segment -> segment.getFileName().toString()).toList());
+    }
+}
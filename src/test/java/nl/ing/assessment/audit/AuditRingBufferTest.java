@@ -0,0 +1,93 @@
+package nl.ing.assessment.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuditRingBufferTest {
+
+    @Test
+    public void testCapacity_RoundedUpToPowerOfTwo() {
+        assertEquals(8, new AuditRingBuffer(5).capacity());
+        assertEquals(8, new AuditRingBuffer(8).capacity());
+        assertEquals(2, new AuditRingBuffer(0).capacity());
+    }
+
+    @Test
+    public void testOfferAndDrain_KeepsFieldsAndOrder() {
+        AuditRingBuffer ringBuffer = new AuditRingBuffer(4);
+        assertTrue(ringBuffer.offer(1000, 3, 10, 3000000, 1000000, 5000000, 10125, 0, 0));
+        assertTrue(ringBuffer.offer(2000, 0, Integer.MIN_VALUE, AuditRecord.NOT_AVAILABLE, -1, 0, 0, 5, 0x70));
+
+        ByteBuffer buffer = ByteBuffer.allocate(10 * AuditRecord.SIZE);
+        assertEquals(2, ringBuffer.drainTo(buffer));
+        assertEquals(0, ringBuffer.size());
+        buffer.flip();
+
+        assertEquals(new AuditRecord(1000, 3, 10, 3000000, 1000000, 5000000, 10125, 0, 0), AuditRecord.read(buffer));
+        assertEquals(new AuditRecord(2000, 0, Integer.MIN_VALUE, AuditRecord.NOT_AVAILABLE, -1, 0, 0, 5, 0x70), AuditRecord.read(buffer));
+        assertNull(AuditRecord.read(buffer));
+    }
+
+    @Test
+    public void testOffer_FullBuffer() {
+        AuditRingBuffer ringBuffer = new AuditRingBuffer(2);
+        assertTrue(ringBuffer.offer(1, 0, 10, 0, 0, 0, 0, 0, 0));
+        assertTrue(ringBuffer.offer(2, 0, 10, 0, 0, 0, 0, 0, 0));
+
+        assertFalse(ringBuffer.offer(3, 0, 10, 0, 0, 0, 0, 0, 0));
+
+        ByteBuffer buffer = ByteBuffer.allocate(AuditRecord.SIZE);
+        assertEquals(1, ringBuffer.drainTo(buffer));
+        assertTrue(ringBuffer.offer(3, 0, 10, 0, 0, 0, 0, 0, 0));
+        assertEquals(2, ringBuffer.size());
+    }
+
+    @Test
+    public void testConcurrentProducers_EveryRecordDrainedOnce() throws Exception {
+        int producers = 4;
+        int recordsPerProducer = 50_000;
+        AuditRingBuffer ringBuffer = new AuditRingBuffer(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int producer = 0; producer < producers; producer++) {
+            int maturityPeriod = producer;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < recordsPerProducer; i++) {
+                    while (!ringBuffer.offer(i, 0, maturityPeriod, 0, 0, 0, 0, 0, 0)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            }));
+        }
+
+        long[] nextTimestamp = new long[producers];
+        ByteBuffer buffer = ByteBuffer.allocate(256 * AuditRecord.SIZE);
+        int drained = 0;
+        while (drained < producers * recordsPerProducer) {
+            buffer.clear();
+            drained += ringBuffer.drainTo(buffer);
+            buffer.flip();
+            AuditRecord record;
+            while ((record = AuditRecord.read(buffer)) != null) {
+                assertEquals(nextTimestamp[record.maturityPeriod()]++, record.timestamp(), "records of one producer stay in order");
+            }
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        for (long count : nextTimestamp) {
+            assertEquals(recordsPerProducer, count);
+        }
+        assertEquals(0, ringBuffer.size());
+    }
+}
@@ -0,0 +1,42 @@
+package nl.ing.assessment.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.ConfigurationPropertiesAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MortgageBatchPropertiesTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(ConfigurationPropertiesAutoConfiguration.class))
+            .withUserConfiguration(MortgageBatchProperties.class);
+
+    @Test
+    public void testMortgageBatchExecutor_PlatformThreads() {
+        contextRunner.run(context -> {
+            Thread thread = workerThread(context.getBean("mortgageBatchExecutor", ExecutorService.class));
+
+            assertFalse(thread.isVirtual());
+            assertTrue(thread.getName().startsWith("mortgage-batch-"));
+        });
+    }
+
+    @Test
+    public void testMortgageBatchExecutor_VirtualThreads() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run(context -> {
+            Thread thread = workerThread(context.getBean("mortgageBatchExecutor", ExecutorService.class));
+
+            assertTrue(thread.isVirtual());
+            assertTrue(thread.getName().startsWith("mortgage-batch-"));
+        });
+    }
+
+    private static Thread workerThread(ExecutorService executor) throws Exception {
+        return executor.submit(Thread::currentThread).get();
+    }
+}
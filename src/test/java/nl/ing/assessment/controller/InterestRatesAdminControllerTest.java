@@ -0,0 +1,111 @@
+package nl.ing.assessment.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "mortgage.admin.enabled=true")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class InterestRatesAdminControllerTest {
+
+    private static final String MORTGAGE_REQUEST = "{\"loanValue\":10000,\"maturityPeriod\":10,\"income\":30000,\"homeValue\":50000}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testReplaceInterestRates() throws Exception {
+        String ratesJson = """
+                        [
+                          {"maturityPeriod": 10, "rate": 5.0},
+                          {"maturityPeriod": 20, "rate": 4.5}
+                        ]
+                        """;
+
+        mockMvc.perform(put("/api/admin/interest-rates")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(ratesJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(2))
+                .andExpect(jsonPath("$.interestRates.length()").value(2))
+                .andExpect(jsonPath("$.error").value(""));
+
+        mockMvc.perform(post("/api/mortgage-check")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(MORTGAGE_REQUEST))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"feasible\":true,\"monthlyCost\":106.07,\"error\":\"\",\"rateVersion\":2}"));
+    }
+
+    @Test
+    public void testReplaceInterestRates_InvalidTableKeepsCurrentRates() throws Exception {
+        String ratesJson = """
+                        [
+                          {"maturityPeriod": 10, "rate": 5.0},
+                          {"maturityPeriod": 10, "rate": 4.5}
+                        ]
+                        """;
+
+        mockMvc.perform(put("/api/admin/interest-rates")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(ratesJson))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.version").value(1))
+                .andExpect(jsonPath("$.interestRates.length()").value(3))
+                .andExpect(jsonPath("$.error").value("Duplicate interest rate for maturity period: 10"));
+
+        mockMvc.perform(post("/api/mortgage-check")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(MORTGAGE_REQUEST))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"feasible\":true,\"monthlyCost\":101.25,\"error\":\"\",\"rateVersion\":1}"));
+    }
+
+    @Test
+    public void testReloadInterestRates_NoRatesFile() throws Exception {
+        mockMvc.perform(post("/api/admin/interest-rates/reload"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.version").value(1))
+                .andExpect(jsonPath("$.error").value("No interest rates file configured"));
+    }
+
+    @Test
+    public void testGetInterestRates_AsOf() throws Exception {
+        Instant beforeReplace = Instant.now();
+        Thread.sleep(5);
+        mockMvc.perform(put("/api/admin/interest-rates")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"maturityPeriod\": 10, \"rate\": 5.0}]"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/admin/interest-rates").param("asOf", beforeReplace.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(0))
+                .andExpect(jsonPath("$.interestRates.length()").value(3))
+                .andExpect(jsonPath("$.interestRates[0].interestRate").value(4.0));
+
+        mockMvc.perform(get("/api/admin/interest-rates").param("asOf", Instant.now().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(2))
+                .andExpect(jsonPath("$.interestRates.length()").value(1))
+                .andExpect(jsonPath("$.interestRates[0].interestRate").value(5.0));
+
+        mockMvc.perform(get("/api/admin/interest-rates").param("asOf", "2000-01-01T00:00:00Z"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("No interest rates effective at: 2000-01-01T00:00:00Z"));
+    }
+}
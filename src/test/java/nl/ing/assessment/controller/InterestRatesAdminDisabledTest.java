@@ -0,0 +1,44 @@
+package nl.ing.assessment.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class InterestRatesAdminDisabledTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testAdminEndpointsNotServedByDefault() throws Exception {
+        mockMvc.perform(put("/api/admin/interest-rates")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"maturityPeriod\": 10, \"rate\": 9.9}]"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Interest rate administration is not enabled"));
+        mockMvc.perform(post("/api/admin/interest-rates/reload"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/admin/interest-rates"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/admin/interest-rates/cluster"))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(post("/api/mortgage-check")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"loanValue\":10000,\"maturityPeriod\":10,\"income\":30000,\"homeValue\":50000}"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"feasible\":true,\"monthlyCost\":101.25,\"error\":\"\"}"));
+    }
+}
@@ -1,6 +1,9 @@
 package nl.ing.assessment.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl.ing.assessment.config.InterestRatesProperties;
 import nl.ing.assessment.interest.model.InterestRate;
+import nl.ing.assessment.interest.response.InterestRatesPayload;
 import nl.ing.assessment.mortgage.request.MortgageRequest;
 import nl.ing.assessment.mortgage.response.MortgageResponse;
 import nl.ing.assessment.service.MortgageAndInterestRatesService;
@@ -8,25 +11,37 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
 import java.sql.Timestamp;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
 
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(MortgageAndInterestRatesController.class)
+@Import(InterestRatesProperties.class)
 public class MortgageAndInterestRatesControllerTest {
 
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @MockBean
     private MortgageAndInterestRatesService mortgageAndInterestRatesService;
 
@@ -34,7 +49,8 @@ public class MortgageAndInterestRatesControllerTest {
     public void testGetInterestRates() throws Exception {
         Timestamp fixedTimestamp = Timestamp.valueOf("2024-11-29 11:29:07.265");
         InterestRate mockInterestRate = new InterestRate(10, new BigDecimal("3.0"), fixedTimestamp);
-        when(mortgageAndInterestRatesService.getAllInterestRates()).thenReturn(java.util.List.of(mockInterestRate));
+        when(mortgageAndInterestRatesService.getInterestRatesPayload())
+                .thenReturn(InterestRatesPayload.of(1, List.of(mockInterestRate), objectMapper));
         String interestRateJson =  """
                         [{
                            "maturityPeriod": 10,
@@ -46,9 +62,58 @@ public class MortgageAndInterestRatesControllerTest {
 
         mockMvc.perform(get("/api/interest-rates"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("\"1-")))
                 .andExpect(content().json(interestRateJson));
     }
 
+    @Test
+    public void testGetInterestRates_NotModified() throws Exception {
+        InterestRatesPayload payload = InterestRatesPayload.of(1, List.of(new InterestRate(10, new BigDecimal("3.0"), null)), objectMapper);
+        when(mortgageAndInterestRatesService.getInterestRatesPayload()).thenReturn(payload);
+
+        mockMvc.perform(get("/api/interest-rates").header(HttpHeaders.IF_NONE_MATCH, "\"0-0\", " + payload.getETag(false)))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, payload.getETag(false)))
+                .andExpect(content().bytes(new byte[0]));
+
+        mockMvc.perform(get("/api/interest-rates").header(HttpHeaders.IF_NONE_MATCH, "\"0-0\""))
+                .andExpect(status().isOk());
+
+        // The tag of the gzip compressed representation does not validate the uncompressed one, nor the other way round
+        mockMvc.perform(get("/api/interest-rates").header(HttpHeaders.IF_NONE_MATCH, payload.getETag(true)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, payload.getETag(false)));
+        mockMvc.perform(get("/api/interest-rates").header(HttpHeaders.IF_NONE_MATCH, payload.getETag(false))
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, payload.getETag(true)));
+        mockMvc.perform(get("/api/interest-rates").header(HttpHeaders.IF_NONE_MATCH, payload.getETag(true))
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, payload.getETag(true)));
+    }
+
+    @Test
+    public void testGetInterestRates_Gzip() throws Exception {
+        InterestRatesPayload payload = InterestRatesPayload.of(1, List.of(new InterestRate(10, new BigDecimal("3.0"), null)), objectMapper);
+        when(mortgageAndInterestRatesService.getInterestRatesPayload()).thenReturn(payload);
+
+        byte[] body = mockMvc.perform(get("/api/interest-rates").header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, payload.getETag(true)))
+                .andReturn().getResponse().getContentAsByteArray();
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertArrayEquals(payload.getBody(false), input.readAllBytes());
+        }
+
+        mockMvc.perform(get("/api/interest-rates").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().bytes(payload.getBody(false)));
+    }
+
     @Test
     public void testCheckMortgage() throws Exception {
         MortgageResponse mockResponse = new MortgageResponse(true, new BigDecimal("96.56"), "");
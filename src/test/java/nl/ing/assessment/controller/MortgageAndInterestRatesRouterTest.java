@@ -0,0 +1,120 @@
+package nl.ing.assessment.controller;
+
+import nl.ing.assessment.mortgage.response.MortgageResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.main.web-application-type=reactive", "mortgage.reactive.max-in-flight=4"})
+public class MortgageAndInterestRatesRouterTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    public void testGetInterestRates() {
+        webTestClient.get().uri("/api/interest-rates")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$[0].maturityPeriod").isEqualTo(10)
+                .jsonPath("$[0].interestRate").isEqualTo(4.0);
+    }
+
+    @Test
+    public void testGetInterestRates_NotModified() {
+        String eTag = webTestClient.get().uri("/api/interest-rates")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(byte[].class)
+                .getResponseHeaders().getETag();
+
+        webTestClient.get().uri("/api/interest-rates")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, eTag)
+                .expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "no-cache");
+    }
+
+    @Test
+    public void testCheckMortgage() {
+        webTestClient.post().uri("/api/mortgage-check")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"loanValue\":10000,\"maturityPeriod\":10,\"income\":30000,\"homeValue\":50000}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().json("{\"feasible\":true,\"monthlyCost\":101.25,\"error\":\"\"}");
+    }
+
+    @Test
+    public void testCheckMortgage_NotFeasible() {
+        webTestClient.post().uri("/api/mortgage-check")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"loanValue\":100000,\"maturityPeriod\":10,\"income\":30000,\"homeValue\":2000}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().json("{\"feasible\":false,\"monthlyCost\":0,\"error\":\"A Mortgage cannot be more than the home value\"}");
+    }
+
+    @Test
+    public void testCheckMortgage_MissingBody() {
+        webTestClient.post().uri("/api/mortgage-check")
+                .contentType(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void testCheckMortgages_KeepsRequestOrderBeyondMaxInFlight() {
+        String requests = IntStream.rangeClosed(1, 50)
+                .mapToObj(i -> "{\"income\": 30000, \"maturityPeriod\": 10, \"loanValue\": " + (i * 1000) + ", \"homeValue\": 25000}")
+                .collect(Collectors.joining("\n"));
+
+        List<MortgageResponse> responses = webTestClient.post().uri("/api/mortgage-check/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(requests)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(MortgageResponse.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertEquals(50, responses.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i < 25, responses.get(i).feasible(), "response " + i);
+        }
+        assertEquals(new BigDecimal("10.12"), responses.get(0).monthlyCost());
+    }
+
+    @Test
+    public void testCheckMortgages_JsonArrayWithUnreadableItem() {
+        List<MortgageResponse> responses = webTestClient.post().uri("/api/mortgage-check/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[{\"income\": 30000, \"maturityPeriod\": 10, \"loanValue\": 10000, \"homeValue\": 50000}, {\"income\": \"thirty\"}]")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(MortgageResponse.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertEquals(2, responses.size());
+        assertTrue(responses.get(0).feasible());
+        assertTrue(responses.get(1).error().startsWith("Unreadable mortgage request"));
+    }
+}
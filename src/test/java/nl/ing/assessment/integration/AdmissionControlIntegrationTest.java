@@ -0,0 +1,54 @@
+package nl.ing.assessment.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "mortgage.admission.enabled=true",
+        "mortgage.admission.client-rate=0.01",
+        "mortgage.admission.client-burst=2",
+        "mortgage.admission.trust-client-header=true"
+})
+@AutoConfigureMockMvc
+public class AdmissionControlIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testCheckMortgageIsShedAboveClientRate() throws Exception {
+        mockMvc.perform(checkMortgage("partner")).andExpect(status().isOk());
+        mockMvc.perform(checkMortgage("partner")).andExpect(status().isOk());
+        mockMvc.perform(checkMortgage("partner"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "100"))
+                .andExpect(jsonPath("$.feasible").value(false));
+
+        mockMvc.perform(checkMortgage("other")).andExpect(status().isOk());
+        // Only the mortgage check paths are under admission control
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/interest-rates").header("X-Client-Id", "partner")).andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/actuator/metrics/mortgage.admission.rejections"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value").value(1.0));
+    }
+
+    private static MockHttpServletRequestBuilder checkMortgage(String clientId) {
+        return post("/api/mortgage-check")
+                .header("X-Client-Id", clientId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"loanValue\":10000,\"maturityPeriod\":10,\"income\":30000,\"homeValue\":50000}");
+    }
+}
@@ -0,0 +1,54 @@
+package nl.ing.assessment.integration;
+
+import nl.ing.assessment.service.InterestRateHistoryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "mortgage.admin.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("fast")
+public class FastStartupIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    public void testFastProfileSkipsDatabaseAndHistory() {
+        assertTrue(applicationContext.getBeanNamesForType(DataSource.class).length == 0);
+        assertTrue(applicationContext.getBeanNamesForType(InterestRateHistoryService.class).length == 0);
+    }
+
+    @Test
+    public void testCheckMortgage() throws Exception {
+        mockMvc.perform(post("/api/mortgage-check")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"loanValue\":10000,\"maturityPeriod\":10,\"income\":30000,\"homeValue\":50000}"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"feasible\":true,\"monthlyCost\":101.25,\"error\":\"\"}"));
+    }
+
+    @Test
+    public void testGetInterestRatesBeforeCurrentTableWithoutHistory() throws Exception {
+        mockMvc.perform(get("/api/admin/interest-rates").param("asOf", "2020-01-01T00:00:00Z"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/interest-rates"))
+                .andExpect(status().isOk());
+    }
+}
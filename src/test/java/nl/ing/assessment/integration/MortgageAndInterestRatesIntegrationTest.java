@@ -1,5 +1,10 @@
 package nl.ing.assessment.integration;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl.ing.assessment.mortgage.request.MortgageRequest;
+import nl.ing.assessment.mortgage.response.MortgageResponse;
+import nl.ing.assessment.util.CompactWireFormat;
+import nl.ing.assessment.validate.MortgageRejectionReason;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -7,9 +12,19 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -113,6 +128,23 @@ public class MortgageAndInterestRatesIntegrationTest {
                 .andExpect(content().json(responseJson));
     }
 
+    @Test
+    public void testCheckMortgage_InterpolatedInterestRate() throws Exception {
+        String requestJson = "{\"loanValue\":10000,\"maturityPeriod\":15,\"income\":30000,\"homeValue\":50000}";
+        String responseJson = "{\"feasible\":true,\"monthlyCost\":72.72,\"error\":\"\",\"interpolatedRate\":true}";
+
+        mockMvc.perform(post("/api/mortgage-check")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestJson))
+                .andExpect(status().isOk())
+                .andExpect(content().json(responseJson));
+        mockMvc.perform(post("/api/mortgage-check")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"loanValue\":10000,\"maturityPeriod\":10,\"income\":30000,\"homeValue\":50000}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.interpolatedRate").doesNotExist());
+    }
+
     @Test
     public void testCheckMortgage_IncomeIsZero() throws Exception {
         String requestJson = """
@@ -212,5 +244,207 @@ public class MortgageAndInterestRatesIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(content().json(responseJson));
     }
-}
 
+    @Test
+    public void testCheckMortgage_ReportsAllViolations() throws Exception {
+        String requestJson = "{\"loanValue\":300000,\"maturityPeriod\":40,\"income\":30000,\"homeValue\":200000}";
+        String responseJson = """
+                        {
+                          "feasible": false,
+                          "monthlyCost": 0,
+                          "error": "A Mortgage cannot be more than 4 times the income",
+                          "violations": [
+                            {"code": 5, "message": "A Mortgage cannot be more than 4 times the income"},
+                            {"code": 6, "message": "A Mortgage cannot be more than the home value"},
+                            {"code": 7, "message": "Interest rate not found for maturity period"}
+                          ]
+                        }
+                        """;
+
+        mockMvc.perform(post("/api/mortgage-check")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestJson))
+                .andExpect(status().isOk())
+                .andExpect(content().json(responseJson));
+    }
+
+    @Test
+    public void testCheckMortgageBatch() throws Exception {
+        String requestJson = """
+                        {"loanValue":10000,"maturityPeriod":10,"income":30000,"homeValue":50000}
+                        {"loanValue":100000,"maturityPeriod":10,"income":30000,"homeValue":2000}
+                        """;
+        String responseNdJson = """
+                        {"feasible":true,"monthlyCost":101.25,"error":"","rateVersion":1}
+                        {"feasible":false,"monthlyCost":0,"error":"A Mortgage cannot be more than the home value","rateVersion":1,"violations":[{"code":6,"message":"A Mortgage cannot be more than the home value"}]}
+                        """;
+
+        mockMvc.perform(post("/api/mortgage-check/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(requestJson))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(responseNdJson));
+    }
+
+    @Test
+    public void testCheckMortgageCompact() throws Exception {
+        ObjectMapper compactMapper = CompactWireFormat.getObjectMapper();
+        MortgageRequest request = new MortgageRequest(new BigDecimal("30000"), 10, new BigDecimal("10000"), new BigDecimal("50000"));
+
+        MvcResult result = mockMvc.perform(post("/api/mortgage-check")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(compactMapper.writeValueAsBytes(request)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        MortgageResponse response = compactMapper.readValue(result.getResponse().getContentAsByteArray(), MortgageResponse.class);
+        assertTrue(response.feasible());
+        assertEquals(new BigDecimal("101.25"), response.monthlyCost());
+
+        mockMvc.perform(post("/api/mortgage-check")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .content(new byte[]{(byte) 0x84, 0x01}))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testCheckMortgageBatchCompact() throws Exception {
+        ObjectMapper compactMapper = CompactWireFormat.getObjectMapper();
+        List<MortgageRequest> requests = List.of(
+                new MortgageRequest(new BigDecimal("30000"), 10, new BigDecimal("10000"), new BigDecimal("50000")),
+                new MortgageRequest(new BigDecimal("30000"), 10, new BigDecimal("100000"), new BigDecimal("2000")));
+
+        MvcResult result = mockMvc.perform(post("/api/mortgage-check/batch")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .content(compactMapper.writeValueAsBytes(requests)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        MortgageResponse[] responses = compactMapper.readValue(result.getResponse().getContentAsByteArray(), MortgageResponse[].class);
+        assertEquals(2, responses.length);
+        assertEquals(new BigDecimal("101.25"), responses[0].monthlyCost());
+        assertEquals(List.of(MortgageRejectionReason.LOAN_EXCEEDS_HOME_VALUE), responses[1].violations());
+    }
+
+    @Test
+    public void testBulkPricing() throws Exception {
+        String requestJson = """
+                        {
+                          "incomes": [30000, 3000],
+                          "maturityPeriods": [10, 10],
+                          "loanValues": [10000, 100000],
+                          "homeValues": [50000, 2000000]
+                        }
+                        """;
+        String responseJson = """
+                        {
+                          "monthlyCosts": [101.25, 0.0],
+                          "rejectionCodes": [0, 5],
+                          "verification": {"sampled": 2, "mismatches": 0},
+                          "error": ""
+                        }
+                        """;
+
+        mockMvc.perform(post("/api/mortgage-check/bulk-pricing?verificationSampleSize=2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestJson))
+                .andExpect(status().isOk())
+                .andExpect(content().json(responseJson));
+    }
+
+    @Test
+    public void testAffordability() throws Exception {
+        String requestJson = "{\"income\":20000,\"homeValue\":500000,\"monthlyBudget\":1000}";
+
+        mockMvc.perform(post("/api/mortgage-check/affordability")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestJson))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"rateVersion\":1,\"error\":\"\",\"bestOption\":{\"maturityPeriod\":10,"
+                        + "\"interestRate\":4.0,\"maxLoanValue\":80000,\"monthlyCost\":809.96,\"totalCost\":97195.20,\"limitedBy\":\"INCOME\"}}"));
+
+        mockMvc.perform(post("/api/mortgage-check/affordability")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"income\":20000,\"homeValue\":500000}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().json("{\"options\":[],\"error\":\"A monthly budget must be greater than zero\"}"));
+    }
+
+    @Test
+    public void testSensitivityGrid() throws Exception {
+        String requestJson = "{\"loanValues\":[10000],\"fromBasisPoints\":-100,\"toBasisPoints\":0,\"stepBasisPoints\":100}";
+        String responseJson = """
+                        {
+                          "rateVersion": 1,
+                          "rateShocks": [-100, 0],
+                          "maturityPeriods": [10, 20, 30],
+                          "loanValues": [10000.0],
+                          "interestRates": [3.0, 2.5, 2.0, 4.0, 3.5, 3.0],
+                          "monthlyCosts": [96.56, 52.99, 36.96, 101.25, 58.0, 42.16],
+                          "error": ""
+                        }
+                        """;
+
+        mockMvc.perform(post("/api/mortgage-check/sensitivity-grid")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestJson))
+                .andExpect(status().isOk())
+                .andExpect(content().json(responseJson));
+    }
+
+    @Test
+    public void testAmortizationSchedule() throws Exception {
+        String responseJson = """
+                        [
+                          {"month":1,"payment":101.25,"interest":33.33,"principal":67.92,"remainingBalance":9932.08},
+                          {"month":2,"payment":101.25,"interest":33.11,"principal":68.14,"remainingBalance":9863.94}
+                        ]
+                        """;
+
+        MvcResult result = mockMvc.perform(get("/api/mortgage-check/amortization?loanValue=10000&maturityPeriod=10&toMonth=2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json(responseJson, true));
+    }
+
+    @Test
+    public void testAmortizationSchedule_NdJson() throws Exception {
+        String responseNdJson = """
+                        {"month":120,"payment":100.50,"interest":0.33,"principal":100.17,"remainingBalance":0.00}
+                        """;
+
+        MvcResult result = mockMvc.perform(get("/api/mortgage-check/amortization?loanValue=10000&maturityPeriod=10&fromMonth=120")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(responseNdJson));
+    }
+
+    @Test
+    public void testAmortizationSchedule_NoInterestRateFoundForMaturity() throws Exception {
+        String responseJson = """
+                        {
+                          "feasible": false,
+                          "monthlyCost": 0,
+                          "error": "Interest rate not found for maturity period: 40"
+                        }
+                        """;
+
+        MvcResult result = mockMvc.perform(get("/api/mortgage-check/amortization?loanValue=10000&maturityPeriod=40"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().json(responseJson));
+    }
+}
@@ -0,0 +1,190 @@
+package nl.ing.assessment.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl.ing.assessment.MortgageAndInterestRatesApplication;
+import nl.ing.assessment.cluster.RateSnapshotMessage;
+import nl.ing.assessment.cluster.SharedDirectoryRateTransport;
+import nl.ing.assessment.config.InterestRatesProperties.InterestRateValue;
+import nl.ing.assessment.exception.MortgageAndInterestRatesException;
+import nl.ing.assessment.interest.response.InterestRatesPayload;
+import nl.ing.assessment.mortgage.request.MortgageRequest;
+import nl.ing.assessment.mortgage.response.MortgageResponse;
+import nl.ing.assessment.service.MortgageAndInterestRatesService;
+import nl.ing.assessment.util.MortgageAndInterestRatesUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A leader and two followers in one JVM, distributing their interest rates through a shared directory
+ */
+@SpringBootTest(properties = {
+        "mortgage.admin.enabled=true",
+        "mortgage.cluster.enabled=true",
+        "mortgage.cluster.role=leader",
+        "mortgage.cluster.node-id=leader",
+        "mortgage.cluster.poll-interval=50ms"
+})
+@AutoConfigureMockMvc
+@DirtiesContext
+public class RateDistributionIntegrationTest {
+
+    private static final Path CLUSTER_DIRECTORY = createClusterDirectory();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MortgageAndInterestRatesUtil mortgageAndInterestRatesUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void clusterDirectory(DynamicPropertyRegistry registry) {
+        registry.add("mortgage.cluster.directory", CLUSTER_DIRECTORY::toString);
+    }
+
+    @Test
+    public void testFollowersServeTheRatesAndVersionOfTheLeader() throws Exception {
+        long leaderVersion = mortgageAndInterestRatesUtil.getInterestRateSnapshot().getVersion();
+        try (ConfigurableApplicationContext first = startFollower("follower-1", CLUSTER_DIRECTORY);
+             ConfigurableApplicationContext second = startFollower("follower-2", CLUSTER_DIRECTORY)) {
+            // The followers are configured with other rates, but serve the rate table of the leader from their start
+            for (ConfigurableApplicationContext follower : List.of(first, second)) {
+                MortgageResponse response = checkMortgage(follower);
+                assertEquals(leaderVersion, response.rateVersion());
+                assertEquals(0, new BigDecimal("101.25").compareTo(response.monthlyCost()));
+            }
+
+            mockMvc.perform(put("/api/admin/interest-rates")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[{\"maturityPeriod\":10,\"rate\":5.0},{\"maturityPeriod\":20,\"rate\":4.5}]"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.version").value(leaderVersion + 1));
+
+            await(() -> checkMortgage(first).rateVersion() == leaderVersion + 1 && checkMortgage(second).rateVersion() == leaderVersion + 1);
+            assertEquals(0, new BigDecimal("106.07").compareTo(checkMortgage(first).monthlyCost()));
+            assertThrows(MortgageAndInterestRatesException.class, () -> first.getBean(MortgageAndInterestRatesUtil.class)
+                    .publishInterestRates(List.of()), "followers only apply the rates of the leader");
+
+            await(this::converged);
+            mockMvc.perform(get("/api/admin/interest-rates/cluster"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.version").value(leaderVersion + 1))
+                    .andExpect(jsonPath("$.leaderId").value("leader"))
+                    .andExpect(jsonPath("$.converged").value(true))
+                    .andExpect(jsonPath("$.nodes.length()").value(3))
+                    .andExpect(jsonPath("$.nodes[0].nodeId").value("follower-1"))
+                    .andExpect(jsonPath("$.nodes[0].versionsBehind").value(0));
+        }
+    }
+
+    @Test
+    public void testFollowerServesItsOwnRatesAsVersionZeroUntilTheLeaderPublishes() throws Exception {
+        Path directory = createClusterDirectory();
+        try (ConfigurableApplicationContext follower = startFollower("early-follower", directory)) {
+            // No leader has published yet, the follower answers with its own rates under a version the leader never uses
+            MortgageAndInterestRatesService service = follower.getBean(MortgageAndInterestRatesService.class);
+            MortgageResponse local = checkMortgage(follower);
+            assertEquals(0, local.rateVersion());
+            assertNotEquals(0, new BigDecimal("101.25").compareTo(local.monthlyCost()));
+            InterestRatesPayload localPayload = service.getInterestRatesPayload();
+            assertEquals(0, localPayload.getVersion());
+
+            // The leader's first rate table has version 1, and replaces the cached check and interest rates
+            new SharedDirectoryRateTransport(directory, objectMapper).publish(new RateSnapshotMessage(1, Instant.now(), "late-leader",
+                    mortgageAndInterestRatesUtil.getInterestRateSnapshot().getYieldCurve().getInterpolation(),
+                    List.of(rate(10, "4.0"), rate(20, "3.5"), rate(30, "3.0"))));
+            await(() -> checkMortgage(follower).rateVersion() == 1);
+            assertEquals(0, new BigDecimal("101.25").compareTo(checkMortgage(follower).monthlyCost()));
+            InterestRatesPayload payload = service.getInterestRatesPayload();
+            assertEquals(1, payload.getVersion());
+            assertNotEquals(localPayload.getETag(false), payload.getETag(false));
+            assertTrue(new String(payload.getBody(false), StandardCharsets.UTF_8).contains("\"interestRate\":4.0"));
+        }
+    }
+
+    private boolean converged() {
+        try {
+            String convergence = mockMvc.perform(get("/api/admin/interest-rates/cluster")).andReturn().getResponse().getContentAsString();
+            return convergence.contains("\"converged\":true") && convergence.contains("follower-2");
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ConfigurableApplicationContext startFollower(String nodeId, Path directory) {
+        return new SpringApplicationBuilder(MortgageAndInterestRatesApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "mortgage.cluster.enabled=true",
+                        "mortgage.cluster.role=follower",
+                        "mortgage.cluster.node-id=" + nodeId,
+                        "mortgage.cluster.poll-interval=50ms",
+                        "mortgage.cluster.directory=" + directory,
+                        "interest.history-enabled=false",
+                        "mortgage.audit.enabled=false",
+                        "mortgage.cache.enabled=true",
+                        "spring.datasource.url=jdbc:h2:mem:" + nodeId,
+                        "spring.jmx.enabled=false")
+                // Default properties do not override the rate table of application.properties, arguments do
+                .run("--interest.rates[0].maturityPeriod=10", "--interest.rates[0].rate=9.9");
+    }
+
+    private static MortgageResponse checkMortgage(ConfigurableApplicationContext follower) {
+        return follower.getBean(MortgageAndInterestRatesService.class).checkMortgage(
+                new MortgageRequest(new BigDecimal("30000"), 10, new BigDecimal("10000"), new BigDecimal("50000")));
+    }
+
+    private static InterestRateValue rate(int maturityPeriod, String rate) {
+        InterestRateValue value = new InterestRateValue();
+        value.setMaturityPeriod(maturityPeriod);
+        value.setRate(new BigDecimal(rate));
+        return value;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "cluster did not converge");
+            Thread.sleep(50);
+        }
+    }
+
+    private static Path createClusterDirectory() {
+        try {
+            return Files.createTempDirectory("cluster");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
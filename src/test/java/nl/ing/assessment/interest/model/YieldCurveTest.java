@@ -0,0 +1,95 @@
+package nl.ing.assessment.interest.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class YieldCurveTest {
+
+    private static final List<InterestRate> RATES = List.of(rate(30, "3.0"), rate(10, "4.0"), rate(20, "3.5"));
+
+    @Test
+    public void testLinearInterpolation() {
+        YieldCurve curve = YieldCurve.of(RATES, YieldCurve.Interpolation.LINEAR);
+
+        assertEquals(30, curve.getMaxMaturityPeriod());
+        assertEquals(4.0, curve.rate(10));
+        assertEquals(3.75, curve.rate(15), 1e-12);
+        assertEquals(3.2, curve.rate(26), 1e-12);
+        // Shorter than the shortest configured maturity period: flat, longer than the longest: no rate
+        assertEquals(4.0, curve.rate(1));
+        assertTrue(Double.isNaN(curve.rate(31)));
+        assertTrue(Double.isNaN(curve.rate(0)));
+        assertTrue(curve.isConfigured(20));
+        assertFalse(curve.isConfigured(15));
+    }
+
+    @Test
+    public void testNoInterpolation() {
+        YieldCurve curve = YieldCurve.of(RATES, YieldCurve.Interpolation.NONE);
+
+        assertEquals(3.5, curve.rate(20));
+        assertTrue(Double.isNaN(curve.rate(15)));
+        assertTrue(Double.isNaN(curve.rate(5)));
+    }
+
+    @Test
+    public void testMonotoneSplinePassesThroughRatesWithoutOvershoot() {
+        List<InterestRate> rates = List.of(rate(1, "2.0"), rate(5, "3.0"), rate(10, "4.5"), rate(20, "4.6"), rate(30, "3.0"));
+        YieldCurve curve = YieldCurve.of(rates, YieldCurve.Interpolation.MONOTONE_SPLINE);
+
+        for (InterestRate rate : rates) {
+            assertEquals(rate.interestRate().doubleValue(), curve.rate(rate.maturityPeriod()), 1e-12);
+        }
+        for (int maturityPeriod = 1; maturityPeriod < 30; maturityPeriod++) {
+            double low = Math.min(curve.rate(knotBelow(rates, maturityPeriod)), curve.rate(knotAbove(rates, maturityPeriod)));
+            double high = Math.max(curve.rate(knotBelow(rates, maturityPeriod)), curve.rate(knotAbove(rates, maturityPeriod)));
+            double rate = curve.rate(maturityPeriod);
+            assertTrue(rate >= low - 1e-12 && rate <= high + 1e-12, "Rate " + rate + " of " + maturityPeriod + " overshoots");
+        }
+        // Increasing between 5 and 20 and decreasing after the peak
+        assertTrue(curve.rate(7) < curve.rate(8));
+        assertTrue(curve.rate(25) > curve.rate(26));
+    }
+
+    @Test
+    public void testSnapshotPrecomputesInterpolatedRates() {
+        InterestRateSnapshot snapshot = InterestRateSnapshot.of(1, null, RATES, YieldCurve.Interpolation.LINEAR);
+
+        assertEquals(new BigDecimal("3.7500"), snapshot.findInterestRate(15));
+        assertTrue(snapshot.isInterpolated(15));
+        assertFalse(snapshot.isInterpolated(10));
+        assertFalse(snapshot.isInterpolated(40));
+        assertEquals(30, snapshot.getCurveInterestRates().size());
+        assertEquals(3, snapshot.getInterestRates().size());
+    }
+
+    private static int knotBelow(List<InterestRate> rates, int maturityPeriod) {
+        int below = 1;
+        for (InterestRate rate : rates) {
+            if (rate.maturityPeriod() <= maturityPeriod) {
+                below = Math.max(below, rate.maturityPeriod());
+            }
+        }
+        return below;
+    }
+
+    private static int knotAbove(List<InterestRate> rates, int maturityPeriod) {
+        int above = Integer.MAX_VALUE;
+        for (InterestRate rate : rates) {
+            if (rate.maturityPeriod() >= maturityPeriod) {
+                above = Math.min(above, rate.maturityPeriod());
+            }
+        }
+        return above;
+    }
+
+    private static InterestRate rate(int maturityPeriod, String rate) {
+        return new InterestRate(maturityPeriod, new BigDecimal(rate), null);
+    }
+}
@@ -0,0 +1,147 @@
+package nl.ing.assessment.latency;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * Stored p50, p99 and throughput of every endpoint of the latency regression suite, and the comparison of a run
+ * against them. A latency regresses when it grows by more than its allowed fraction and by more than a minimum number
+ * of milliseconds, so that sub-millisecond noise does not fail the build, the throughput when it drops by more than its
+ * allowed fraction.
+ */
+class LatencyBaseline {
+
+    private final Properties values;
+
+    private LatencyBaseline(Properties values) {
+        this.values = values;
+    }
+
+    static LatencyBaseline load(Path file) throws IOException {
+        Properties values = new Properties();
+        if (Files.exists(file)) {
+            try (Reader reader = Files.newBufferedReader(file)) {
+                values.load(reader);
+            }
+        }
+        return new LatencyBaseline(values);
+    }
+
+    static LatencyBaseline of(List<LatencyResult> results) {
+        Properties values = new Properties();
+        for (LatencyResult result : results) {
+            values.setProperty(result.endpoint() + ".p50.ms", format(result.p50Millis()));
+            values.setProperty(result.endpoint() + ".p99.ms", format(result.p99Millis()));
+            values.setProperty(result.endpoint() + ".throughput", format(result.throughput()));
+        }
+        return new LatencyBaseline(values);
+    }
+
+    /**
+     * Load every run stored in a directory
+     *
+     * @param directory Directory of the runs, one properties file each
+     * @return Stored runs, empty when the directory does not exist
+     */
+    static List<LatencyBaseline> loadRuns(Path directory) throws IOException {
+        List<LatencyBaseline> runs = new ArrayList<>();
+        if (Files.isDirectory(directory)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.properties")) {
+                for (Path file : files) {
+                    runs.add(load(file));
+                }
+            }
+        }
+        return runs;
+    }
+
+    /**
+     * Median of every value over several runs, so that a single noisy run does not set the baseline
+     *
+     * @param runs Runs to combine, not empty
+     * @return Baseline of the median values
+     */
+    static LatencyBaseline median(List<LatencyBaseline> runs) {
+        Properties values = new Properties();
+        for (String key : runs.getFirst().values.stringPropertyNames()) {
+            double[] samples = runs.stream()
+                    .map(run -> run.values.getProperty(key))
+                    .filter(Objects::nonNull)
+                    .mapToDouble(Double::parseDouble)
+                    .sorted()
+                    .toArray();
+            double median = samples.length % 2 == 1
+                    ? samples[samples.length / 2]
+                    : (samples[samples.length / 2 - 1] + samples[samples.length / 2]) / 2;
+            values.setProperty(key, format(median));
+        }
+        return new LatencyBaseline(values);
+    }
+
+    void store(Path file, String comment) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            values.store(writer, comment);
+        }
+    }
+
+    boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    /**
+     * Compare the results of a run with the baseline
+     *
+     * @param results              Results of the run
+     * @param maxP50Regression     Allowed growth of p50 as a fraction of the baseline
+     * @param maxP99Regression     Allowed growth of p99 as a fraction of the baseline
+     * @param maxThroughputDrop    Allowed drop of throughput as a fraction of the baseline
+     * @param minRegressionMillis  Growth in milliseconds a latency may always have
+     * @return Description of every regression, empty when there is none
+     */
+    List<String> regressions(List<LatencyResult> results, double maxP50Regression, double maxP99Regression, double maxThroughputDrop,
+                             double minRegressionMillis) {
+        List<String> regressions = new ArrayList<>();
+        for (LatencyResult result : results) {
+            String endpoint = result.endpoint();
+            double p50 = baseline(endpoint + ".p50.ms");
+            double p99 = baseline(endpoint + ".p99.ms");
+            double throughput = baseline(endpoint + ".throughput");
+            if (result.p50Millis() > Math.max(p50 * (1 + maxP50Regression), p50 + minRegressionMillis)) {
+                regressions.add(String.format(Locale.ROOT, "%s p50 %.3f ms exceeds baseline %.3f ms by more than %.0f%%",
+                        endpoint, result.p50Millis(), p50, maxP50Regression * 100));
+            }
+            if (result.p99Millis() > Math.max(p99 * (1 + maxP99Regression), p99 + minRegressionMillis)) {
+                regressions.add(String.format(Locale.ROOT, "%s p99 %.3f ms exceeds baseline %.3f ms by more than %.0f%%",
+                        endpoint, result.p99Millis(), p99, maxP99Regression * 100));
+            }
+            if (result.throughput() < throughput * (1 - maxThroughputDrop)) {
+                regressions.add(String.format(Locale.ROOT, "%s throughput %.1f/s is below baseline %.1f/s by more than %.0f%%",
+                        endpoint, result.throughput(), throughput, maxThroughputDrop * 100));
+            }
+        }
+        return regressions;
+    }
+
+    private double baseline(String key) {
+        String value = values.getProperty(key);
+        if (value == null) {
+            throw new IllegalStateException("No latency baseline for " + key
+                    + ", record one with mvn -Platency test -Dlatency.update-baseline=true");
+        }
+        return Double.parseDouble(value);
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+}
@@ -0,0 +1,247 @@
+package nl.ing.assessment.latency;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Latency regression suite of GET /api/interest-rates and POST /api/mortgage-check. Requests are sent open-loop at a
+ * constant arrival rate, whatever the response times, and each latency is measured from the moment its request was
+ * due, so a stalled server is not hidden by clients waiting on it. The p50, p99 and throughput of every endpoint are
+ * compared with the stored baseline. The latency profile runs the suite on a fixed heap and garbage collector, so the
+ * tail does not depend on the collector the JVM picks for the machine or on the heap growing during the run.
+ * <p>
+ * Excluded from the default build; run with {@code mvn -Platency test} and the system properties latency.rate
+ * (requests per second, 200), latency.warmup and latency.duration (seconds, 15 and 20), latency.max-p50-regression
+ * (0.5), latency.max-p99-regression (1.0) and latency.max-throughput-drop (0.1) as fractions of the baseline,
+ * latency.min-regression-ms (1.0), latency.baseline (the baseline file) and latency.update-baseline (true to record
+ * the run in target/latency/runs and rewrite the baseline as the median of all recorded runs).
+ */
+@Tag("latency")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "logging.level.nl.ing.assessment=warn")
+public class LatencyRegressionTest {
+
+    private static final String INTEREST_RATES = "interest-rates";
+
+    private static final String MORTGAGE_CHECK = "mortgage-check";
+
+    /**
+     * Mortgage checks sent in turn: five feasible ones and three rejected for the income limit, the home value and a
+     * maturity period without interest rate
+     */
+    private static final String[] MORTGAGE_REQUESTS = {
+            "{\"income\":50000,\"maturityPeriod\":20,\"loanValue\":150000,\"homeValue\":200000}",
+            "{\"income\":30000,\"maturityPeriod\":10,\"loanValue\":10000,\"homeValue\":50000}",
+            "{\"income\":85000.50,\"maturityPeriod\":30,\"loanValue\":312345.67,\"homeValue\":400000}",
+            "{\"income\":120000,\"maturityPeriod\":30,\"loanValue\":450000,\"homeValue\":475000}",
+            "{\"income\":42000,\"maturityPeriod\":20,\"loanValue\":99999.99,\"homeValue\":180000}",
+            "{\"income\":30000,\"maturityPeriod\":20,\"loanValue\":200000,\"homeValue\":250000}",
+            "{\"income\":100000,\"maturityPeriod\":10,\"loanValue\":300000,\"homeValue\":40000}",
+            "{\"income\":60000,\"maturityPeriod\":40,\"loanValue\":150000,\"homeValue\":200000}"
+    };
+
+    /**
+     * Runs recorded with latency.update-baseline, the baseline is their median
+     */
+    private static final Path RUNS_DIRECTORY = Path.of("target", "latency", "runs");
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    public void testLatencyDoesNotRegress() throws Exception {
+        int rate = Integer.getInteger("latency.rate", 200);
+        int warmup = Integer.getInteger("latency.warmup", 15);
+        int duration = Integer.getInteger("latency.duration", 20);
+        Path baselineFile = Path.of(System.getProperty("latency.baseline", "src/test/resources/latency-baseline.properties"));
+
+        List<LatencyResult> results = run(rate, warmup, duration);
+        report(System.out, rate, results);
+        for (LatencyResult result : results) {
+            assertEquals(0, result.errors(), result.endpoint() + " requests failed");
+        }
+
+        if (Boolean.getBoolean("latency.update-baseline")) {
+            LatencyBaseline.of(results).store(RUNS_DIRECTORY.resolve("run-" + System.currentTimeMillis() + ".properties"),
+                    "Latency run at " + rate + " requests per second");
+            List<LatencyBaseline> runs = LatencyBaseline.loadRuns(RUNS_DIRECTORY);
+            LatencyBaseline.median(runs).store(baselineFile, "Latency regression baseline, the median of " + runs.size()
+                    + " runs of mvn -Platency test -Dlatency.update-baseline=true on a quiet machine");
+            assumeFalse(true, "Recorded latency baseline " + baselineFile.toAbsolutePath() + " from " + runs.size() + " runs");
+        }
+        LatencyBaseline baseline = LatencyBaseline.load(baselineFile);
+        assertFalse(baseline.isEmpty(), "No latency baseline in " + baselineFile.toAbsolutePath()
+                + ", record one with mvn -Platency test -Dlatency.update-baseline=true");
+        List<String> regressions = baseline.regressions(results,
+                doubleProperty("latency.max-p50-regression", 0.5),
+                doubleProperty("latency.max-p99-regression", 1.0),
+                doubleProperty("latency.max-throughput-drop", 0.1),
+                doubleProperty("latency.min-regression-ms", 1.0));
+        assertTrue(regressions.isEmpty(), "Latency regressed: " + String.join("; ", regressions));
+    }
+
+    private List<LatencyResult> run(int rate, int warmup, int duration) throws Exception {
+        Endpoint interestRates = new Endpoint(INTEREST_RATES);
+        Endpoint mortgageCheck = new Endpoint(MORTGAGE_CHECK);
+        HttpRequest interestRatesRequest = HttpRequest.newBuilder(uri("/api/interest-rates")).GET().build();
+        HttpRequest[] mortgageCheckRequests = new HttpRequest[MORTGAGE_REQUESTS.length];
+        for (int i = 0; i < MORTGAGE_REQUESTS.length; i++) {
+            mortgageCheckRequests[i] = HttpRequest.newBuilder(uri("/api/mortgage-check"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(MORTGAGE_REQUESTS[i]))
+                    .build();
+        }
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(executor)
+                     .connectTimeout(Duration.ofSeconds(10))
+                     .build()) {
+            // The warm-up runs the measured load, and its garbage is collected before measuring, so the measurement
+            // neither pays for JIT compilation nor for collecting the garbage of startup and warm-up
+            send(httpClient, interestRatesRequest, mortgageCheckRequests, rate, warmup, null, null);
+            System.gc();
+            long gcCount = gcCount();
+            long gcMillis = gcMillis();
+            long measureFrom = System.nanoTime();
+            send(httpClient, interestRatesRequest, mortgageCheckRequests, rate, duration, interestRates, mortgageCheck);
+            System.out.printf("%nGarbage collection while measuring: %d collections, %d ms%n", gcCount() - gcCount, gcMillis() - gcMillis);
+            return List.of(interestRates.result(measureFrom), mortgageCheck.result(measureFrom));
+        }
+    }
+
+    /**
+     * Send requests at a constant arrival rate and wait for their responses
+     *
+     * @param interestRates  Endpoint recording the interest rates latencies, null to not record them
+     * @param mortgageCheck  Endpoint recording the mortgage check latencies, null to not record them
+     */
+    private static void send(HttpClient httpClient, HttpRequest interestRatesRequest, HttpRequest[] mortgageCheckRequests, int rate,
+                             int seconds, Endpoint interestRates, Endpoint mortgageCheck) throws Exception {
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long until = start + TimeUnit.SECONDS.toNanos(seconds);
+        List<CompletableFuture<?>> responses = new ArrayList<>();
+
+        for (long i = 0; ; i++) {
+            long due = start + i * interval;
+            if (due >= until) {
+                break;
+            }
+            for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+            // Two in ten requests get the interest rates, the others check a mortgage
+            boolean rates = i % 10 < 2;
+            Endpoint endpoint = rates ? interestRates : mortgageCheck;
+            HttpRequest request = rates ? interestRatesRequest : mortgageCheckRequests[(int) (i % mortgageCheckRequests.length)];
+            responses.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, failure) -> {
+                        if (endpoint != null) {
+                            endpoint.record(due, failure == null && response.statusCode() == 200);
+                        }
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).get(2L * seconds + 60, TimeUnit.SECONDS);
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+    }
+
+    private static long gcMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static void report(PrintStream output, int rate, List<LatencyResult> results) throws Exception {
+        output.printf("%nOpen-loop latency at %d requests/s%n%-15s %9s %7s %9s %9s %9s %12s%n",
+                rate, "endpoint", "requests", "errors", "p50 ms", "p99 ms", "max ms", "throughput/s");
+        for (LatencyResult result : results) {
+            output.printf("%-15s %9d %7d %9.3f %9.3f %9.3f %12.1f%n", result.endpoint(), result.requests(), result.errors(),
+                    result.p50Millis(), result.p99Millis(), result.maxMillis(), result.throughput());
+        }
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+
+    /**
+     * Latencies and errors of the measured requests of one endpoint
+     */
+    private static final class Endpoint {
+
+        private final String name;
+
+        private final Histogram latencies = new ConcurrentHistogram(TimeUnit.MINUTES.toNanos(1), 3);
+
+        private final AtomicLong errors = new AtomicLong();
+
+        private final AtomicLong lastResponse = new AtomicLong();
+
+        private Endpoint(String name) {
+            this.name = name;
+        }
+
+        private void record(long due, boolean ok) {
+            long now = System.nanoTime();
+            lastResponse.accumulateAndGet(now, Math::max);
+            if (ok) {
+                latencies.recordValue(Math.min(now - due, latencies.getHighestTrackableValue()));
+            } else {
+                errors.incrementAndGet();
+            }
+        }
+
+        /**
+         * The throughput is the number of answered requests per second between the first measured request and the
+         * last response, so a server falling behind the arrival rate lowers it
+         */
+        private LatencyResult result(long measureFrom) throws Exception {
+            Path histogramFile = Path.of("target", "latency", name + ".hgrm");
+            Files.createDirectories(histogramFile.getParent());
+            try (PrintStream output = new PrintStream(Files.newOutputStream(histogramFile))) {
+                latencies.outputPercentileDistribution(output, 1_000_000.0);
+            }
+            long requests = latencies.getTotalCount();
+            double seconds = Math.max(1, lastResponse.get() - measureFrom) / 1e9;
+            return new LatencyResult(name, requests, errors.get(),
+                    latencies.getValueAtPercentile(50) / 1e6, latencies.getValueAtPercentile(99) / 1e6,
+                    latencies.getMaxValue() / 1e6, requests / seconds);
+        }
+    }
+}
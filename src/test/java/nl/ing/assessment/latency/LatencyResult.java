@@ -0,0 +1,7 @@
+package nl.ing.assessment.latency;
+
+/**
+ * Latency percentiles and completed requests per second of one endpoint in a latency regression run
+ */
+record LatencyResult(String endpoint, long requests, long errors, double p50Millis, double p99Millis, double maxMillis, double throughput) {
+}
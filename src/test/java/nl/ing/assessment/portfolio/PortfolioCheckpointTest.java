@@ -0,0 +1,58 @@
+package nl.ing.assessment.portfolio;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PortfolioCheckpointTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    public void testOpen_IgnoresTornLastLine() throws Exception {
+        Path file = directory.resolve("job.checkpoint");
+        // Chunk 123 was being recorded when the job crashed, "12" must not mark chunk 12 as done
+        Files.writeString(file, "input=1\n0,13,12,1,0\n12", StandardCharsets.US_ASCII);
+
+        try (PortfolioCheckpoint checkpoint = PortfolioCheckpoint.open(file, "input=1")) {
+            assertEquals(new PortfolioCheckpoint.ChunkCounts(13, 12, 1, 0), checkpoint.getCounts(0));
+            assertFalse(checkpoint.isCompleted(12));
+            checkpoint.complete(123, new PortfolioCheckpoint.ChunkCounts(5, 5, 0, 0));
+        }
+
+        assertEquals("input=1\n0,13,12,1,0\n123,5,5,0,0\n", Files.readString(file, StandardCharsets.US_ASCII));
+        try (PortfolioCheckpoint checkpoint = PortfolioCheckpoint.open(file, "input=1")) {
+            assertTrue(checkpoint.isCompleted(0));
+            assertTrue(checkpoint.isCompleted(123));
+            assertFalse(checkpoint.isCompleted(12));
+        }
+    }
+
+    @Test
+    public void testOpen_DiscardsUnreadableCheckpoint() throws Exception {
+        Path file = directory.resolve("job.checkpoint");
+        Files.writeString(file, "input=1\n0,13,12,1,0\nnot a chunk\n", StandardCharsets.US_ASCII);
+
+        try (PortfolioCheckpoint checkpoint = PortfolioCheckpoint.open(file, "input=1")) {
+            assertFalse(checkpoint.isCompleted(0));
+        }
+        assertEquals("input=1\n", Files.readString(file, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testOpen_TornFingerprintStartsOver() throws Exception {
+        Path file = directory.resolve("job.checkpoint");
+        Files.writeString(file, "inp", StandardCharsets.US_ASCII);
+
+        try (PortfolioCheckpoint checkpoint = PortfolioCheckpoint.open(file, "input=1")) {
+            assertFalse(checkpoint.isCompleted(0));
+        }
+        assertEquals("input=1\n", Files.readString(file, StandardCharsets.US_ASCII));
+    }
+}
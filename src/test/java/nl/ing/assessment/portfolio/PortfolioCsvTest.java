@@ -0,0 +1,66 @@
+package nl.ing.assessment.portfolio;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PortfolioCsvTest {
+
+    private final long[] unscaled = new long[PortfolioCsv.FIELDS];
+
+    private final int[] scales = new int[PortfolioCsv.FIELDS];
+
+    @Test
+    public void testParseRow() {
+        assertTrue(parse("30000,10, 312345.67 ,-5.0"));
+        assertArrayEquals(new long[]{30000, 10, 31234567, -50}, unscaled);
+        assertArrayEquals(new int[]{0, 0, 2, 1}, scales);
+    }
+
+    @Test
+    public void testParseRow_EmptyField() {
+        assertTrue(parse("30000,,10000,"));
+        assertEquals(-1, scales[PortfolioCsv.MATURITY_PERIOD]);
+        assertEquals(-1, scales[PortfolioCsv.HOME_VALUE]);
+    }
+
+    @Test
+    public void testParseRow_Unreadable() {
+        assertFalse(parse("30000,10,10000"), "too few fields");
+        assertFalse(parse("30000,10,10000,50000,1"), "too many fields");
+        assertFalse(parse("30000,ten,10000,50000"));
+        assertFalse(parse("30000,10,1.0.0,50000"));
+        assertFalse(parse("30000,10,-,50000"));
+        assertFalse(parse("30000,10,99999999999999999999,50000"), "more digits than a long holds");
+        assertFalse(parse("30000,10,9223372036854775808,50000"), "one more than the largest long");
+        assertTrue(parse("30000,10,9223372036854775807,50000"));
+        assertEquals(Long.MAX_VALUE, unscaled[PortfolioCsv.LOAN_VALUE]);
+    }
+
+    @Test
+    public void testIsHeader() {
+        assertTrue(PortfolioCsv.isHeader(buffer("income,maturityPeriod"), 0, 21));
+        assertFalse(PortfolioCsv.isHeader(buffer("30000,10"), 0, 8));
+        assertFalse(PortfolioCsv.isHeader(buffer("-1,10"), 0, 5));
+    }
+
+    @Test
+    public void testWriteCents() {
+        byte[] output = new byte[32];
+        assertEquals("101.25", new String(output, 0, PortfolioCsv.writeCents(10125, output, 0), StandardCharsets.US_ASCII));
+        assertEquals("0.05", new String(output, 0, PortfolioCsv.writeCents(5, output, 0), StandardCharsets.US_ASCII));
+        assertEquals("-3.10", new String(output, 0, PortfolioCsv.writeCents(-310, output, 0), StandardCharsets.US_ASCII));
+        assertEquals("0.00", new String(output, 0, PortfolioCsv.writeCents(0, output, 0), StandardCharsets.US_ASCII));
+    }
+
+    private boolean parse(String row) {
+        return PortfolioCsv.parseRow(buffer(row), 0, row.length(), unscaled, scales);
+    }
+
+    private static ByteBuffer buffer(String row) {
+        return ByteBuffer.wrap(row.getBytes(StandardCharsets.US_ASCII));
+    }
+}
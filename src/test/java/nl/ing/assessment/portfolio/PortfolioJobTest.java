@@ -0,0 +1,154 @@
+package nl.ing.assessment.portfolio;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import nl.ing.assessment.config.InterestRatesProperties.InterestRateValue;
+import nl.ing.assessment.mortgage.request.MortgageRequest;
+import nl.ing.assessment.mortgage.response.MortgageResponse;
+import nl.ing.assessment.service.MortgageAndInterestRatesService;
+import nl.ing.assessment.util.MortgageAndInterestRatesUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"mortgage.portfolio-job.chunk-size=256B", "mortgage.portfolio-job.parallelism=4"})
+public class PortfolioJobTest {
+
+    /**
+     * Rows of the first chunk of 256 bytes of 21 byte rows
+     */
+    private static final int RESUMED_ROWS = 256 / 21 + 1;
+
+    @Autowired
+    private PortfolioJob portfolioJob;
+
+    @Autowired
+    private MortgageAndInterestRatesService mortgageAndInterestRatesService;
+
+    @Autowired
+    private MortgageAndInterestRatesUtil mortgageAndInterestRatesUtil;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    public void testRun_MatchesMortgageCheck() throws Exception {
+        StringBuilder csv = new StringBuilder("income,maturityPeriod,loanValue,homeValue\r\n");
+        for (int i = 0; i < 2000; i++) {
+            csv.append(20000 + i * 7).append(',').append(10 * (i % 4 + 1)).append(',')
+                    .append(50000 + i * 53).append(".5,").append(60000 + i % 300 * 250).append(i % 2 == 0 ? "\r\n" : "\n");
+        }
+        csv.append("30000,10,not a number,50000\n");
+        csv.append("0,10,10000,");
+        Path input = write(csv.toString());
+        Path output = directory.resolve("result.csv");
+        double feasible = meterRegistry.get("mortgage.portfolio.rows").tag("result", "feasible").counter().count();
+
+        PortfolioJobResult result = portfolioJob.run(input, output);
+
+        List<String> lines = Files.readAllLines(output, StandardCharsets.US_ASCII);
+        assertEquals("income,maturityPeriod,loanValue,homeValue,feasible,monthlyCost,rejectionCode", lines.get(0));
+        assertEquals(2003, lines.size());
+        assertEquals(2002, result.rows());
+        assertEquals(1, result.unreadable());
+        assertTrue(result.chunks() > 100, "the input is split in chunks of about 256 bytes");
+        for (int i = 1; i <= 2000; i++) {
+            String[] fields = lines.get(i).split(",");
+            MortgageResponse expected = mortgageAndInterestRatesService.checkMortgage(new MortgageRequest(new BigDecimal(fields[0]),
+                    Integer.valueOf(fields[1]), new BigDecimal(fields[2]), new BigDecimal(fields[3])));
+            assertEquals(expected.feasible(), Boolean.valueOf(fields[4]), lines.get(i));
+            assertEquals(0, expected.monthlyCost().compareTo(new BigDecimal(fields[5])), lines.get(i));
+            assertEquals(expected.feasible() ? 0 : expected.violations().get(0).getCode(), Integer.parseInt(fields[6]), lines.get(i));
+        }
+        assertEquals("30000,10,not a number,50000,false,0.00,-1", lines.get(2001));
+        assertEquals("0,10,10000,,false,0.00,1", lines.get(2002));
+        assertEquals(result.feasible(), meterRegistry.get("mortgage.portfolio.rows").tag("result", "feasible").counter().count() - feasible);
+        assertEquals(1.0, meterRegistry.get("mortgage.portfolio.progress").gauge().value());
+        assertFalse(Files.exists(PortfolioJob.parts(output)));
+        assertFalse(Files.exists(PortfolioJob.checkpoint(output)));
+    }
+
+    @Test
+    public void testRun_ResumesFromCheckpoint() throws Exception {
+        Path input = write("30000,10,10000,50000\n".repeat(30));
+        Path output = directory.resolve("resumed.csv");
+        Files.createDirectories(PortfolioJob.parts(output));
+        Files.writeString(PortfolioJob.part(PortfolioJob.parts(output), 0), "completed by an earlier run\n");
+        try (PortfolioCheckpoint checkpoint = PortfolioCheckpoint.open(PortfolioJob.checkpoint(output), PortfolioJob.fingerprint(input, 256,
+                mortgageAndInterestRatesUtil.getInterestRateSnapshot()))) {
+            checkpoint.complete(0, new PortfolioCheckpoint.ChunkCounts(RESUMED_ROWS, RESUMED_ROWS, 0, 0));
+        }
+        double feasible = meterRegistry.get("mortgage.portfolio.rows").tag("result", "feasible").counter().count();
+
+        PortfolioJobResult result = portfolioJob.run(input, output);
+
+        List<String> lines = Files.readAllLines(output, StandardCharsets.US_ASCII);
+        assertEquals(1, result.resumedChunks());
+        assertEquals("completed by an earlier run", lines.get(1));
+        assertEquals("30000,10,10000,50000,true,101.25,0", lines.get(2));
+        assertEquals(30 - RESUMED_ROWS, meterRegistry.get("mortgage.portfolio.rows").tag("result", "feasible").counter().count() - feasible,
+                "the rows of the resumed chunk are not evaluated again");
+        assertEquals(30, result.rows(), "the rows of the resumed chunk are counted from the checkpoint");
+        assertEquals(30, result.feasible());
+    }
+
+    @Test
+    @DirtiesContext
+    public void testRun_DiscardsCheckpointOfOtherRates() throws Exception {
+        Path input = write("30000,10,10000,50000\n".repeat(30));
+        Path output = directory.resolve("repriced.csv");
+        Files.createDirectories(PortfolioJob.parts(output));
+        Files.writeString(PortfolioJob.part(PortfolioJob.parts(output), 0), "completed with the old rates\n");
+        try (PortfolioCheckpoint checkpoint = PortfolioCheckpoint.open(PortfolioJob.checkpoint(output), PortfolioJob.fingerprint(input, 256,
+                mortgageAndInterestRatesUtil.getInterestRateSnapshot()))) {
+            checkpoint.complete(0, new PortfolioCheckpoint.ChunkCounts(RESUMED_ROWS, RESUMED_ROWS, 0, 0));
+        }
+        mortgageAndInterestRatesUtil.publishInterestRates(List.of(rate(10, "5.0"), rate(20, "4.5")));
+
+        PortfolioJobResult result = portfolioJob.run(input, output);
+
+        List<String> lines = Files.readAllLines(output, StandardCharsets.US_ASCII);
+        assertEquals(0, result.resumedChunks(), "chunks evaluated with other rates are evaluated again");
+        assertEquals(30, result.rows());
+        assertEquals("30000,10,10000,50000,true,106.07,0", lines.get(1));
+    }
+
+    @Test
+    public void testRun_DiscardsCheckpointOfOtherInput() throws Exception {
+        Path input = write("30000,10,10000,50000\n".repeat(30));
+        Path output = directory.resolve("restarted.csv");
+        try (PortfolioCheckpoint checkpoint = PortfolioCheckpoint.open(PortfolioJob.checkpoint(output), "input=other")) {
+            checkpoint.complete(0, new PortfolioCheckpoint.ChunkCounts(RESUMED_ROWS, RESUMED_ROWS, 0, 0));
+        }
+
+        PortfolioJobResult result = portfolioJob.run(input, output);
+
+        assertEquals(0, result.resumedChunks());
+        assertEquals(30, result.rows());
+    }
+
+    private static InterestRateValue rate(int maturityPeriod, String rate) {
+        InterestRateValue value = new InterestRateValue();
+        value.setMaturityPeriod(maturityPeriod);
+        value.setRate(new BigDecimal(rate));
+        return value;
+    }
+
+    private Path write(String csv) throws Exception {
+        Path input = Files.createTempFile(directory, "portfolio", ".csv");
+        Files.writeString(input, csv, StandardCharsets.US_ASCII);
+        return input;
+    }
+}
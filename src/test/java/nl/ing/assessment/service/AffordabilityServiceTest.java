@@ -0,0 +1,95 @@
+package nl.ing.assessment.service;
+
+import nl.ing.assessment.exception.MortgageAndInterestRatesException;
+import nl.ing.assessment.mortgage.request.AffordabilityRequest;
+import nl.ing.assessment.mortgage.request.MortgageRequest;
+import nl.ing.assessment.mortgage.response.AffordabilityResponse;
+import nl.ing.assessment.mortgage.response.AffordabilityResponse.AffordabilityLimit;
+import nl.ing.assessment.mortgage.response.AffordabilityResponse.AffordabilityOption;
+import nl.ing.assessment.mortgage.response.MortgageResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class AffordabilityServiceTest {
+
+    private static final BigDecimal BUDGET = new BigDecimal("1000");
+
+    @Autowired
+    private AffordabilityService affordabilityService;
+
+    @Autowired
+    private MortgageAndInterestRatesService mortgageAndInterestRatesService;
+
+    @Test
+    public void testCalculateAffordability_LimitedByBudget() throws MortgageAndInterestRatesException {
+        BigDecimal income = new BigDecimal("100000");
+        BigDecimal homeValue = new BigDecimal("500000");
+
+        AffordabilityResponse response = affordabilityService.calculateAffordability(new AffordabilityRequest(income, homeValue, BUDGET));
+
+        assertEquals(3, response.options().size());
+        for (AffordabilityOption option : response.options()) {
+            assertEquals(AffordabilityLimit.MONTHLY_BUDGET, option.limitedBy());
+            MortgageResponse check = mortgageAndInterestRatesService.checkMortgage(
+                    new MortgageRequest(income, option.maturityPeriod(), option.maxLoanValue(), homeValue));
+            assertTrue(check.feasible());
+            assertEquals(0, check.monthlyCost().compareTo(option.monthlyCost()));
+            assertTrue(option.monthlyCost().compareTo(BUDGET) <= 0, "the maximum loan is affordable");
+
+            MortgageResponse larger = mortgageAndInterestRatesService.checkMortgage(
+                    new MortgageRequest(income, option.maturityPeriod(), option.maxLoanValue().add(BigDecimal.valueOf(5)), homeValue));
+            assertTrue(larger.monthlyCost().compareTo(BUDGET) > 0, "a larger loan is not affordable");
+        }
+        assertEquals(30, response.bestOption().maturityPeriod(), "the longest term allows the highest loan");
+        assertTrue(response.rateVersion() > 0);
+    }
+
+    @Test
+    public void testCalculateAffordability_SubCentBudgetIsNotExceeded() throws MortgageAndInterestRatesException {
+        BigDecimal budget = new BigDecimal("999.996");
+
+        AffordabilityResponse response = affordabilityService.calculateAffordability(
+                new AffordabilityRequest(new BigDecimal("100000"), new BigDecimal("500000"), budget));
+
+        for (AffordabilityOption option : response.options()) {
+            assertEquals(AffordabilityLimit.MONTHLY_BUDGET, option.limitedBy());
+            assertTrue(option.monthlyCost().compareTo(budget) <= 0, "the monthly cost does not round up past the budget");
+        }
+    }
+
+    @Test
+    public void testCalculateAffordability_LimitedByIncome() throws MortgageAndInterestRatesException {
+        AffordabilityResponse response = affordabilityService.calculateAffordability(
+                new AffordabilityRequest(new BigDecimal("20000"), new BigDecimal("500000"), BUDGET));
+
+        for (AffordabilityOption option : response.options()) {
+            assertEquals(AffordabilityLimit.INCOME, option.limitedBy());
+            assertEquals(0, new BigDecimal("80000").compareTo(option.maxLoanValue()));
+        }
+        assertEquals(10, response.bestOption().maturityPeriod(), "of equal loans the lowest total cost is best");
+        assertEquals(0, response.bestOption().monthlyCost().multiply(BigDecimal.valueOf(120)).compareTo(response.bestOption().totalCost()));
+    }
+
+    @Test
+    public void testCalculateAffordability_LimitedByHomeValue() throws MortgageAndInterestRatesException {
+        AffordabilityResponse response = affordabilityService.calculateAffordability(
+                new AffordabilityRequest(new BigDecimal("100000"), new BigDecimal("50000"), BUDGET));
+
+        assertEquals(AffordabilityLimit.HOME_VALUE, response.options().get(2).limitedBy());
+        assertEquals(0, new BigDecimal("50000").compareTo(response.bestOption().maxLoanValue()));
+    }
+
+    @Test
+    public void testCalculateAffordability_InvalidBudget() {
+        MortgageAndInterestRatesException exception = assertThrows(MortgageAndInterestRatesException.class,
+                () -> affordabilityService.calculateAffordability(
+                        new AffordabilityRequest(new BigDecimal("100000"), new BigDecimal("500000"), BigDecimal.ZERO)));
+        assertEquals("A monthly budget must be greater than zero", exception.getMessage());
+    }
+}
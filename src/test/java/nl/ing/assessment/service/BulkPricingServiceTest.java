@@ -0,0 +1,105 @@
+package nl.ing.assessment.service;
+
+import nl.ing.assessment.exception.MortgageAndInterestRatesException;
+import nl.ing.assessment.mortgage.request.BulkPricingRequest;
+import nl.ing.assessment.mortgage.request.MortgageRequest;
+import nl.ing.assessment.mortgage.response.BulkPricingResponse;
+import nl.ing.assessment.mortgage.response.MortgageResponse;
+import nl.ing.assessment.validate.MortgageRejectionReason;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class BulkPricingServiceTest {
+
+    @Autowired
+    private BulkPricingService bulkPricingService;
+
+    @Autowired
+    private MortgageAndInterestRatesService mortgageAndInterestRatesService;
+
+    @Test
+    public void testPrice_MatchesMortgageCheck() throws MortgageAndInterestRatesException {
+        BulkPricingRequest request = new BulkPricingRequest(
+                new double[]{30000, 0, 100000, 100000, 100000, 400, 100000, 30000, 85000.50},
+                new int[]{10, 30, 20, 0, 10, 20, 10, 50, 30},
+                new double[]{10000, 30, 30, 10000, 0, 30000, 300000, 10000, 312345.67},
+                new double[]{50000, 400000, 0, 400000, 400000, 400000, 40000, 50000, 400000});
+
+        BulkPricingResponse response = bulkPricingService.price(request, 0);
+
+        assertArrayEquals(new int[]{0,
+                MortgageRejectionReason.INCOME_NOT_POSITIVE.getCode(),
+                MortgageRejectionReason.HOME_VALUE_NOT_POSITIVE.getCode(),
+                MortgageRejectionReason.MATURITY_PERIOD_NOT_POSITIVE.getCode(),
+                MortgageRejectionReason.LOAN_VALUE_NOT_POSITIVE.getCode(),
+                MortgageRejectionReason.LOAN_EXCEEDS_INCOME_LIMIT.getCode(),
+                MortgageRejectionReason.LOAN_EXCEEDS_HOME_VALUE.getCode(),
+                MortgageRejectionReason.INTEREST_RATE_NOT_FOUND.getCode(),
+                0}, response.rejectionCodes());
+        for (int i = 0; i < request.incomes().length; i++) {
+            MortgageResponse expected = mortgageAndInterestRatesService.checkMortgage(new MortgageRequest(
+                    BigDecimal.valueOf(request.incomes()[i]), request.maturityPeriods()[i],
+                    BigDecimal.valueOf(request.loanValues()[i]), BigDecimal.valueOf(request.homeValues()[i])));
+            assertEquals(expected.feasible(), response.rejectionCodes()[i] == 0, "mortgage " + i);
+            assertEquals(expected.monthlyCost().doubleValue(), response.monthlyCosts()[i], 0.01, "mortgage " + i);
+        }
+        assertNull(response.verification());
+    }
+
+    @Test
+    public void testPrice_Verification() throws MortgageAndInterestRatesException {
+        int size = 10_000;
+        double[] incomes = new double[size];
+        int[] maturityPeriods = new int[size];
+        double[] loanValues = new double[size];
+        double[] homeValues = new double[size];
+        for (int i = 0; i < size; i++) {
+            incomes[i] = 20000 + (i % 97) * 1000.25;
+            maturityPeriods[i] = 10 * (1 + i % 3);
+            loanValues[i] = 50000 + (i * 37 % 400) * 1000.10;
+            homeValues[i] = 100000 + (i % 13) * 25000;
+        }
+
+        BulkPricingResponse response = bulkPricingService.price(new BulkPricingRequest(incomes, maturityPeriods, loanValues, homeValues), 500);
+
+        assertEquals(500, response.verification().sampled());
+        assertEquals(0, response.verification().mismatches());
+        assertTrue(response.verification().maxDeviation() <= 0.01);
+    }
+
+    @Test
+    public void testPrice_InterpolatedMaturityPeriods() throws MortgageAndInterestRatesException {
+        BulkPricingRequest request = new BulkPricingRequest(
+                new double[]{50000, 60000},
+                new int[]{15, 25},
+                new double[]{150000, 200000},
+                new double[]{200000, 250000});
+
+        BulkPricingResponse response = bulkPricingService.price(request, 2);
+
+        assertArrayEquals(new int[]{0, 0}, response.rejectionCodes());
+        for (int i = 0; i < request.incomes().length; i++) {
+            MortgageResponse expected = mortgageAndInterestRatesService.checkMortgage(new MortgageRequest(
+                    BigDecimal.valueOf(request.incomes()[i]), request.maturityPeriods()[i],
+                    BigDecimal.valueOf(request.loanValues()[i]), BigDecimal.valueOf(request.homeValues()[i])));
+            assertTrue(expected.interpolatedRate(), "mortgage " + i);
+            assertEquals(expected.monthlyCost().doubleValue(), response.monthlyCosts()[i], 0.01, "mortgage " + i);
+        }
+        assertEquals(0, response.verification().mismatches());
+    }
+
+    @Test
+    public void testPrice_ColumnsOfDifferentLength() {
+        BulkPricingRequest request = new BulkPricingRequest(new double[]{30000}, new int[]{10, 20}, new double[]{10000}, new double[]{50000});
+
+        MortgageAndInterestRatesException exception = assertThrows(MortgageAndInterestRatesException.class,
+                () -> bulkPricingService.price(request, 0));
+        assertEquals("The incomes, maturityPeriods, loanValues and homeValues columns must have the same length", exception.getMessage());
+    }
+}
@@ -0,0 +1,83 @@
+package nl.ing.assessment.service;
+
+import nl.ing.assessment.interest.model.InterestRate;
+import nl.ing.assessment.interest.repository.InterestRateHistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@DirtiesContext
+public class InterestRateHistoryServiceTest {
+
+    private static final Timestamp JANUARY = Timestamp.valueOf("2024-01-01 00:00:00");
+
+    private static final Timestamp FEBRUARY = Timestamp.valueOf("2024-02-01 00:00:00");
+
+    private static final Timestamp MARCH = Timestamp.valueOf("2024-03-01 00:00:00");
+
+    @Autowired
+    private InterestRateHistoryService interestRateHistoryService;
+
+    @Autowired
+    private InterestRateHistoryRepository interestRateHistoryRepository;
+
+    @BeforeEach
+    public void setUp() {
+        interestRateHistoryRepository.deleteAll();
+    }
+
+    @Test
+    public void testRecordInterestRates_OnlyChangesAreWritten() {
+        interestRateHistoryService.recordInterestRates(List.of(rate(10, "4.0"), rate(20, "3.5")), JANUARY);
+
+        List<InterestRate> recorded = interestRateHistoryService.recordInterestRates(List.of(rate(10, "4.00"), rate(20, "3.0")), FEBRUARY);
+
+        assertEquals(3, interestRateHistoryRepository.count());
+        assertEquals(JANUARY, recorded.get(0).lastUpdate(), "an unchanged rate keeps the moment it became effective");
+        assertEquals(FEBRUARY, recorded.get(1).lastUpdate());
+    }
+
+    @Test
+    public void testGetInterestRates_AsOf() {
+        interestRateHistoryService.recordInterestRates(List.of(rate(10, "4.0"), rate(20, "3.5")), JANUARY);
+        interestRateHistoryService.recordInterestRates(List.of(rate(10, "4.5"), rate(30, "3.0")), MARCH);
+
+        assertTrue(interestRateHistoryService.getInterestRates(Timestamp.valueOf("2023-12-31 00:00:00")).isEmpty());
+
+        List<InterestRate> february = interestRateHistoryService.getInterestRates(FEBRUARY);
+        assertEquals(2, february.size());
+        assertEquals(10, february.get(0).maturityPeriod());
+        assertEquals(0, new BigDecimal("4.0").compareTo(february.get(0).interestRate()));
+        assertEquals(20, february.get(1).maturityPeriod());
+
+        List<InterestRate> march = interestRateHistoryService.getInterestRates(MARCH);
+        assertEquals(2, march.size(), "maturity period 20 is withdrawn");
+        assertEquals(0, new BigDecimal("4.5").compareTo(march.get(0).interestRate()));
+        assertEquals(30, march.get(1).maturityPeriod());
+        assertEquals(MARCH, march.get(1).lastUpdate());
+    }
+
+    @Test
+    public void testRecordInterestRates_ClockSetBack() {
+        interestRateHistoryService.recordInterestRates(List.of(rate(10, "4.0")), FEBRUARY);
+
+        List<InterestRate> recorded = interestRateHistoryService.recordInterestRates(List.of(rate(10, "5.0")), JANUARY);
+
+        assertEquals(FEBRUARY, recorded.get(0).lastUpdate());
+        assertEquals(0, new BigDecimal("5.0").compareTo(interestRateHistoryService.getInterestRates(FEBRUARY).get(0).interestRate()));
+    }
+
+    private static InterestRate rate(int maturityPeriod, String rate) {
+        return new InterestRate(maturityPeriod, new BigDecimal(rate), null);
+    }
+}
@@ -1,9 +1,11 @@
 package nl.ing.assessment.service;
 
-import nl.ing.assessment.exception.MortgageAndInterestRatesException;
+import nl.ing.assessment.interest.model.InterestRate;
+import nl.ing.assessment.interest.model.InterestRateSnapshot;
 import nl.ing.assessment.mortgage.request.MortgageRequest;
 import nl.ing.assessment.mortgage.response.MortgageResponse;
 import nl.ing.assessment.util.MortgageAndInterestRatesUtil;
+import nl.ing.assessment.validate.MortgageRejectionReason;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -12,6 +14,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.when;
@@ -19,6 +23,8 @@ import static org.mockito.Mockito.when;
 @SpringBootTest
 public class MortgageAndInterestRatesServiceTest {
 
+    private static final Timestamp LAST_UPDATE = Timestamp.valueOf("2024-11-29 11:29:07.265");
+
     @MockBean
     private MortgageAndInterestRatesUtil mortgageAndInterestRatesUtil;
 
@@ -28,12 +34,15 @@ public class MortgageAndInterestRatesServiceTest {
 
     @BeforeEach
     public void setUp() {
+        when(mortgageAndInterestRatesUtil.getInterestRateSnapshot()).thenReturn(InterestRateSnapshot.of(List.of(
+                new InterestRate(10, new BigDecimal("2.0"), LAST_UPDATE))));
     }
 
     @Test
-    public void testCheckMortgage_Feasible() throws MortgageAndInterestRatesException {
+    public void testCheckMortgage_Feasible() {
         MortgageRequest request = new MortgageRequest(new BigDecimal("10000"), 10, new BigDecimal("30000"), new BigDecimal("50000"));
-        when(mortgageAndInterestRatesUtil.getInterestRateForMaturityPeriod(10)).thenReturn(new BigDecimal("2.0"));
+        when(mortgageAndInterestRatesUtil.getInterestRateSnapshot()).thenReturn(InterestRateSnapshot.of(List.of(
+                new InterestRate(10, new BigDecimal("2.0"), LAST_UPDATE))));
 
         MortgageResponse response = mortgageAndInterestRatesService.checkMortgage(request);
 
@@ -64,9 +73,10 @@ public class MortgageAndInterestRatesServiceTest {
     }
 
     @Test
-    public void testCheckMortgage_InterestRateNotFound() throws MortgageAndInterestRatesException {
+    public void testCheckMortgage_InterestRateNotFound() {
         MortgageRequest request = new MortgageRequest(new BigDecimal("10000"), 10, new BigDecimal("30000"), new BigDecimal("50000"));
-        when(mortgageAndInterestRatesUtil.getInterestRateForMaturityPeriod(10)).thenThrow(new MortgageAndInterestRatesException("Interest rate not found for maturity period: 10"));
+        when(mortgageAndInterestRatesUtil.getInterestRateSnapshot()).thenReturn(InterestRateSnapshot.of(List.of(
+                new InterestRate(20, new BigDecimal("2.0"), LAST_UPDATE))));
 
         MortgageResponse response = mortgageAndInterestRatesService.checkMortgage(request);
 
@@ -74,4 +84,27 @@ public class MortgageAndInterestRatesServiceTest {
         assertEquals(BigDecimal.ZERO, response.monthlyCost());
         assertEquals("Interest rate not found for maturity period: 10", response.error());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testCheckMortgage_NotFeasible_AllViolations() {
+        MortgageRequest request = new MortgageRequest(new BigDecimal("10000"), 20, new BigDecimal("50000"), new BigDecimal("30000"));
+
+        MortgageResponse response = mortgageAndInterestRatesService.checkMortgage(request);
+
+        assertFalse(response.feasible());
+        assertEquals("A Mortgage cannot be more than 4 times the income", response.error());
+        assertEquals(List.of(MortgageRejectionReason.LOAN_EXCEEDS_INCOME_LIMIT, MortgageRejectionReason.LOAN_EXCEEDS_HOME_VALUE,
+                MortgageRejectionReason.INTEREST_RATE_NOT_FOUND), response.violations());
+    }
+
+    @Test
+    public void testCheckMortgage_NotFeasible_InvalidMaturityPeriodSkipsRateLookup() {
+        MortgageRequest request = new MortgageRequest(new BigDecimal("10000"), 0, new BigDecimal("30000"), new BigDecimal("50000"));
+
+        MortgageResponse response = mortgageAndInterestRatesService.checkMortgage(request);
+
+        assertEquals("A maturity period must be greater than zero", response.error());
+        assertEquals(List.of(MortgageRejectionReason.MATURITY_PERIOD_NOT_POSITIVE), response.violations());
+        assertEquals(mortgageAndInterestRatesUtil.getInterestRateSnapshot().getVersion(), response.rateVersion());
+    }
+}
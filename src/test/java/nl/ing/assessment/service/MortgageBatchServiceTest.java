@@ -0,0 +1,118 @@
+package nl.ing.assessment.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl.ing.assessment.mortgage.response.MortgageResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "mortgage.batch.max-in-flight=4")
+public class MortgageBatchServiceTest {
+
+    @Autowired
+    private MortgageBatchService mortgageBatchService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void testCheckMortgages_NdJson() throws IOException {
+        String requests = """
+                {"income": 30000, "maturityPeriod": 10, "loanValue": 10000, "homeValue": 50000}
+                {"income": 30000, "maturityPeriod": 10, "loanValue": 100000, "homeValue": 2000}
+                {"income": 30000, "maturityPeriod": 50, "loanValue": 10000, "homeValue": 50000}
+                """;
+
+        List<MortgageResponse> responses = checkMortgages(requests);
+
+        assertEquals(3, responses.size());
+        assertTrue(responses.get(0).feasible());
+        assertEquals(new BigDecimal("101.25"), responses.get(0).monthlyCost());
+        assertEquals("A Mortgage cannot be more than the home value", responses.get(1).error());
+        assertEquals("Interest rate not found for maturity period: 50", responses.get(2).error());
+    }
+
+    @Test
+    public void testCheckMortgages_JsonArray() throws IOException {
+        String requests = """
+                [
+                  {"income": 30000, "maturityPeriod": 10, "loanValue": 10000, "homeValue": 50000},
+                  {"income": 0, "maturityPeriod": 10, "loanValue": 10000, "homeValue": 50000}
+                ]
+                """;
+
+        List<MortgageResponse> responses = checkMortgages(requests);
+
+        assertEquals(2, responses.size());
+        assertTrue(responses.get(0).feasible());
+        assertEquals("An income must be greater than zero", responses.get(1).error());
+    }
+
+    @Test
+    public void testCheckMortgages_KeepsRequestOrderBeyondMaxInFlight() throws IOException {
+        StringBuilder requests = new StringBuilder();
+        for (int loanValue = 1; loanValue <= 500; loanValue++) {
+            requests.append("{\"income\": 1000, \"maturityPeriod\": 10, \"loanValue\": ").append(loanValue)
+                    .append(", \"homeValue\": 250}\n");
+        }
+
+        List<MortgageResponse> responses = checkMortgages(requests.toString());
+
+        assertEquals(500, responses.size());
+        for (int i = 0; i < responses.size(); i++) {
+            assertEquals(i < 250, responses.get(i).feasible(), "response " + i);
+        }
+    }
+
+    @Test
+    public void testCheckMortgages_ItemFailureDoesNotAbortBatch() throws IOException {
+        String requests = """
+                {"income": 30000, "maturityPeriod": 10, "loanValue": 10000}
+                {"income": "thirty thousand", "maturityPeriod": 10, "loanValue": 10000, "homeValue": 50000}
+                {"income": 30000, "maturityPeriod": 10, "loanValue": 10000, "homeValue": 50000}
+                """;
+
+        List<MortgageResponse> responses = checkMortgages(requests);
+
+        assertEquals(3, responses.size());
+        assertFalse(responses.get(0).feasible());
+        assertEquals("A home value must be greater than zero", responses.get(0).error());
+        assertFalse(responses.get(1).feasible());
+        assertTrue(responses.get(1).error().startsWith("Invalid mortgage request"));
+        assertTrue(responses.get(2).feasible());
+    }
+
+    @Test
+    public void testCheckMortgages_UnreadableInput() throws IOException {
+        String requests = """
+                {"income": 30000, "maturityPeriod": 10, "loanValue": 10000, "homeValue": 50000}
+                {"income": 30000, "maturityPeriod
+                """;
+
+        List<MortgageResponse> responses = checkMortgages(requests);
+
+        assertTrue(responses.get(0).feasible());
+        assertTrue(responses.get(responses.size() - 1).error().startsWith("Unreadable mortgage request"));
+    }
+
+    private List<MortgageResponse> checkMortgages(String requests) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        mortgageBatchService.checkMortgages(new ByteArrayInputStream(requests.getBytes(StandardCharsets.UTF_8)), output);
+
+        List<MortgageResponse> responses = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            responses.add(objectMapper.readValue(line, MortgageResponse.class));
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,69 @@
+package nl.ing.assessment.service;
+
+import nl.ing.assessment.exception.MortgageAndInterestRatesException;
+import nl.ing.assessment.mortgage.request.SensitivityGridRequest;
+import nl.ing.assessment.mortgage.response.SensitivityGridResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class SensitivityGridServiceTest {
+
+    @Autowired
+    private SensitivityGridService sensitivityGridService;
+
+    @Autowired
+    private MortgageAndInterestRatesService mortgageAndInterestRatesService;
+
+    @Test
+    public void testCalculateGrid_MatchesMonthlyCost() throws MortgageAndInterestRatesException {
+        double[] loanValues = {10000, 150000, 312345.67};
+
+        SensitivityGridResponse response = sensitivityGridService.calculateGrid(new SensitivityGridRequest(loanValues, null, null, null));
+
+        assertEquals(21, response.rateShocks().length, "-200bp to +300bp in steps of 25bp");
+        assertEquals(-200, response.rateShocks()[0]);
+        assertEquals(300, response.rateShocks()[20]);
+        assertArrayEquals(new int[]{10, 20, 30}, response.maturityPeriods());
+        assertEquals(21 * 3 * 3, response.monthlyCosts().length);
+        for (int d = 0; d < response.rateShocks().length; d++) {
+            for (int m = 0; m < response.maturityPeriods().length; m++) {
+                double shockedRate = response.interestRates()[d * 3 + m];
+                for (int l = 0; l < loanValues.length; l++) {
+                    BigDecimal expected = mortgageAndInterestRatesService.calculateMonthlyCost(BigDecimal.valueOf(loanValues[l]),
+                            response.maturityPeriods()[m], BigDecimal.valueOf(shockedRate));
+                    assertEquals(expected.doubleValue(), response.monthlyCosts()[(d * 3 + m) * 3 + l], 0.0,
+                            "shock " + response.rateShocks()[d] + " period " + response.maturityPeriods()[m] + " loan " + loanValues[l]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCalculateGrid_ZeroRate() throws MortgageAndInterestRatesException {
+        SensitivityGridResponse response = sensitivityGridService.calculateGrid(new SensitivityGridRequest(new double[]{12000}, -500, -400, 100));
+
+        assertArrayEquals(new double[]{0, 0, 0, 0, 0, 0}, response.interestRates(), "shocked rates are floored at zero");
+        assertEquals(100.0, response.monthlyCosts()[0], "without interest the loan is repaid in equal parts");
+        assertEquals(50.0, response.monthlyCosts()[1]);
+        assertEquals(33.33, response.monthlyCosts()[2]);
+    }
+
+    @Test
+    public void testCalculateGrid_Invalid() {
+        double[] loanValues = new double[1000];
+        Arrays.fill(loanValues, 10000);
+        assertEquals("A rate shock step must be greater than zero", assertThrows(MortgageAndInterestRatesException.class,
+                () -> sensitivityGridService.calculateGrid(new SensitivityGridRequest(new double[]{10000}, -100, 100, 0))).getMessage());
+        assertEquals("At least one loan value is required", assertThrows(MortgageAndInterestRatesException.class,
+                () -> sensitivityGridService.calculateGrid(new SensitivityGridRequest(new double[0], null, null, null))).getMessage());
+        assertEquals("A sensitivity grid cannot have more than 1000000 cells: 1503000", assertThrows(MortgageAndInterestRatesException.class,
+                () -> sensitivityGridService.calculateGrid(new SensitivityGridRequest(loanValues, -100000, 100000, 400))).getMessage());
+    }
+}
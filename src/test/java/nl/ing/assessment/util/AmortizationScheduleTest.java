@@ -0,0 +1,60 @@
+package nl.ing.assessment.util;
+
+import nl.ing.assessment.mortgage.response.AmortizationRow;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AmortizationScheduleTest {
+
+    private static final BigDecimal LOAN_VALUE = new BigDecimal("10000");
+
+    private static final BigDecimal INTEREST_RATE = new BigDecimal("4.0");
+
+    private static final BigDecimal MONTHLY_COST = new BigDecimal("101.25");
+
+    @Test
+    public void testSchedule_RepaysLoan() {
+        List<AmortizationRow> rows = rows(new AmortizationSchedule(LOAN_VALUE, INTEREST_RATE, 10, MONTHLY_COST, 1, 120));
+
+        assertEquals(120, rows.size());
+        assertEquals(new AmortizationRow(1, MONTHLY_COST, new BigDecimal("33.33"), new BigDecimal("67.92"), new BigDecimal("9932.08")),
+                rows.get(0));
+        assertEquals(0, rows.get(119).remainingBalance().signum());
+        assertEquals(0, LOAN_VALUE.compareTo(rows.stream().map(AmortizationRow::principal).reduce(BigDecimal.ZERO, BigDecimal::add)));
+        for (AmortizationRow row : rows.subList(0, 119)) {
+            assertEquals(MONTHLY_COST, row.payment());
+            assertEquals(row.payment(), row.interest().add(row.principal()));
+        }
+    }
+
+    @Test
+    public void testSchedule_Range() {
+        List<AmortizationRow> all = rows(new AmortizationSchedule(LOAN_VALUE, INTEREST_RATE, 10, MONTHLY_COST, 1, 120));
+        List<AmortizationRow> range = rows(new AmortizationSchedule(LOAN_VALUE, INTEREST_RATE, 10, MONTHLY_COST, 13, 24));
+
+        assertEquals(all.subList(12, 24), range);
+    }
+
+    @Test
+    public void testSchedule_Exhausted() {
+        AmortizationSchedule schedule = new AmortizationSchedule(LOAN_VALUE, INTEREST_RATE, 10, MONTHLY_COST, 120, 120);
+        schedule.next();
+
+        assertFalse(schedule.hasNext());
+        assertThrows(NoSuchElementException.class, schedule::next);
+    }
+
+    private static List<AmortizationRow> rows(AmortizationSchedule schedule) {
+        List<AmortizationRow> rows = new ArrayList<>();
+        schedule.forEachRemaining(rows::add);
+        return rows;
+    }
+}
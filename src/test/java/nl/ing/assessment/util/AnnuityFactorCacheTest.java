@@ -0,0 +1,83 @@
+package nl.ing.assessment.util;
+
+import nl.ing.assessment.interest.model.InterestRate;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class AnnuityFactorCacheTest {
+
+    private static final Timestamp LAST_UPDATE = Timestamp.valueOf("2024-11-29 11:29:07.265");
+
+    private final AnnuityFactorCache annuityFactorCache = new AnnuityFactorCache();
+
+    @Test
+    public void testMonthlyCostMatchesFormula() {
+        List<InterestRate> interestRates = List.of(
+                new InterestRate(10, new BigDecimal("4.0"), LAST_UPDATE),
+                new InterestRate(15, new BigDecimal("3.875"), LAST_UPDATE),
+                new InterestRate(20, new BigDecimal("3.5"), LAST_UPDATE),
+                new InterestRate(30, new BigDecimal("3.0"), LAST_UPDATE),
+                new InterestRate(40, new BigDecimal("0.25"), LAST_UPDATE));
+        annuityFactorCache.rebuild(interestRates);
+
+        for (InterestRate interestRate : interestRates) {
+            for (String loanValue : List.of("0.01", "10000", "30000", "123456.78", "250000", "999999.99", "5000000")) {
+                BigDecimal loan = new BigDecimal(loanValue);
+                BigDecimal annuityFactor = annuityFactorCache.getAnnuityFactor(interestRate.interestRate(), interestRate.maturityPeriod());
+
+                assertEquals(monthlyCost(loan, interestRate.interestRate(), interestRate.maturityPeriod()),
+                        loan.multiply(annuityFactor).setScale(2, RoundingMode.HALF_UP),
+                        "loan " + loanValue + " for " + interestRate);
+            }
+        }
+    }
+
+    @Test
+    public void testGetAnnuityFactor_ReturnsPrecomputedFactor() {
+        annuityFactorCache.rebuild(List.of(new InterestRate(10, new BigDecimal("4.0"), LAST_UPDATE)));
+
+        assertSame(annuityFactorCache.getAnnuityFactor(new BigDecimal("4.0"), 10),
+                annuityFactorCache.getAnnuityFactor(new BigDecimal("4.00"), 10));
+    }
+
+    @Test
+    public void testGetAnnuityFactor_RateNotInTable() {
+        annuityFactorCache.rebuild(List.of(new InterestRate(10, new BigDecimal("4.0"), LAST_UPDATE)));
+
+        assertEquals(AnnuityFactorCache.calculateAnnuityFactor(new BigDecimal("2.0"), 10),
+                annuityFactorCache.getAnnuityFactor(new BigDecimal("2.0"), 10));
+        assertEquals(AnnuityFactorCache.calculateAnnuityFactor(new BigDecimal("4.0"), 20),
+                annuityFactorCache.getAnnuityFactor(new BigDecimal("4.0"), 20));
+    }
+
+    @Test
+    public void testRebuild_ReplacesFactors() {
+        annuityFactorCache.rebuild(List.of(new InterestRate(10, new BigDecimal("4.0"), LAST_UPDATE)));
+        BigDecimal before = annuityFactorCache.getAnnuityFactor(new BigDecimal("4.0"), 10);
+
+        annuityFactorCache.rebuild(List.of(new InterestRate(10, new BigDecimal("5.0"), LAST_UPDATE)));
+
+        assertEquals(before, annuityFactorCache.getAnnuityFactor(new BigDecimal("4.0"), 10));
+        assertEquals(monthlyCost(new BigDecimal("10000"), new BigDecimal("5.0"), 10),
+                new BigDecimal("10000").multiply(annuityFactorCache.getAnnuityFactor(new BigDecimal("5.0"), 10)).setScale(2, RoundingMode.HALF_UP));
+    }
+
+    /**
+     * The monthly cost formula as calculated per request before the annuity factors were precomputed
+     */
+    private static BigDecimal monthlyCost(BigDecimal loanValue, BigDecimal interestRate, int maturityPeriod) {
+        BigDecimal monthlyInterestRate = interestRate.divide(BigDecimal.valueOf(12 * 100), 10, RoundingMode.HALF_UP);
+        int totalPayments = maturityPeriod * 12;
+        BigDecimal mnthlyIntrstPlusOnePowTotMnths = monthlyInterestRate.add(BigDecimal.ONE).pow(totalPayments);
+        BigDecimal numerator = monthlyInterestRate.multiply(mnthlyIntrstPlusOnePowTotMnths);
+        BigDecimal denominator = mnthlyIntrstPlusOnePowTotMnths.subtract(BigDecimal.ONE);
+        return loanValue.multiply(numerator.divide(denominator, RoundingMode.HALF_UP)).setScale(2, RoundingMode.HALF_UP);
+    }
+}
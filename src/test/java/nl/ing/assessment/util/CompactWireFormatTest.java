@@ -0,0 +1,75 @@
+package nl.ing.assessment.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import nl.ing.assessment.mortgage.request.MortgageRequest;
+import nl.ing.assessment.mortgage.response.MortgageResponse;
+import nl.ing.assessment.validate.MortgageRejectionReason;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompactWireFormatTest {
+
+    private final ObjectMapper compactMapper = CompactWireFormat.getObjectMapper();
+
+    private final ObjectMapper plainCborMapper = new CBORMapper();
+
+    @Test
+    public void testRequestIsArrayOfScaledAmounts() throws Exception {
+        MortgageRequest request = new MortgageRequest(new BigDecimal("85000.5"), 30, new BigDecimal("312345.67"), new BigDecimal("400000"));
+
+        byte[] bytes = compactMapper.writeValueAsBytes(request);
+        JsonNode encoded = plainCborMapper.readTree(bytes);
+
+        assertTrue(encoded.isArray());
+        assertEquals(8500050L, encoded.get(0).longValue());
+        assertEquals(30, encoded.get(1).intValue());
+        assertEquals(31234567L, encoded.get(2).longValue());
+        assertEquals(40000000L, encoded.get(3).longValue());
+
+        MortgageRequest decoded = compactMapper.readValue(bytes, MortgageRequest.class);
+        assertEquals(0, request.income().compareTo(decoded.income()));
+        assertEquals(0, request.loanValue().compareTo(decoded.loanValue()));
+        assertEquals(30, decoded.maturityPeriod());
+    }
+
+    @Test
+    public void testResponseRoundTrip() throws Exception {
+        MortgageResponse response = new MortgageResponse(false, new BigDecimal("0.00"), "A Mortgage cannot be more than the home value", 3L,
+                List.of(MortgageRejectionReason.LOAN_EXCEEDS_HOME_VALUE, MortgageRejectionReason.LOAN_EXCEEDS_INCOME_LIMIT));
+
+        byte[] bytes = compactMapper.writeValueAsBytes(response);
+        JsonNode encoded = plainCborMapper.readTree(bytes);
+        assertEquals(0, encoded.get(1).longValue());
+        assertEquals(6, encoded.get(4).get(0).intValue());
+        assertEquals(5, encoded.get(4).get(1).intValue());
+
+        assertEquals(response, compactMapper.readValue(bytes, MortgageResponse.class));
+        MortgageResponse feasible = new MortgageResponse(true, new BigDecimal("673.54"), "", 3L, List.of(), true);
+        MortgageResponse decoded = compactMapper.readValue(compactMapper.writeValueAsBytes(feasible), MortgageResponse.class);
+        assertEquals(new BigDecimal("673.54"), decoded.monthlyCost());
+        assertTrue(decoded.interpolatedRate());
+    }
+
+    @Test
+    public void testCompactFormatIsSmallerThanJson() throws Exception {
+        MortgageRequest request = new MortgageRequest(new BigDecimal("50000"), 20, new BigDecimal("150000"), new BigDecimal("200000"));
+
+        assertTrue(compactMapper.writeValueAsBytes(request).length < new ObjectMapper().writeValueAsBytes(request).length / 2);
+    }
+
+    @Test
+    public void testFractionalAmountIsRejected() throws Exception {
+        byte[] bytes = plainCborMapper.writeValueAsBytes(List.of(50000.5, 20, 15000000, 20000000));
+
+        assertThrows(MismatchedInputException.class, () -> compactMapper.readValue(bytes, MortgageRequest.class));
+    }
+}
@@ -0,0 +1,71 @@
+package nl.ing.assessment.util;
+
+import nl.ing.assessment.exception.MortgageAndInterestRatesException;
+import nl.ing.assessment.interest.model.InterestRateSnapshot;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DirtiesContext
+public class InterestRatesFileReloaderTest {
+
+    private static Path ratesFile;
+
+    @Autowired
+    private MortgageAndInterestRatesUtil mortgageAndInterestRatesUtil;
+
+    @Autowired
+    private InterestRatesFileReloader interestRatesFileReloader;
+
+    @DynamicPropertySource
+    static void ratesFileProperties(DynamicPropertyRegistry registry) throws IOException {
+        ratesFile = Files.createTempDirectory("interest-rates").resolve("rates.json");
+        Files.writeString(ratesFile, "[{\"maturityPeriod\": 10, \"rate\": 5.0}, {\"maturityPeriod\": 15, \"rate\": 4.5}]");
+        registry.add("interest.rates-file", ratesFile::toString);
+    }
+
+    @Test
+    public void testRatesFileChangesAreReloaded() throws Exception {
+        InterestRateSnapshot loaded = mortgageAndInterestRatesUtil.getInterestRateSnapshot();
+        assertEquals(new BigDecimal("5.0"), loaded.findInterestRate(10));
+        assertEquals(new BigDecimal("4.5"), loaded.findInterestRate(15));
+        assertNull(loaded.findInterestRate(20));
+
+        Files.writeString(ratesFile, "[{\"maturityPeriod\": 10, \"rate\": 4.25}]");
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (mortgageAndInterestRatesUtil.getInterestRateSnapshot().getVersion() == loaded.getVersion()
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        InterestRateSnapshot reloaded = mortgageAndInterestRatesUtil.getInterestRateSnapshot();
+        assertTrue(reloaded.getVersion() > loaded.getVersion());
+        assertEquals(new BigDecimal("4.25"), reloaded.findInterestRate(10));
+        assertNull(reloaded.findInterestRate(15));
+        assertNotSame(loaded.getInterestRates(), reloaded.getInterestRates());
+        assertEquals(new BigDecimal("4.5"), loaded.findInterestRate(15));
+    }
+
+    @Test
+    public void testInvalidRatesFileKeepsCurrentRates() throws Exception {
+        InterestRateSnapshot current = mortgageAndInterestRatesUtil.getInterestRateSnapshot();
+        Files.writeString(ratesFile, "[{\"maturityPeriod\": 10, \"rate\": -1}]");
+
+        MortgageAndInterestRatesException exception = assertThrows(MortgageAndInterestRatesException.class,
+                () -> interestRatesFileReloader.reloadInterestRates());
+
+        assertEquals("An interest rate must be greater than zero and less than 100 for maturity period: 10", exception.getMessage());
+        assertSame(current, mortgageAndInterestRatesUtil.getInterestRateSnapshot());
+    }
+}
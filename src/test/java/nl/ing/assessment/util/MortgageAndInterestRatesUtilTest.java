@@ -1,6 +1,7 @@
 package nl.ing.assessment.util;
 
 import nl.ing.assessment.exception.MortgageAndInterestRatesException;
+import nl.ing.assessment.interest.model.InterestRateSnapshot;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,7 +10,10 @@ import org.springframework.boot.test.context.SpringBootTest;
 import java.math.BigDecimal;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 public class MortgageAndInterestRatesUtilTest {
@@ -35,4 +39,20 @@ public class MortgageAndInterestRatesUtilTest {
         });
         assertEquals("Interest rate not found for maturity period: 40", exception.getMessage());
     }
+
+    @Test
+    public void testGetInterestRateSnapshot() {
+        InterestRateSnapshot interestRateSnapshot = mortgageAndInterestRatesUtil.getInterestRateSnapshot();
+
+        assertEquals(3, interestRateSnapshot.getInterestRates().size());
+        assertEquals(new BigDecimal("3.5"), interestRateSnapshot.findInterestRate(20));
+        assertEquals(new BigDecimal("3.0"), interestRateSnapshot.findInterestRate(30));
+        assertEquals(new BigDecimal("3.7500"), interestRateSnapshot.findInterestRate(15));
+        assertTrue(interestRateSnapshot.isInterpolated(15));
+        assertFalse(interestRateSnapshot.isInterpolated(20));
+        assertEquals(new BigDecimal("4.0000"), interestRateSnapshot.findInterestRate(1));
+        assertNull(interestRateSnapshot.findInterestRate(40));
+        assertNull(interestRateSnapshot.findInterestRate(0));
+        assertNull(interestRateSnapshot.findInterestRate(-10));
+    }
 }
@@ -0,0 +1,95 @@
+package nl.ing.assessment.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import nl.ing.assessment.config.InterestRatesProperties;
+import nl.ing.assessment.mortgage.request.MortgageRequest;
+import nl.ing.assessment.mortgage.response.MortgageResponse;
+import nl.ing.assessment.service.MortgageAndInterestRatesService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {"mortgage.cache.enabled=true", "mortgage.cache.maximum-size=100"})
+@DirtiesContext
+public class MortgageCheckCacheTest {
+
+    @Autowired
+    private MortgageAndInterestRatesService mortgageAndInterestRatesService;
+
+    @Autowired
+    private MortgageAndInterestRatesUtil mortgageAndInterestRatesUtil;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void testCheckMortgage_RepeatedRequestIsCached() {
+        double hits = cacheRequests("hit");
+
+        MortgageResponse first = mortgageAndInterestRatesService.checkMortgage(request("10000", 10, "30000", "50000"));
+        MortgageResponse second = mortgageAndInterestRatesService.checkMortgage(request("10000.00", 10, "30000.0", "5E+4"));
+
+        assertSame(first, second, "amounts are compared without trailing zeros");
+        assertEquals(hits + 1, cacheRequests("hit"));
+        assertTrue(meterRegistry.get("cache.hit.ratio").tag("cache", "mortgage.check").gauge().value() > 0);
+    }
+
+    @Test
+    public void testCheckMortgage_RejectionsAreCountedForCachedResponses() {
+        mortgageAndInterestRatesService.checkMortgage(request("10000", 10, "30000", "5000"));
+        double rejections = meterRegistry.get("mortgage.rejections").tag("reason", "loan_exceeds_home_value").counter().count();
+
+        MortgageResponse response = mortgageAndInterestRatesService.checkMortgage(request("10000", 10, "30000", "5000"));
+
+        assertFalse(response.feasible());
+        assertEquals(rejections + 1, meterRegistry.get("mortgage.rejections").tag("reason", "loan_exceeds_home_value").counter().count());
+    }
+
+    @Test
+    @DirtiesContext
+    public void testCheckMortgage_NewRateTableIsNotAnsweredFromCache() throws Exception {
+        MortgageResponse before = mortgageAndInterestRatesService.checkMortgage(request("50000", 10, "100000", "200000"));
+
+        InterestRatesProperties.InterestRateValue rate = new InterestRatesProperties.InterestRateValue();
+        rate.setMaturityPeriod(10);
+        rate.setRate(new BigDecimal("5.0"));
+        mortgageAndInterestRatesUtil.publishInterestRates(List.of(rate));
+        MortgageResponse after = mortgageAndInterestRatesService.checkMortgage(request("50000", 10, "100000", "200000"));
+
+        assertEquals(before.rateVersion() + 1, after.rateVersion());
+        assertTrue(after.monthlyCost().compareTo(before.monthlyCost()) > 0);
+    }
+
+    @Test
+    public void testCheckMortgage_EvictsBeyondMaximumSize() throws Exception {
+        for (int loanValue = 1000; loanValue < 1300; loanValue++) {
+            mortgageAndInterestRatesService.checkMortgage(request("10000", 10, String.valueOf(loanValue), "50000"));
+        }
+
+        // Caffeine evicts on a maintenance thread, so wait for it to catch up
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get("cache.size").tag("cache", "mortgage.check").gauge().value() > 100
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(meterRegistry.get("cache.size").tag("cache", "mortgage.check").gauge().value() <= 100);
+        assertTrue(meterRegistry.get("cache.evictions").tag("cache", "mortgage.check").functionCounter().count() > 0);
+    }
+
+    private double cacheRequests(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "mortgage.check").tag("result", result).functionCounter().count();
+    }
+
+    private static MortgageRequest request(String income, int maturityPeriod, String loanValue, String homeValue) {
+        return new MortgageRequest(new BigDecimal(income), maturityPeriod, new BigDecimal(loanValue), new BigDecimal(homeValue));
+    }
+}
@@ -0,0 +1,199 @@
+package nl.ing.assessment.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import nl.ing.assessment.interest.model.InterestRateSnapshot;
+import nl.ing.assessment.mortgage.request.MortgageRequest;
+import nl.ing.assessment.mortgage.response.MortgageResponse;
+import nl.ing.assessment.service.MortgageAndInterestRatesService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {"mortgage.coalescing.enabled=true", "mortgage.coalescing.timeout=2s"})
+@DirtiesContext
+public class MortgageCheckCoalescerTest {
+
+    private static final int WAITERS = 4;
+
+    private static final InterestRateSnapshot SNAPSHOT = InterestRateSnapshot.of(1, new Timestamp(0), List.of());
+
+    /**
+     * Rate table with the same version, such as the local rates of a cluster follower and the leader's first table
+     */
+    private static final InterestRateSnapshot OTHER_SNAPSHOT = InterestRateSnapshot.of(1, new Timestamp(0), List.of());
+
+    @Autowired
+    private MortgageCheckCoalescer mortgageCheckCoalescer;
+
+    @Autowired
+    private MortgageAndInterestRatesService mortgageAndInterestRatesService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(WAITERS + 1);
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testGet_IdenticalChecksInFlightShareOneComputation() throws Exception {
+        double coalesced = coalescingRequests("coalesced");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger computations = new AtomicInteger();
+        MortgageResponse expected = new MortgageResponse(true, new BigDecimal("101.25"), null);
+
+        Future<MortgageResponse> leader = executor.submit(() -> mortgageCheckCoalescer.get(request("10000"), SNAPSHOT,
+                blockingCheck(started, release, computations, () -> expected)));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        List<Future<MortgageResponse>> waiters = submitWaiters(request("10000.00"), SNAPSHOT, computations);
+        awaitWaiters();
+        release.countDown();
+
+        assertSame(expected, leader.get(5, TimeUnit.SECONDS));
+        for (Future<MortgageResponse> waiter : waiters) {
+            assertSame(expected, waiter.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, computations.get(), "amounts are compared without trailing zeros");
+        assertEquals(coalesced + WAITERS, coalescingRequests("coalesced"));
+        assertTrue(meterRegistry.get("mortgage.coalescing.ratio").gauge().value() > 0);
+    }
+
+    @Test
+    public void testGet_FailureIsNotSharedWithWaiters() throws Exception {
+        double failures = coalescingRequests("failure");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger computations = new AtomicInteger();
+
+        Future<MortgageResponse> leader = executor.submit(() -> mortgageCheckCoalescer.get(request("20000"), SNAPSHOT,
+                blockingCheck(started, release, computations, () -> {
+                    throw new IllegalStateException("Leader failed");
+                })));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        List<Future<MortgageResponse>> waiters = submitWaiters(request("20000"), SNAPSHOT, computations);
+        awaitWaiters();
+        release.countDown();
+
+        Exception exception = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof IllegalStateException);
+        for (Future<MortgageResponse> waiter : waiters) {
+            assertTrue(waiter.get(5, TimeUnit.SECONDS).feasible());
+        }
+        assertEquals(1 + WAITERS, computations.get());
+        assertEquals(failures + WAITERS, coalescingRequests("failure"));
+    }
+
+    @Test
+    public void testGet_WaiterChecksItselfAfterTimeout() throws Exception {
+        double timeouts = coalescingRequests("timeout");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger computations = new AtomicInteger();
+
+        Future<MortgageResponse> leader = executor.submit(() -> mortgageCheckCoalescer.get(request("25000"), SNAPSHOT,
+                blockingCheck(started, release, computations, () -> new MortgageResponse(true, BigDecimal.ONE, null))));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        MortgageResponse response = mortgageCheckCoalescer.get(request("25000"), SNAPSHOT, () -> {
+            computations.incrementAndGet();
+            return new MortgageResponse(true, BigDecimal.TEN, null);
+        });
+        release.countDown();
+
+        assertEquals(BigDecimal.TEN, response.monthlyCost());
+        assertEquals(BigDecimal.ONE, leader.get(5, TimeUnit.SECONDS).monthlyCost());
+        assertEquals(2, computations.get());
+        assertEquals(timeouts + 1, coalescingRequests("timeout"));
+    }
+
+    @Test
+    public void testGet_ChecksOfOtherSnapshotsAreNotCoalesced() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger computations = new AtomicInteger();
+        MortgageResponse expected = new MortgageResponse(true, BigDecimal.ONE, null);
+
+        Future<MortgageResponse> leader = executor.submit(() -> mortgageCheckCoalescer.get(request("30000"), SNAPSHOT,
+                blockingCheck(started, release, computations, () -> expected)));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        MortgageResponse other = mortgageCheckCoalescer.get(request("30000"), OTHER_SNAPSHOT, () -> {
+            computations.incrementAndGet();
+            return new MortgageResponse(false, BigDecimal.ZERO, null);
+        });
+        release.countDown();
+
+        assertSame(expected, leader.get(5, TimeUnit.SECONDS));
+        assertEquals(false, other.feasible());
+        assertEquals(2, computations.get());
+    }
+
+    @Test
+    public void testCheckMortgage_ResponsesAreUnchanged() {
+        MortgageResponse response = mortgageAndInterestRatesService.checkMortgage(
+                new MortgageRequest(new BigDecimal("30000"), 10, new BigDecimal("10000"), new BigDecimal("50000")));
+
+        assertTrue(response.feasible());
+        assertEquals(0, new BigDecimal("101.25").compareTo(response.monthlyCost()));
+        assertEquals(0, meterRegistry.get("mortgage.coalescing.in.flight").gauge().value());
+    }
+
+    private List<Future<MortgageResponse>> submitWaiters(MortgageRequest request, InterestRateSnapshot snapshot, AtomicInteger computations) {
+        List<Future<MortgageResponse>> waiters = new ArrayList<>();
+        for (int i = 0; i < WAITERS; i++) {
+            waiters.add(executor.submit(() -> mortgageCheckCoalescer.get(request, snapshot, () -> {
+                computations.incrementAndGet();
+                return new MortgageResponse(true, BigDecimal.TEN, null);
+            })));
+        }
+        return waiters;
+    }
+
+    private static void awaitWaiters() throws InterruptedException {
+        // The waiters are parked on the leader's computation once they no longer run; give them time to get there
+        Thread.sleep(200);
+    }
+
+    private static Supplier<MortgageResponse> blockingCheck(CountDownLatch started, CountDownLatch release,
+                                                            AtomicInteger computations, Supplier<MortgageResponse> result) {
+        return () -> {
+            computations.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return result.get();
+        };
+    }
+
+    private double coalescingRequests(String result) {
+        return meterRegistry.get("mortgage.coalescing.requests").tag("result", result).counter().count();
+    }
+
+    private static MortgageRequest request(String loanValue) {
+        return new MortgageRequest(new BigDecimal("30000"), 10, new BigDecimal(loanValue), new BigDecimal("50000"));
+    }
+}
@@ -0,0 +1,102 @@
+package nl.ing.assessment.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import nl.ing.assessment.mortgage.request.MortgageRequest;
+import nl.ing.assessment.service.MortgageAndInterestRatesService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class MortgageMetricsTest {
+
+    @Autowired
+    private MortgageAndInterestRatesService mortgageAndInterestRatesService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testCheckMortgage_RecordsTimers() {
+        long checks = meterRegistry.get("mortgage.check").timer().count();
+        long monthlyCosts = meterRegistry.get("mortgage.monthly.cost").timer().count();
+
+        mortgageAndInterestRatesService.checkMortgage(request(10000, 10, 30000, 50000));
+        mortgageAndInterestRatesService.checkMortgage(request(10000, 10, 30000, 5000));
+
+        assertEquals(checks + 2, meterRegistry.get("mortgage.check").timer().count());
+        assertEquals(monthlyCosts + 1, meterRegistry.get("mortgage.monthly.cost").timer().count());
+    }
+
+    @Test
+    public void testCheckMortgage_CountsRejectionReasons() {
+        double incomeLimit = rejections("loan_exceeds_income_limit");
+        double homeValue = rejections("loan_exceeds_home_value");
+        double income = rejections("income_not_positive");
+
+        mortgageAndInterestRatesService.checkMortgage(request(200000, 10, 30000, 500000));
+        mortgageAndInterestRatesService.checkMortgage(request(10000, 10, 30000, 5000));
+        mortgageAndInterestRatesService.checkMortgage(request(10000, 10, 0, 50000));
+
+        assertEquals(incomeLimit + 1, rejections("loan_exceeds_income_limit"));
+        assertEquals(homeValue + 1, rejections("loan_exceeds_home_value"));
+        assertEquals(income + 1, rejections("income_not_positive"));
+    }
+
+    @Test
+    public void testCheckMortgage_CountsRateLookups() {
+        mortgageAndInterestRatesService.checkMortgage(request(10000, 20, 30000, 50000));
+        mortgageAndInterestRatesService.checkMortgage(request(10000, 40, 30000, 50000));
+        double hits = rateLookups("20", "hit");
+        double misses = rateLookups("40", "miss");
+        double notFound = rejections("interest_rate_not_found");
+
+        mortgageAndInterestRatesService.checkMortgage(request(10000, 20, 30000, 50000));
+        mortgageAndInterestRatesService.checkMortgage(request(10000, 40, 30000, 50000));
+        mortgageAndInterestRatesService.checkMortgage(request(10000, 1000, 30000, 50000));
+
+        assertEquals(hits + 1, rateLookups("20", "hit"));
+        assertEquals(misses + 1, rateLookups("40", "miss"));
+        assertEquals(notFound + 2, rejections("interest_rate_not_found"));
+        assertEquals(1, rateLookups("other", "miss"), "periods beyond the largest valid period share a tag");
+        assertNull(meterRegistry.find("interest.rate.lookups").tag("maturity.period", "1000").counter());
+    }
+
+    @Test
+    public void testPrometheusEndpoint() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("mortgage_check_seconds_bucket")))
+                .andExpect(content().string(containsString("mortgage_rejections_total")))
+                .andExpect(content().string(containsString("interest_rates_version")));
+    }
+
+    private double rejections(String reason) {
+        return meterRegistry.get("mortgage.rejections").tag("reason", reason).counter().count();
+    }
+
+    private double rateLookups(String maturityPeriod, String result) {
+        return meterRegistry.get("interest.rate.lookups").tag("maturity.period", maturityPeriod).tag("result", result).counter().count();
+    }
+
+    private static MortgageRequest request(int loanValue, int maturityPeriod, int income, int homeValue) {
+        return new MortgageRequest(BigDecimal.valueOf(income), maturityPeriod, BigDecimal.valueOf(loanValue), BigDecimal.valueOf(homeValue));
+    }
+}
@@ -0,0 +1,58 @@
+package nl.ing.assessment.validate;
+
+import nl.ing.assessment.config.InterestRatesProperties.InterestRateValue;
+import nl.ing.assessment.exception.MortgageAndInterestRatesException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class InterestRatesValidatorTest {
+
+    private final InterestRatesValidator validator = new InterestRatesValidator();
+
+    @Test
+    void testValidateInterestRates() {
+        assertDoesNotThrow(() -> validator.validateInterestRates(List.of(rate(10, "4.0"), rate(20, "3.5"), rate(30, "3.0"))));
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideInvalidInterestRates")
+    @DisplayName("Test validateInterestRates with invalid rate tables")
+    void testValidateInterestRatesWithInvalidRates(List<InterestRateValue> rates, String expectedMessage) {
+        MortgageAndInterestRatesException exception = assertThrows(MortgageAndInterestRatesException.class, () -> {
+            validator.validateInterestRates(rates);
+        });
+        assertEquals(expectedMessage, exception.getMessage());
+    }
+
+    private static Stream<Arguments> provideInvalidInterestRates() {
+        return Stream.of(
+                Arguments.of(List.of(), "At least one interest rate is required"),
+                Arguments.of(Arrays.asList(rate(10, "4.0"), null), "An interest rate must not be empty"),
+                Arguments.of(List.of(rate(0, "4.0")), "A maturity period must be between 1 and 100: 0"),
+                Arguments.of(List.of(rate(101, "4.0")), "A maturity period must be between 1 and 100: 101"),
+                Arguments.of(List.of(rate(10, null)), "An interest rate must be greater than zero and less than 100 for maturity period: 10"),
+                Arguments.of(List.of(rate(10, "0")), "An interest rate must be greater than zero and less than 100 for maturity period: 10"),
+                Arguments.of(List.of(rate(10, "100")), "An interest rate must be greater than zero and less than 100 for maturity period: 10"),
+                Arguments.of(List.of(rate(10, "4.0"), rate(10, "3.5")), "Duplicate interest rate for maturity period: 10")
+        );
+    }
+
+    private static InterestRateValue rate(int maturityPeriod, String rate) {
+        InterestRateValue interestRateValue = new InterestRateValue();
+        interestRateValue.setMaturityPeriod(maturityPeriod);
+        interestRateValue.setRate(rate == null ? null : new BigDecimal(rate));
+        return interestRateValue;
+    }
+}
@@ -3,6 +3,7 @@ package nl.ing.assessment.validate;
 import nl.ing.assessment.exception.MortgageAndInterestRatesException;
 import nl.ing.assessment.mortgage.request.MortgageRequest;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -10,9 +11,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.stream.Stream;
 
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
 public class MortgageAndInterestRatesValidatorTest {
@@ -40,4 +42,29 @@ public class MortgageAndInterestRatesValidatorTest {
                 Arguments.of(new MortgageRequest(BigDecimal.valueOf(100000), 10, BigDecimal.valueOf(300000), BigDecimal.valueOf(40000)), "A Mortgage cannot be more than the home value")
         );
     }
+
+    @Test
+    void testValidate_ValidRequest() {
+        MortgageViolations violations = validator.validate(new MortgageRequest(BigDecimal.valueOf(30000), 10, BigDecimal.valueOf(100000), BigDecimal.valueOf(200000)));
+
+        assertTrue(violations.isEmpty());
+        assertSame(MortgageViolations.NONE, violations);
+    }
+
+    @Test
+    void testValidate_ReportsEveryViolation() {
+        MortgageViolations violations = validator.validate(new MortgageRequest(BigDecimal.valueOf(10000), -1, BigDecimal.valueOf(300000), BigDecimal.valueOf(200000)));
+
+        assertEquals(List.of(MortgageRejectionReason.MATURITY_PERIOD_NOT_POSITIVE, MortgageRejectionReason.LOAN_EXCEEDS_INCOME_LIMIT,
+                MortgageRejectionReason.LOAN_EXCEEDS_HOME_VALUE), violations.getReasons());
+        assertSame(violations, validator.validate(new MortgageRequest(BigDecimal.valueOf(10000), -1, BigDecimal.valueOf(300000), BigDecimal.valueOf(200000))));
+    }
+
+    @Test
+    void testValidate_MissingValues() {
+        MortgageViolations violations = validator.validate(new MortgageRequest(null, null, null, null));
+
+        assertEquals(List.of(MortgageRejectionReason.INCOME_NOT_POSITIVE, MortgageRejectionReason.HOME_VALUE_NOT_POSITIVE,
+                MortgageRejectionReason.MATURITY_PERIOD_NOT_POSITIVE, MortgageRejectionReason.LOAN_VALUE_NOT_POSITIVE), violations.getReasons());
+    }
 }